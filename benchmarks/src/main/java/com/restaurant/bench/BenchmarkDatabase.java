@@ -0,0 +1,71 @@
+package com.restaurant.bench;
+
+import com.restaurant.KoneksiDB;
+import com.restaurant.SalesRollupDAO;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Properties;
+
+// Database H2 (mode MySQL) yang diisi DataGenerator sekali per trial.
+// JMH menjalankan setiap kombinasi @Param di JVM terpisah, jadi KoneksiDB
+// yang statis selalu menunjuk ke database milik trial ini.
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+    @Param({"10000", "100000", "1000000"})
+    public int orders;
+
+    public int menuItems;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        System.setProperty(KoneksiDB.CONFIG_PROPERTY, writeConfig().toString());
+
+        DataGenerator generator = DataGenerator.fromSystemProperties(orders);
+        menuItems = generator.getMenuItems();
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            // Skema dan index dibuat oleh MigrationRunner saat SessionFactory dibangun
+            session.doWork(generator::generate);
+        }
+
+        LocalDate today = LocalDate.now();
+        new SalesRollupDAO().rebuildRange(today.minusDays(generator.getDays() + 1), today.plusDays(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        KoneksiDB.shutdown();
+    }
+
+    private static Path writeConfig() throws IOException {
+        Properties config = new Properties();
+        config.setProperty("hibernate.connection.url",
+            "jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        config.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+        config.setProperty("hibernate.connection.username", "sa");
+        config.setProperty("hibernate.connection.password", "");
+        config.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        config.setProperty("hibernate.show_sql", "false");
+        config.setProperty("hibernate.format_sql", "false");
+        // -Dbench.slowlog=false untuk membandingkan tanpa proxy JDBC SlowQueryLog
+        config.setProperty("slowlog.enabled", System.getProperty("bench.slowlog", "true"));
+        config.setProperty("slowlog.file", "%t/restaurant-bench-slow-query.%g.log");
+
+        Path file = Files.createTempFile("bench-db", ".properties");
+        file.toFile().deleteOnExit();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            config.store(out, "JMH benchmark database");
+        }
+        return file;
+    }
+}
@@ -0,0 +1,143 @@
+package com.restaurant.bench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+// Mengisi database benchmark dengan menu, order dan order item acak yang deterministik.
+// Ukuran dan bentuk data bisa diatur lewat system property bench.*.
+public class DataGenerator {
+    private static final String[] CATEGORIES = {"Main", "Starter", "Dessert", "Drink", "Snack"};
+    private static final String[] STATUSES = {"pending", "completed", "completed", "completed", "cancelled"};
+    private static final int BATCH_SIZE = 1000;
+
+    private final int orders;
+    private final int menuItems;
+    private final int maxItemsPerOrder;
+    private final int days;
+    private final long seed;
+
+    public DataGenerator(int orders, int menuItems, int maxItemsPerOrder, int days, long seed) {
+        this.orders = orders;
+        this.menuItems = menuItems;
+        this.maxItemsPerOrder = maxItemsPerOrder;
+        this.days = days;
+        this.seed = seed;
+    }
+
+    public static DataGenerator fromSystemProperties(int orders) {
+        return new DataGenerator(orders,
+            Integer.getInteger("bench.menuItems", 200),
+            Integer.getInteger("bench.maxItemsPerOrder", 5),
+            Integer.getInteger("bench.days", 365),
+            Long.getLong("bench.seed", 42L));
+    }
+
+    public int getMenuItems() { return menuItems; }
+    public int getDays() { return days; }
+
+    public void generate(Connection connection) throws SQLException {
+        Random random = new Random(seed);
+        double[] prices = insertMenuItems(connection, random);
+        insertOrders(connection, random, prices);
+        connection.commit();
+    }
+
+    private double[] insertMenuItems(Connection connection, Random random) throws SQLException {
+        double[] prices = new double[menuItems + 1];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO menu_items (id, name, description, price, category, is_available, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= menuItems; id++) {
+                prices[id] = (100 + random.nextInt(2400)) / 100.0;
+                ps.setInt(1, id);
+                ps.setString(2, "Menu " + id);
+                ps.setString(3, "Deskripsi menu " + id);
+                ps.setDouble(4, prices[id]);
+                ps.setString(5, CATEGORIES[id % CATEGORIES.length]);
+                ps.setBoolean(6, random.nextInt(10) > 0);
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        restartIdentity(connection, "menu_items", menuItems + 1);
+        return prices;
+    }
+
+    private void insertOrders(Connection connection, Random random, double[] prices) throws SQLException {
+        LocalDateTime start = LocalDateTime.now().minusDays(days);
+        long spanSeconds = days * 86400L;
+        int itemId = 0;
+
+        try (PreparedStatement orderPs = connection.prepareStatement(
+                "INSERT INTO orders (id, total, status, order_type, payment_method, admin_fee, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement itemPs = connection.prepareStatement(
+                "INSERT INTO order_items (id, order_id, menu_item_id, quantity, price_at_order, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= orders; id++) {
+                // Order tersebar merata sepanjang rentang hari, urut waktu seperti data asli
+                Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(spanSeconds * id / (orders + 1)));
+                int lines = 1 + random.nextInt(maxItemsPerOrder);
+                double total = 0;
+                for (int line = 0; line < lines; line++) {
+                    int menuId = 1 + random.nextInt(menuItems);
+                    int quantity = 1 + random.nextInt(3);
+                    total += prices[menuId] * quantity;
+                    itemPs.setInt(1, ++itemId);
+                    itemPs.setInt(2, id);
+                    itemPs.setInt(3, menuId);
+                    itemPs.setInt(4, quantity);
+                    itemPs.setDouble(5, prices[menuId]);
+                    itemPs.setTimestamp(6, createdAt);
+                    itemPs.addBatch();
+                }
+
+                boolean cash = random.nextBoolean();
+                orderPs.setInt(1, id);
+                orderPs.setDouble(2, Math.round(total * 100) / 100.0);
+                orderPs.setString(3, STATUSES[random.nextInt(STATUSES.length)]);
+                orderPs.setString(4, random.nextBoolean() ? "DINE_IN" : "TAKE_AWAY");
+                orderPs.setString(5, cash ? "CASH" : "BCA");
+                orderPs.setDouble(6, cash ? 0 : 1);
+                orderPs.setTimestamp(7, createdAt);
+                orderPs.setTimestamp(8, createdAt);
+                orderPs.addBatch();
+
+                if (id % BATCH_SIZE == 0) {
+                    orderPs.executeBatch();
+                    itemPs.executeBatch();
+                    connection.commit();
+                }
+            }
+            orderPs.executeBatch();
+            itemPs.executeBatch();
+        }
+        seedIdGenerator(connection, "orders", orders + 1);
+        seedIdGenerator(connection, "order_items", itemId + 1);
+    }
+
+    // Id diisi manual, jadi identity harus dilanjutkan setelah id terbesar
+    private void restartIdentity(Connection connection, String table, int next) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    // Order dan OrderItem mengambil id dari tabel id_generator (lihat V4__id_generator.sql)
+    private void seedIdGenerator(Connection connection, String sequence, int next) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "MERGE INTO id_generator (sequence_name, next_val) KEY (sequence_name) VALUES (?, ?)")) {
+            ps.setString(1, sequence);
+            ps.setLong(2, next);
+            ps.executeUpdate();
+        }
+    }
+}
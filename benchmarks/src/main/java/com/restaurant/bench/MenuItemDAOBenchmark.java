@@ -0,0 +1,42 @@
+package com.restaurant.bench;
+
+import com.restaurant.MenuItem;
+import com.restaurant.MenuItemDAO;
+import com.restaurant.MenuRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class MenuItemDAOBenchmark {
+    private final MenuItemDAO menuItemDAO = new MenuItemDAO();
+
+    @Benchmark
+    public List<MenuItem> getAllMenuItems(BenchmarkDatabase database) {
+        return menuItemDAO.getAllMenuItems(false);
+    }
+
+    @Benchmark
+    public List<MenuItem> getAvailableMenuItems(BenchmarkDatabase database) {
+        return menuItemDAO.getAllMenuItems(true);
+    }
+
+    @Benchmark
+    public List<MenuRow> getMenuRows(BenchmarkDatabase database) {
+        return menuItemDAO.getMenuRows(false);
+    }
+}
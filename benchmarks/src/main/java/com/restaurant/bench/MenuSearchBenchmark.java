@@ -0,0 +1,90 @@
+package com.restaurant.bench;
+
+import com.restaurant.MenuRow;
+import com.restaurant.MenuSearchIndex;
+import com.restaurant.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Waktu pencarian MenuSearchIndex per ketikan dan biaya update satu menu setelah
+// disimpan. Menu dibuat acak dari kata-kata menu Indonesia, tanpa database.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MenuSearchBenchmark {
+    private static final String[] DISHES = {"Nasi", "Mie", "Ayam", "Sate", "Soto", "Bakso", "Gado-gado", "Rendang",
+        "Pecel", "Ikan", "Udang", "Tahu", "Tempe", "Es", "Kopi", "Teh", "Jus", "Pisang", "Crème", "Café"};
+    private static final String[] STYLES = {"Goreng", "Bakar", "Rebus", "Penyet", "Kuah", "Manis", "Pedas",
+        "Spesial", "Campur", "Kecap", "Balado", "Sambal Matah", "Brûlée", "Latte"};
+    private static final String[] CATEGORIES = {"Main", "Starter", "Dessert", "Drink", "Snack"};
+    private static final String[] WORDS = {"gurih", "renyah", "disajikan", "dengan", "nasi", "hangat", "sambal",
+        "kerupuk", "telur", "sayur", "kacang", "santan", "jeruk", "susu", "gula", "aren", "daun", "jeruk", "bawang"};
+
+    @Param({"10000"})
+    public int menuItems;
+
+    @Param({"a", "nas", "ayam goreng", "oreng", "cafe", "xyz"})
+    public String query;
+
+    private MenuSearchIndex index;
+    private MenuRow[] rows;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<MenuRow> menu = new ArrayList<>(menuItems);
+        for (int id = 1; id <= menuItems; id++) {
+            menu.add(randomRow(random, id));
+        }
+        rows = menu.toArray(new MenuRow[0]);
+        index = new MenuSearchIndex();
+        index.replaceAll(menu);
+    }
+
+    @Benchmark
+    public List<MenuRow> search() {
+        return index.search(query);
+    }
+
+    // Simpan ulang menu yang sudah ada: token lama dibuang, token baru dimasukkan
+    @Benchmark
+    public int put() {
+        MenuRow row = rows[next];
+        next = (next + 1) % rows.length;
+        index.put(row);
+        return index.size();
+    }
+
+    private static MenuRow randomRow(Random random, int id) {
+        String name = pick(random, DISHES) + " " + pick(random, STYLES) + " " + id;
+        StringBuilder description = new StringBuilder();
+        for (int i = 0, words = 4 + random.nextInt(8); i < words; i++) {
+            description.append(pick(random, WORDS)).append(' ');
+        }
+        return new MenuRow(id, name, Money.ofCents(1000 + random.nextInt(90000)),
+            pick(random, CATEGORIES), random.nextInt(10) > 0, description.toString().trim());
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,111 @@
+package com.restaurant.bench;
+
+import com.restaurant.MenuItem;
+import com.restaurant.Money;
+import com.restaurant.Order;
+import com.restaurant.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Membandingkan penjumlahan total order dan pendapatan laporan dalam sen (Money)
+// dengan BigDecimal dan double. Tidak memakai database.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+    @Param({"5", "50"})
+    public int lines;
+
+    private Order order;
+    private BigDecimal[] decimalPrices;
+    private double[] doublePrices;
+    private int[] quantities;
+    private long[] revenueCents;
+    private BigDecimal[] revenueDecimals;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        MenuItem menuItem = new MenuItem("Menu", Money.ZERO, "Main");
+        order = new Order();
+        decimalPrices = new BigDecimal[lines];
+        doublePrices = new double[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            long cents = 100 + random.nextInt(5000);
+            OrderItem item = new OrderItem(menuItem, 1 + random.nextInt(5));
+            item.setPriceAtOrder(Money.ofCents(cents));
+            order.getItems().add(item);
+            decimalPrices[i] = BigDecimal.valueOf(cents, 2);
+            doublePrices[i] = cents / 100.0;
+            quantities[i] = item.getQuantity();
+        }
+
+        // Satu tahun rollup harian
+        revenueCents = new long[365];
+        revenueDecimals = new BigDecimal[365];
+        for (int i = 0; i < revenueCents.length; i++) {
+            revenueCents[i] = random.nextInt(50_000_000);
+            revenueDecimals[i] = BigDecimal.valueOf(revenueCents[i], 2);
+        }
+    }
+
+    @Benchmark
+    public Money calculateTotalMoney() {
+        order.calculateTotal();
+        return order.getTotal();
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < decimalPrices.length; i++) {
+            total = total.add(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double calculateTotalDouble() {
+        double total = 0;
+        for (int i = 0; i < doublePrices.length; i++) {
+            total += doublePrices[i] * quantities[i];
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumRevenueCents() {
+        long total = 0;
+        for (long cents : revenueCents) {
+            total = Math.addExact(total, cents);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal sumRevenueBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal revenue : revenueDecimals) {
+            total = total.add(revenue);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,100 @@
+package com.restaurant.bench;
+
+import com.restaurant.MenuItem;
+import com.restaurant.MenuItemDAO;
+import com.restaurant.Order;
+import com.restaurant.OrderBatchResult;
+import com.restaurant.OrderDAO;
+import com.restaurant.OrderItem;
+import com.restaurant.OrderSummaryRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class OrderDAOBenchmark {
+    private final OrderDAO orderDAO = new OrderDAO();
+    private MenuItem[] menu;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        List<MenuItem> items = new MenuItemDAO().getAllMenuItems(false);
+        menu = items.toArray(new MenuItem[0]);
+    }
+
+    private static final int IMPORT_SIZE = 500;
+
+    @Benchmark
+    public boolean saveOrder() {
+        return orderDAO.saveOrder(randomOrder());
+    }
+
+    // Satu operasi = impor IMPORT_SIZE order lewat saveOrders
+    @Benchmark
+    public OrderBatchResult saveOrders() {
+        List<Order> orders = new ArrayList<>(IMPORT_SIZE);
+        for (int i = 0; i < IMPORT_SIZE; i++) {
+            orders.add(randomOrder());
+        }
+        return orderDAO.saveOrders(orders);
+    }
+
+    private Order randomOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Order order = new Order();
+        order.setOrderType("DINE_IN");
+        order.setPaymentMethod("CASH");
+        for (int i = 0; i < 3; i++) {
+            order.addItem(new OrderItem(menu[random.nextInt(menu.length)], 1 + random.nextInt(3)));
+        }
+        return order;
+    }
+
+    @Benchmark
+    public List<Order> getAllOrders() {
+        return orderDAO.getAllOrders();
+    }
+
+    @Benchmark
+    public List<Order> getOrdersByStatus() {
+        return orderDAO.getOrdersByStatus("pending");
+    }
+
+    @Benchmark
+    public List<OrderSummaryRow> getOrderSummaries() {
+        return orderDAO.getOrderSummaries(null);
+    }
+
+    @Benchmark
+    public List<OrderSummaryRow> getOrderSummariesByStatus() {
+        return orderDAO.getOrderSummaries("pending");
+    }
+
+    @Benchmark
+    public Order getOrderById(BenchmarkDatabase database) {
+        return orderDAO.getOrderById(1 + ThreadLocalRandom.current().nextInt(database.orders));
+    }
+
+    @Benchmark
+    public List<OrderSummaryRow> getOrderPage() {
+        return orderDAO.getOrderPage(null, null, 0, 200);
+    }
+}
@@ -0,0 +1,86 @@
+package com.restaurant.bench;
+
+import com.restaurant.MenuItem;
+import com.restaurant.Money;
+import com.restaurant.Order;
+import com.restaurant.OrderDAO;
+import com.restaurant.OrderItem;
+import com.restaurant.OrderJournal;
+import com.restaurant.OrderWriteBehind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Waktu sampai OrderWriteBehind.save() kembali (order tercatat di jurnal lokal), tanpa
+// database: flusher tidak dijalankan. Bandingkan dengan OrderDAOBenchmark.saveOrder.
+// syncIntervalMs=0 menunggu fsync berkelompok, 10 hanya menunggu write ke page cache.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class OrderJournalBenchmark {
+    @Param({"0", "10"})
+    public long syncIntervalMs;
+
+    private Path directory;
+    private OrderJournal journal;
+    private OrderWriteBehind writeBehind;
+    private MenuItem menuItem;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("bench-journal");
+        journal = new OrderJournal(directory, 8L * 1024 * 1024, syncIntervalMs);
+        writeBehind = new OrderWriteBehind(journal, new OrderDAO(), 100, 5000);
+        menuItem = new MenuItem("Nasi Goreng", Money.parse("2.50"), "Main");
+    }
+
+    // Antrean pending di memori dikosongkan supaya tidak terus bertambah antar iterasi
+    @TearDown(Level.Iteration)
+    public void checkpoint() throws Exception {
+        List<OrderJournal.Entry> pending = journal.awaitPending(Integer.MAX_VALUE, 0, TimeUnit.SECONDS);
+        if (!pending.isEmpty()) {
+            journal.checkpoint(pending.get(pending.size() - 1).getSequence());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        writeBehind.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String save() throws IOException {
+        Order order = new Order();
+        order.setOrderType("DINE_IN");
+        order.setPaymentMethod("CASH");
+        order.addItem(new OrderItem(menuItem, 2));
+        order.addItem(new OrderItem(menuItem, 1));
+        return writeBehind.save(order);
+    }
+}
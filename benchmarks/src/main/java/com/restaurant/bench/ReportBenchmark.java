@@ -0,0 +1,71 @@
+package com.restaurant.bench;
+
+import com.restaurant.ReportCache;
+import com.restaurant.ReportDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Tiga agregasi ReportPanel, untuk 30 hari terakhir dan untuk seluruh riwayat ("Tampilkan Semua").
+// cache=warm mengukur tampilan berulang (hanya hari ini yang di-query), cache=cold
+// mengosongkan ReportCache sebelum setiap pemanggilan.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ReportBenchmark {
+    @Param({"30", "all"})
+    public String range;
+
+    @Param({"warm", "cold"})
+    public String cache;
+
+    private final ReportDAO reportDAO = new ReportDAO();
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        if (!"all".equals(range)) {
+            toDate = LocalDate.now().plusDays(1);
+            fromDate = toDate.minusDays(Integer.parseInt(range));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        if ("cold".equals(cache)) {
+            ReportCache.invalidateAll();
+        }
+    }
+
+    @Benchmark
+    public List<Object[]> salesSummary() {
+        return reportDAO.getSalesSummary(fromDate, toDate);
+    }
+
+    @Benchmark
+    public List<Object[]> popularItems() {
+        return reportDAO.getPopularItems(fromDate, toDate);
+    }
+
+    @Benchmark
+    public List<Object[]> statusSummary() {
+        return reportDAO.getStatusSummary(fromDate, toDate);
+    }
+}
@@ -0,0 +1,82 @@
+package com.restaurant.bench;
+
+import com.restaurant.Money;
+import com.restaurant.RowTableModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableRowSorter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Waktu sort dan filter TableRowSorter di atas RowTableModel, seperti saat header
+// tabel laporan diklik atau kotak Cari diketik. Tanpa database dan tanpa layar.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TableSortBenchmark {
+    private static final String[] MENUS = {"Nasi Goreng", "Mie Ayam", "Sate Kambing", "Es Teh Manis", "Soto Betawi"};
+
+    @Param({"500000"})
+    public int rows;
+
+    // 0 = tanggal, 1 = menu (Collator), 2 = total (Money)
+    @Param({"0", "1", "2"})
+    public int column;
+
+    private TableRowSorter<RowTableModel<Object[]>> sorter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.now().minusDays(365);
+        List<Object[]> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(new Object[]{
+                start.plusDays(random.nextInt(365)),
+                MENUS[random.nextInt(MENUS.length)] + " " + i,
+                Money.ofCents(random.nextInt(10_000_000))
+            });
+        }
+        RowTableModel<Object[]> model = new RowTableModel<>(Arrays.asList(
+            RowTableModel.Column.<Object[], LocalDate>of("Tanggal", LocalDate.class, row -> (LocalDate) row[0]),
+            RowTableModel.Column.<Object[], String>of("Menu", String.class, row -> (String) row[1]),
+            RowTableModel.Column.<Object[], Money>of("Total", Money.class, row -> (Money) row[2])));
+        model.setRows(data);
+        sorter = model.createSorter();
+    }
+
+    @Benchmark
+    public int sort() {
+        sorter.setSortKeys(null);
+        sorter.setSortKeys(Collections.singletonList(new RowSorter.SortKey(column, SortOrder.ASCENDING)));
+        return sorter.convertRowIndexToModel(0);
+    }
+
+    @Benchmark
+    public int filter() {
+        sorter.setRowFilter(null);
+        sorter.setRowFilter(RowTableModel.containsFilter("goreng 12"));
+        return sorter.getViewRowCount();
+    }
+}
@@ -2,23 +2,66 @@ package com.restaurant;
 
 import com.formdev.flatlaf.FlatLightLaf;
 import javax.swing.*;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class App 
 {
+    private static final Logger logger = Logger.getLogger(App.class.getName());
+
     public static void main(String[] args) {
-        // Initialize database connection
-        KoneksiDB.getSessionFactory();
+        StartupTimer.mark("main");
+
+        // SessionFactory dibangun di latar belakang sementara UI disiapkan
+        CompletableFuture<?> database = KoneksiDB.initialize();
+        SalesRollupJob rollupJob = new SalesRollupJob();
+        OrderArchiveJob archiveJob = new OrderArchiveJob();
+
+        // Jurnal order dipulihkan sebelum database siap; pengirimannya menunggu database
+        OrderWriteBehind writeBehind = openJournal();
+        database.whenComplete((ready, error) -> {
+            if (error != null) {
+                logger.log(Level.SEVERE, "Gagal membuat SessionFactory", error);
+                return;
+            }
+            StartupTimer.mark("session factory");
+            rollupJob.start();
+            archiveJob.start();
+            if (writeBehind != null) {
+                writeBehind.start();
+            }
+        });
         
         // Setup UI
         FlatLightLaf.setup();
+        StartupTimer.mark("look and feel");
         SwingUtilities.invokeLater(() -> {
-            MainFrame frame = new MainFrame();
+            MainFrame frame = new MainFrame(database);
             frame.setVisible(true);
+            StartupTimer.mark("frame tampil");
         });
         
         // Add shutdown hook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            rollupJob.stop();
+            archiveJob.stop();
+            if (writeBehind != null) {
+                writeBehind.stop();
+            }
+            DbExecutor.shutdown();
             KoneksiDB.shutdown();
         }));
     }
+
+    // Tanpa jurnal order tetap bisa disimpan, langsung ke database (OrderDAO.saveOrder)
+    private static OrderWriteBehind openJournal() {
+        try {
+            return OrderWriteBehind.open();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Jurnal order tidak bisa dibuka", e);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.restaurant;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+// Agregat penjualan per hari / tipe order / pembayaran / status / menu.
+// Baris dengan menuItemId = ORDER_LEVEL berisi jumlah order dan total order;
+// baris lainnya berisi jumlah dan pendapatan per menu. Diisi oleh SalesRollupDAO.
+@Entity
+@Table(name = "daily_sales_rollup",
+    uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales_rollup",
+        columnNames = {"sales_date", "order_type", "payment_method", "status", "menu_item_id"}))
+public class DailySalesRollup {
+    public static final int ORDER_LEVEL = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "order_type")
+    private String orderType;
+
+    @Column(name = "payment_method")
+    private String paymentMethod;
+
+    private String status;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private int menuItemId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "item_quantity", nullable = false)
+    private long itemQuantity;
+
+    // Pendapatan dalam sen supaya laporan menjumlahkan bilangan bulat, bukan double
+    @Column(name = "revenue_cents", nullable = false)
+    private long revenueCents;
+
+    // Getters
+    public long getId() { return id; }
+    public LocalDate getSalesDate() { return salesDate; }
+    public String getOrderType() { return orderType; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public String getStatus() { return status; }
+    public int getMenuItemId() { return menuItemId; }
+    public long getOrderCount() { return orderCount; }
+    public long getItemQuantity() { return itemQuantity; }
+    public long getRevenueCents() { return revenueCents; }
+}
@@ -0,0 +1,96 @@
+package com.restaurant;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Executor untuk semua akses database supaya EDT Swing tidak pernah menunggu JDBC.
+// Di JDK 21+ memakai virtual thread, jumlah query yang berjalan bersamaan
+// tetap dibatasi agar tidak melebihi connection pool.
+public final class DbExecutor {
+    private static final Logger logger = Logger.getLogger(DbExecutor.class.getName());
+    private static final int MAX_CONCURRENT_QUERIES = Integer.getInteger("pos.db.threads", 4);
+
+    private static final Semaphore permits = new Semaphore(MAX_CONCURRENT_QUERIES);
+    private static final ExecutorService executor = createExecutor();
+
+    private DbExecutor() {
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+            logger.info("DbExecutor memakai virtual thread");
+            return virtual;
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory factory = r -> {
+                Thread thread = new Thread(r, "db-query-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return new ThreadPoolExecutor(MAX_CONCURRENT_QUERIES, MAX_CONCURRENT_QUERIES,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        }
+    }
+
+    // Membatalkan future yang belum mulai berjalan akan mencegah query dikirim.
+    // Query yang sudah berjalan dibiarkan selesai, hasilnya saja yang dibuang.
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        FutureTask<Void> runner = new FutureTask<>(() -> {
+            if (future.isDone()) {
+                return null;
+            }
+            permits.acquire();
+            try {
+                if (!future.isDone()) {
+                    future.complete(task.get());
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                permits.release();
+            }
+            return null;
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                runner.cancel(false);
+            }
+        });
+        executor.execute(runner);
+        return future;
+    }
+
+    public static CompletableFuture<Void> run(Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            logger.log(Level.WARNING, "Shutdown DbExecutor terputus", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
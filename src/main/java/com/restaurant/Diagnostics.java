@@ -0,0 +1,149 @@
+package com.restaurant;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Menyatukan Metrics (timer DAO dan laporan) dengan Hibernate Statistics untuk tab
+// Diagnostics dan JMX. Hibernate Statistics ikut dinyalakan/dimatikan bersama Metrics.
+public class Diagnostics implements DiagnosticsMXBean {
+    private static final Logger logger = Logger.getLogger(Diagnostics.class.getName());
+    public static final String OBJECT_NAME = "com.restaurant:type=Diagnostics";
+    public static final String ENABLED_SETTING = "metrics.enabled";
+    private static final int SLOWEST_QUERIES = 10;
+    private static final int SQL_SHAPES = 20;
+
+    private final SessionFactory sessionFactory;
+
+    public Diagnostics(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    // Dipanggil sekali setelah SessionFactory dibuat
+    static void register(SessionFactory sessionFactory) {
+        Diagnostics diagnostics = new Diagnostics(sessionFactory);
+        diagnostics.setEnabled(Boolean.parseBoolean(KoneksiDB.getSetting(ENABLED_SETTING, "true").trim()));
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(diagnostics, name);
+            }
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "MBean diagnostics tidak bisa didaftarkan", e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return Metrics.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        Metrics.setEnabled(enabled);
+        sessionFactory.getStatistics().setStatisticsEnabled(enabled);
+    }
+
+    @Override
+    public List<Metrics.TimerSnapshot> getTimers() {
+        return Metrics.getTimers();
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        return Metrics.getCounters();
+    }
+
+    @Override
+    public Map<String, Long> getHibernateStatistics() {
+        Statistics stats = sessionFactory.getStatistics();
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("Statement disiapkan", stats.getPrepareStatementCount());
+        result.put("Query dijalankan", stats.getQueryExecutionCount());
+        result.put("Query maks (ms)", stats.getQueryExecutionMaxTime());
+        result.put("Entity dimuat", stats.getEntityLoadCount());
+        result.put("Entity di-fetch (lazy)", stats.getEntityFetchCount());
+        result.put("Collection dimuat", stats.getCollectionLoadCount());
+        result.put("Collection di-fetch (lazy)", stats.getCollectionFetchCount());
+        result.put("Entity insert", stats.getEntityInsertCount());
+        result.put("Entity update", stats.getEntityUpdateCount());
+        result.put("Cache L2 hit", stats.getSecondLevelCacheHitCount());
+        result.put("Cache L2 miss", stats.getSecondLevelCacheMissCount());
+        result.put("Cache L2 put", stats.getSecondLevelCachePutCount());
+        result.put("Query cache hit", stats.getQueryCacheHitCount());
+        result.put("Query cache miss", stats.getQueryCacheMissCount());
+        result.put("Session dibuka", stats.getSessionOpenCount());
+        result.put("Transaksi", stats.getTransactionCount());
+        result.put("Optimistic lock gagal", stats.getOptimisticFailureCount());
+        return result;
+    }
+
+    // HQL dengan waktu eksekusi maksimum terbesar
+    @Override
+    public List<QuerySnapshot> getSlowestQueries() {
+        Statistics stats = sessionFactory.getStatistics();
+        List<QuerySnapshot> result = new ArrayList<>();
+        for (String query : stats.getQueries()) {
+            QueryStatistics queryStats = stats.getQueryStatistics(query);
+            if (queryStats.getExecutionCount() > 0) {
+                result.add(new QuerySnapshot(query, queryStats));
+            }
+        }
+        result.sort(Comparator.comparingLong(QuerySnapshot::getMaxMillis).reversed());
+        return result.size() > SLOWEST_QUERIES ? new ArrayList<>(result.subList(0, SLOWEST_QUERIES)) : result;
+    }
+
+    // Statement JDBC per bentuk SQL dari SlowQueryLog, total waktu terbesar dulu
+    @Override
+    public List<SlowQueryLog.ShapeSnapshot> getSqlShapes() {
+        SlowQueryLog log = SlowQueryLog.getCurrent();
+        if (log == null) {
+            return new ArrayList<>();
+        }
+        List<SlowQueryLog.ShapeSnapshot> shapes = log.getShapes();
+        return shapes.size() > SQL_SHAPES ? new ArrayList<>(shapes.subList(0, SQL_SHAPES)) : shapes;
+    }
+
+    @Override
+    public void reset() {
+        Metrics.reset();
+        sessionFactory.getStatistics().clear();
+        SlowQueryLog log = SlowQueryLog.getCurrent();
+        if (log != null) {
+            log.reset();
+        }
+    }
+
+    public static final class QuerySnapshot {
+        private final String query;
+        private final long count;
+        private final long averageMillis;
+        private final long maxMillis;
+        private final long rows;
+
+        QuerySnapshot(String query, QueryStatistics stats) {
+            this.query = query;
+            this.count = stats.getExecutionCount();
+            this.averageMillis = stats.getExecutionAvgTime();
+            this.maxMillis = stats.getExecutionMaxTime();
+            this.rows = stats.getExecutionRowCount();
+        }
+
+        public String getQuery() { return query; }
+        public long getCount() { return count; }
+        public long getAverageMillis() { return averageMillis; }
+        public long getMaxMillis() { return maxMillis; }
+        public long getRows() { return rows; }
+    }
+}
@@ -0,0 +1,23 @@
+package com.restaurant;
+
+import java.util.List;
+import java.util.Map;
+
+// Dilihat lewat JConsole/VisualVM sebagai com.restaurant:type=Diagnostics
+public interface DiagnosticsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    List<Metrics.TimerSnapshot> getTimers();
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getHibernateStatistics();
+
+    List<Diagnostics.QuerySnapshot> getSlowestQueries();
+
+    List<SlowQueryLog.ShapeSnapshot> getSqlShapes();
+
+    void reset();
+}
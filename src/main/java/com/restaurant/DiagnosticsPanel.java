@@ -0,0 +1,117 @@
+package com.restaurant;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Tab Diagnostics: timer DAO/laporan dari Metrics, counter, Hibernate Statistics dan
+// HQL paling lambat. Data yang sama tersedia lewat JMX (com.restaurant:type=Diagnostics).
+public class DiagnosticsPanel extends JPanel {
+    private static final int REFRESH_INTERVAL_MS = 2000;
+
+    private final Diagnostics diagnostics = new Diagnostics(KoneksiDB.getSessionFactory());
+    private final JCheckBox enabledCheckBox = new JCheckBox("Collect metrics");
+    private final RowTableModel<Metrics.TimerSnapshot> timerModel;
+    private final RowTableModel<Map.Entry<String, Long>> statisticsModel;
+    private final RowTableModel<Diagnostics.QuerySnapshot> queryModel;
+    private final RowTableModel<SlowQueryLog.ShapeSnapshot> shapeModel;
+
+    public DiagnosticsPanel() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        FormattingRenderer plain = FormattingRenderer.plain();
+        DecimalFormat millis = new DecimalFormat("0.000");
+        FormattingRenderer millisRenderer = new FormattingRenderer(millis::format);
+
+        timerModel = new RowTableModel<>(Arrays.asList(
+            RowTableModel.Column.<Metrics.TimerSnapshot, String>of("Timer", String.class, Metrics.TimerSnapshot::getName),
+            RowTableModel.Column.<Metrics.TimerSnapshot, Long>of("Count", Long.class, Metrics.TimerSnapshot::getCount).renderer(plain),
+            RowTableModel.Column.<Metrics.TimerSnapshot, Double>of("p50 (ms)", Double.class, Metrics.TimerSnapshot::getP50Millis).renderer(millisRenderer),
+            RowTableModel.Column.<Metrics.TimerSnapshot, Double>of("p95 (ms)", Double.class, Metrics.TimerSnapshot::getP95Millis).renderer(millisRenderer),
+            RowTableModel.Column.<Metrics.TimerSnapshot, Double>of("p99 (ms)", Double.class, Metrics.TimerSnapshot::getP99Millis).renderer(millisRenderer),
+            RowTableModel.Column.<Metrics.TimerSnapshot, Double>of("Max (ms)", Double.class, Metrics.TimerSnapshot::getMaxMillis).renderer(millisRenderer),
+            RowTableModel.Column.<Metrics.TimerSnapshot, Double>of("Total (ms)", Double.class, Metrics.TimerSnapshot::getTotalMillis).renderer(millisRenderer)));
+        statisticsModel = new RowTableModel<>(Arrays.asList(
+            RowTableModel.Column.<Map.Entry<String, Long>, String>of("Statistic", String.class, Map.Entry::getKey),
+            RowTableModel.Column.<Map.Entry<String, Long>, Long>of("Value", Long.class, Map.Entry::getValue).renderer(plain)));
+        queryModel = new RowTableModel<>(Arrays.asList(
+            RowTableModel.Column.<Diagnostics.QuerySnapshot, String>of("HQL", String.class, Diagnostics.QuerySnapshot::getQuery),
+            RowTableModel.Column.<Diagnostics.QuerySnapshot, Long>of("Count", Long.class, Diagnostics.QuerySnapshot::getCount).renderer(plain),
+            RowTableModel.Column.<Diagnostics.QuerySnapshot, Long>of("Avg (ms)", Long.class, Diagnostics.QuerySnapshot::getAverageMillis).renderer(plain),
+            RowTableModel.Column.<Diagnostics.QuerySnapshot, Long>of("Max (ms)", Long.class, Diagnostics.QuerySnapshot::getMaxMillis).renderer(plain),
+            RowTableModel.Column.<Diagnostics.QuerySnapshot, Long>of("Rows", Long.class, Diagnostics.QuerySnapshot::getRows).renderer(plain)));
+        shapeModel = new RowTableModel<>(Arrays.asList(
+            RowTableModel.Column.<SlowQueryLog.ShapeSnapshot, String>of("SQL", String.class, SlowQueryLog.ShapeSnapshot::getSql),
+            RowTableModel.Column.<SlowQueryLog.ShapeSnapshot, Long>of("Count", Long.class, SlowQueryLog.ShapeSnapshot::getCount).renderer(plain),
+            RowTableModel.Column.<SlowQueryLog.ShapeSnapshot, Double>of("p95 (ms)", Double.class, SlowQueryLog.ShapeSnapshot::getP95Millis).renderer(millisRenderer),
+            RowTableModel.Column.<SlowQueryLog.ShapeSnapshot, Double>of("Max (ms)", Double.class, SlowQueryLog.ShapeSnapshot::getMaxMillis).renderer(millisRenderer),
+            RowTableModel.Column.<SlowQueryLog.ShapeSnapshot, Double>of("Total (ms)", Double.class, SlowQueryLog.ShapeSnapshot::getTotalMillis).renderer(millisRenderer),
+            RowTableModel.Column.<SlowQueryLog.ShapeSnapshot, Long>of("Rows", Long.class, SlowQueryLog.ShapeSnapshot::getRows).renderer(plain),
+            RowTableModel.Column.<SlowQueryLog.ShapeSnapshot, Long>of("Slow", Long.class, SlowQueryLog.ShapeSnapshot::getSlowCount).renderer(plain)));
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        enabledCheckBox.setSelected(diagnostics.isEnabled());
+        enabledCheckBox.addActionListener(e -> {
+            diagnostics.setEnabled(enabledCheckBox.isSelected());
+            refresh();
+        });
+        JButton resetButton = new JButton("Reset");
+        resetButton.addActionListener(e -> {
+            diagnostics.reset();
+            refresh();
+        });
+        toolbar.add(enabledCheckBox);
+        toolbar.add(resetButton);
+        add(toolbar, BorderLayout.NORTH);
+
+        // Bentuk SQL dari SlowQueryLog (level JDBC) di samping HQL dari Hibernate Statistics
+        JTabbedPane queries = new JTabbedPane();
+        queries.addTab("SQL Shapes", createTablePanel("JDBC statements by SQL shape", shapeModel));
+        queries.addTab("Slowest HQL", createTablePanel("Slowest Queries", queryModel));
+        JSplitPane bottom = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT,
+            createTablePanel("Hibernate Statistics", statisticsModel), queries);
+        bottom.setResizeWeight(0.3);
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+            createTablePanel("Timers", timerModel), bottom);
+        split.setResizeWeight(0.5);
+        add(split, BorderLayout.CENTER);
+
+        // Hanya diperbarui selama tab terlihat
+        Timer timer = new Timer(REFRESH_INTERVAL_MS, e -> {
+            if (isShowing()) {
+                refresh();
+            }
+        });
+        timer.start();
+        refresh();
+    }
+
+    private static <R> JPanel createTablePanel(String title, RowTableModel<R> model) {
+        JTable table = new JTable(model);
+        table.setRowSorter(model.createSorter());
+        table.getTableHeader().setReorderingAllowed(false);
+        model.installRenderers(table.getColumnModel());
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder(title));
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        return panel;
+    }
+
+    private void refresh() {
+        enabledCheckBox.setSelected(diagnostics.isEnabled());
+        timerModel.setRows(diagnostics.getTimers());
+
+        // Counter aplikasi ditampilkan bersama statistik Hibernate
+        List<Map.Entry<String, Long>> statistics = new ArrayList<>(diagnostics.getHibernateStatistics().entrySet());
+        statistics.addAll(diagnostics.getCounters().entrySet());
+        statisticsModel.setRows(statistics);
+        queryModel.setRows(diagnostics.getSlowestQueries());
+        shapeModel.setRows(diagnostics.getSqlShapes());
+    }
+}
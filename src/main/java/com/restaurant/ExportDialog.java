@@ -0,0 +1,121 @@
+package com.restaurant;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+
+// Memilih file tujuan lalu menampilkan progres ExportTask. Jumlah baris diperbarui
+// oleh Timer (bukan per baris) supaya EDT tidak dibanjiri event saat export jutaan baris.
+public class ExportDialog extends JDialog {
+    private static final int REFRESH_MS = 250;
+
+    private final ExportTask task;
+    private final JLabel progressLabel = new JLabel("Menyiapkan export...");
+    private final Timer refreshTimer;
+
+    // Harus dipanggil dari EDT
+    public static void export(Component parent, String title, String fileName, ExportTask task) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle(title);
+        chooser.setAcceptAllFileFilterUsed(false);
+        FileNameExtensionFilter[] filters = new FileNameExtensionFilter[ExportFormat.values().length];
+        for (ExportFormat format : ExportFormat.values()) {
+            filters[format.ordinal()] = new FileNameExtensionFilter(format.getDescription(), format.getExtension());
+            chooser.addChoosableFileFilter(filters[format.ordinal()]);
+        }
+        chooser.setFileFilter(filters[ExportFormat.CSV.ordinal()]);
+        chooser.setSelectedFile(new File(fileName + "." + ExportFormat.CSV.getExtension()));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        ExportFormat format = ExportFormat.CSV;
+        for (ExportFormat candidate : ExportFormat.values()) {
+            if (chooser.getFileFilter() == filters[candidate.ordinal()]) {
+                format = candidate;
+            }
+        }
+        Path target = chooser.getSelectedFile().toPath();
+        String name = target.getFileName().toString();
+        if (!name.toLowerCase().endsWith("." + format.getExtension())) {
+            target = target.resolveSibling(name.replaceFirst("\\.(csv|xlsx)$", "") + "." + format.getExtension());
+        }
+        if (Files.exists(target) && JOptionPane.showConfirmDialog(parent,
+                target.getFileName() + " sudah ada. Timpa?", title, JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        ExportDialog dialog = new ExportDialog(SwingUtilities.getWindowAncestor(parent), title, task);
+        dialog.start(target, format);
+    }
+
+    private ExportDialog(Window owner, String title, ExportTask task) {
+        super(owner, title, ModalityType.MODELESS);
+        this.task = task;
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        setLayout(new BorderLayout(10, 10));
+
+        JPanel content = new JPanel(new BorderLayout(10, 10));
+        content.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        content.add(progressLabel, BorderLayout.NORTH);
+        content.add(progressBar, BorderLayout.CENTER);
+
+        JButton cancelBtn = new JButton("Batal");
+        cancelBtn.addActionListener(e -> cancel());
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(cancelBtn);
+        content.add(buttonPanel, BorderLayout.SOUTH);
+        add(content);
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cancel();
+            }
+        });
+
+        refreshTimer = new Timer(REFRESH_MS, e -> showProgress());
+        setSize(380, 160);
+        setLocationRelativeTo(owner);
+    }
+
+    private void start(Path target, ExportFormat format) {
+        refreshTimer.start();
+        setVisible(true);
+        task.start(target, format).whenComplete((rows, error) -> SwingUtilities.invokeLater(() -> {
+            refreshTimer.stop();
+            dispose();
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                JOptionPane.showMessageDialog(getOwner(), "Export dibatalkan", getTitle(), JOptionPane.INFORMATION_MESSAGE);
+            } else if (cause != null) {
+                JOptionPane.showMessageDialog(getOwner(), "Export gagal: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                cause.printStackTrace();
+            } else {
+                JOptionPane.showMessageDialog(getOwner(),
+                    String.format("%,d baris diekspor ke %s", rows, target), getTitle(), JOptionPane.INFORMATION_MESSAGE);
+            }
+        }));
+    }
+
+    private void showProgress() {
+        progressLabel.setText(task.isCancelled()
+            ? "Membatalkan..."
+            : String.format("%,d baris ditulis", task.getRowsWritten()));
+    }
+
+    private void cancel() {
+        task.cancel();
+        showProgress();
+    }
+}
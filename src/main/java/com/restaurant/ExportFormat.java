@@ -0,0 +1,29 @@
+package com.restaurant;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public enum ExportFormat {
+    CSV("csv", "CSV (*.csv)"),
+    XLSX("xlsx", "Excel (*.xlsx)");
+
+    private final String extension;
+    private final String description;
+
+    ExportFormat(String extension, String description) {
+        this.extension = extension;
+        this.description = description;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public ExportWriter open(OutputStream out) throws IOException {
+        return this == XLSX ? new XlsxExportWriter(out) : new CsvExportWriter(out);
+    }
+}
@@ -0,0 +1,89 @@
+package com.restaurant;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+// Export streaming: setiap baris dari query (lihat RowStream) langsung ditulis ke
+// ExportWriter, jadi memori yang dipakai tetap kecil berapa pun jumlah barisnya.
+// File ditulis ke file .part di folder tujuan dan baru diganti namanya setelah selesai;
+// bila dibatalkan atau gagal, file .part dihapus dan file tujuan tidak tersentuh.
+public class ExportTask {
+    private static final Logger logger = Logger.getLogger(ExportTask.class.getName());
+
+    // Sumber baris, mis. handler -> orderDAO.exportOrders(status, from, to, handler)
+    public interface Source {
+        long stream(RowStream.Handler handler) throws IOException;
+    }
+
+    private final String[] columns;
+    private final Source source;
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile boolean cancelled;
+
+    public ExportTask(String[] columns, Source source) {
+        this.columns = columns.clone();
+        this.source = source;
+    }
+
+    // Dijalankan di DbExecutor karena memakai satu koneksi selama export berlangsung
+    public CompletableFuture<Long> start(Path target, ExportFormat format) {
+        return DbExecutor.supply(() -> {
+            try {
+                return run(target, format);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    long run(Path target, ExportFormat format) throws IOException {
+        long start = System.nanoTime();
+        Path directory = target.toAbsolutePath().getParent();
+        Path part = Files.createTempFile(directory, target.getFileName().toString(), ".part");
+        boolean finished = false;
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024);
+                 ExportWriter writer = format.open(out)) {
+                writer.writeHeader(columns);
+                source.stream(row -> {
+                    if (cancelled) {
+                        throw new CancellationException("Export dibatalkan");
+                    }
+                    writer.writeRow(row);
+                    rowsWritten.incrementAndGet();
+                });
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+            finished = true;
+            logger.info(String.format("Export %d baris ke %s selesai dalam %d ms",
+                rowsWritten.get(), target, (System.nanoTime() - start) / 1_000_000));
+            return rowsWritten.get();
+        } finally {
+            if (!finished) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    // Export berhenti sebelum baris berikutnya ditulis
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+}
@@ -0,0 +1,12 @@
+package com.restaurant;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Tujuan export baris demi baris (CSV atau XLSX, lihat ExportFormat).
+// Nilai yang dikenali: String, Number, Money, LocalDate, LocalDateTime; selain itu toString().
+public interface ExportWriter extends Closeable {
+    void writeHeader(String[] columns) throws IOException;
+
+    void writeRow(Object[] values) throws IOException;
+}
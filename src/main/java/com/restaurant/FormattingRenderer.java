@@ -0,0 +1,55 @@
+package com.restaurant;
+
+import javax.swing.JLabel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.function.Function;
+
+// Renderer rata tengah yang memformat nilai mentah dari model saat sel digambar.
+// Buat sekali per tabel/kolom dan pakai ulang; JTable hanya memanggilnya untuk
+// sel yang terlihat.
+public class FormattingRenderer extends DefaultTableCellRenderer {
+    private final Function<Object, String> format;
+
+    public FormattingRenderer(Function<Object, String> format) {
+        this.format = format;
+        setHorizontalAlignment(JLabel.CENTER);
+    }
+
+    @Override
+    protected void setValue(Object value) {
+        setText(value == null ? "" : format.apply(value));
+    }
+
+    public static FormattingRenderer plain() {
+        return new FormattingRenderer(String::valueOf);
+    }
+
+    // Money dengan prefix mata uang, mis. "$12.50"
+    public static FormattingRenderer money(String prefix) {
+        return new FormattingRenderer(value -> prefix + value);
+    }
+
+    // Money dengan pemisah ribuan, mis. "Rp1,250,000.00"
+    public static FormattingRenderer rupiah() {
+        NumberFormat format = NumberFormat.getNumberInstance();
+        format.setMinimumFractionDigits(2);
+        format.setMaximumFractionDigits(2);
+        return new FormattingRenderer(value -> "Rp" + format.format(((Money) value).toBigDecimal()));
+    }
+
+    // LocalDate atau LocalDateTime
+    public static FormattingRenderer date(String pattern) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        return new FormattingRenderer(value -> formatter.format((TemporalAccessor) value));
+    }
+
+    // Double 0-100 sebagai persentase satu desimal, mis. "12.5%"
+    public static FormattingRenderer percent() {
+        DecimalFormat format = new DecimalFormat("0.0");
+        return new FormattingRenderer(value -> format.format(value) + "%");
+    }
+}
@@ -0,0 +1,140 @@
+package com.restaurant;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// ConnectionProvider berbasis HikariCP menggantikan pool bawaan Hibernate.
+// Pengaturan pool dibaca dari key "pool.*" (lihat db.properties).
+// Bila slowlog.enabled=true setiap koneksi dibungkus TimedConnection untuk SlowQueryLog.
+public class HikariConnectionProvider implements ConnectionProvider, Configurable, Stoppable {
+    private static final Logger logger = Logger.getLogger(HikariConnectionProvider.class.getName());
+
+    private HikariDataSource dataSource;
+    private PoolMetrics metrics;
+    private SlowQueryLog slowQueryLog;
+
+    @Override
+    public void configure(Map configurationValues) {
+        HikariConfig config = new HikariConfig();
+        String url = setting(configurationValues, AvailableSettings.URL, null);
+        config.setJdbcUrl(url);
+        config.setUsername(setting(configurationValues, AvailableSettings.USER, null));
+        config.setPassword(setting(configurationValues, AvailableSettings.PASS, null));
+        String driver = setting(configurationValues, AvailableSettings.DRIVER, null);
+        if (driver != null) {
+            config.setDriverClassName(driver);
+        }
+
+        config.setPoolName(setting(configurationValues, "pool.name", "restaurant-pos"));
+        config.setMaximumPoolSize(intSetting(configurationValues, "pool.maximumPoolSize", 10));
+        config.setMinimumIdle(intSetting(configurationValues, "pool.minimumIdle", 2));
+        config.setConnectionTimeout(intSetting(configurationValues, "pool.connectionTimeoutMs", 5000));
+        config.setValidationTimeout(intSetting(configurationValues, "pool.validationTimeoutMs", 3000));
+        config.setIdleTimeout(intSetting(configurationValues, "pool.idleTimeoutMs", 600000));
+        config.setMaxLifetime(intSetting(configurationValues, "pool.maxLifetimeMs", 1800000));
+        config.setLeakDetectionThreshold(intSetting(configurationValues, "pool.leakDetectionThresholdMs", 0));
+        config.setAutoCommit(false);
+        config.setReadOnly(Boolean.parseBoolean(setting(configurationValues, "pool.readOnly", "false")));
+        // -1: pool tetap dibuat walau database belum bisa dihubungi (dipakai untuk replika)
+        config.setInitializationFailTimeout(intSetting(configurationValues, "pool.initializationFailTimeoutMs", 1));
+
+        // Statement cache di sisi driver MySQL
+        int statementCacheSize = intSetting(configurationValues, "pool.statementCacheSize", 250);
+        if (url != null && url.startsWith("jdbc:mysql:") && statementCacheSize > 0) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit",
+                setting(configurationValues, "pool.statementCacheSqlLimit", "2048"));
+        }
+
+        metrics = new PoolMetrics();
+        config.setMetricsTrackerFactory(metrics);
+
+        try {
+            dataSource = new HikariDataSource(config);
+        } catch (RuntimeException e) {
+            throw new HibernateException("Gagal membuat connection pool", e);
+        }
+
+        // File log yang tidak bisa dibuka tidak boleh menghentikan aplikasi
+        if (Boolean.parseBoolean(setting(configurationValues, "slowlog.enabled", "true"))) {
+            try {
+                slowQueryLog = SlowQueryLog.acquire(configurationValues);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Slow query log nonaktif", e);
+            }
+        }
+    }
+
+    private static String setting(Map<?, ?> values, String key, String defaultValue) {
+        Object value = values.get(key);
+        return value != null ? value.toString().trim() : defaultValue;
+    }
+
+    private static int intSetting(Map<?, ?> values, String key, int defaultValue) {
+        return Integer.parseInt(setting(values, key, String.valueOf(defaultValue)));
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        return slowQueryLog != null ? TimedConnection.wrap(connection, slowQueryLog) : connection;
+    }
+
+    @Override
+    public void closeConnection(Connection conn) throws SQLException {
+        conn.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public boolean isUnwrappableAs(Class unwrapType) {
+        return unwrapType.isAssignableFrom(getClass()) || unwrapType.isAssignableFrom(HikariDataSource.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isAssignableFrom(getClass())) {
+            return (T) this;
+        }
+        if (unwrapType.isAssignableFrom(HikariDataSource.class) || DataSource.class.equals(unwrapType)) {
+            return (T) dataSource;
+        }
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+
+    @Override
+    public void stop() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        if (slowQueryLog != null) {
+            slowQueryLog.release();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.restaurant;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+// Lock bernama lintas terminal untuk job latar belakang yang tidak boleh berjalan bersamaan
+// di dua terminal (rollup penjualan, arsip order). Di MySQL memakai GET_LOCK seperti
+// MigrationRunner.lock(), tetapi tanpa menunggu: bila terminal lain sedang memegang lock,
+// putaran job di terminal ini dilewati. Lock MySQL terikat ke koneksi, jadi satu koneksi
+// pool dipegang selama work berjalan dan lock ikut lepas bila terminal mati.
+// Database lain (H2 di test) hanya dipakai satu proses, jadi lock selalu didapat.
+final class JobLock {
+    private static final String PREFIX = "restaurant_pos_";
+
+    private JobLock() {
+    }
+
+    // false bila lock sedang dipegang terminal lain; work tidak dijalankan
+    static boolean runExclusive(String name, Runnable work) throws SQLException {
+        ConnectionProvider provider = KoneksiDB.getConnectionProvider();
+        Connection connection = provider.getConnection();
+        try {
+            boolean mysql = connection.getMetaData().getDatabaseProductName()
+                .toLowerCase(Locale.ROOT).contains("mysql");
+            if (mysql && !call(connection, "SELECT GET_LOCK(?, 0)", name)) {
+                return false;
+            }
+            try {
+                work.run();
+                return true;
+            } finally {
+                if (mysql) {
+                    call(connection, "SELECT RELEASE_LOCK(?)", name);
+                }
+            }
+        } finally {
+            provider.closeConnection(connection);
+        }
+    }
+
+    private static boolean call(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, PREFIX + name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+}
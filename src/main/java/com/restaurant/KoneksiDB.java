@@ -1,41 +1,311 @@
 package com.restaurant;
 
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.StatelessSession;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class KoneksiDB {
-    private static SessionFactory sessionFactory;
+    // File eksternal yang menimpa db.properties bawaan, misal untuk ukuran pool tiap terminal
+    public static final String CONFIG_PROPERTY = "pos.db.config";
+
+    // "production" memakai hbm2ddl validate: skema hanya dicek, tidak diubah saat start
+    public static final String MODE_PROPERTY = "pos.mode";
+
+    // false: migrasi tidak dijalankan saat start, hanya lewat CLI MigrationRunner
+    public static final String AUTO_MIGRATE_SETTING = "migrations.auto";
+
+    // URL JDBC replika baca; kosong berarti semua query ke primary
+    public static final String REPLICA_URL_SETTING = "replica.url";
+
+    private static final Logger logger = Logger.getLogger(KoneksiDB.class.getName());
+    private static final Properties settings;
+    private static CompletableFuture<SessionFactory> startup;
+    private static volatile ReplicaRouter replicaRouter;
 
     static {
         try {
-            StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
-                .configure("hibernate.cfg.xml")
-                .build();
-            
-            Metadata metadata = new MetadataSources(registry)
-                .addAnnotatedClass(MenuItem.class)
-                .addAnnotatedClass(Order.class)
-                .addAnnotatedClass(OrderItem.class)
-                .getMetadataBuilder()
-                .build();
-            
-            sessionFactory = metadata.getSessionFactoryBuilder().build();
-        } catch (Exception e) {
-            System.err.println("Failed to initialize SessionFactory: " + e);
+            settings = loadSettings();
+        } catch (IOException e) {
             throw new ExceptionInInitializerError(e);
         }
     }
 
+    // Mulai membangun SessionFactory di thread latar belakang; aman dipanggil berulang.
+    // UI bisa tampil lebih dulu sambil menunggu future ini selesai.
+    public static synchronized CompletableFuture<SessionFactory> initialize() {
+        if (startup == null) {
+            startup = CompletableFuture.supplyAsync(KoneksiDB::buildSessionFactory, task -> {
+                Thread thread = new Thread(task, "db-startup");
+                thread.setDaemon(true);
+                thread.start();
+            });
+        }
+        return startup;
+    }
+
+    private static SessionFactory buildSessionFactory() {
+        StandardServiceRegistry registry = buildRegistry();
+        try {
+            // Skema dibawa ke versi terbaru sebelum Hibernate memvalidasinya
+            if (Boolean.parseBoolean(getSetting(AUTO_MIGRATE_SETTING, "true").trim())) {
+                migrate(registry);
+                StartupTimer.mark("migrasi");
+            }
+
+            SessionFactory sessionFactory = buildMetadata(registry).getSessionFactoryBuilder().build();
+            Diagnostics.register(sessionFactory);
+            startReplica(sessionFactory);
+            return sessionFactory;
+        } catch (RuntimeException e) {
+            StandardServiceRegistryBuilder.destroy(registry);
+            throw e;
+        }
+    }
+
+    private static Metadata buildMetadata(StandardServiceRegistry registry) {
+        return new MetadataSources(registry)
+            .addAnnotatedClass(MenuItem.class)
+            .addAnnotatedClass(Order.class)
+            .addAnnotatedClass(OrderItem.class)
+            .addAnnotatedClass(DailySalesRollup.class)
+            .getMetadataBuilder()
+            .build();
+    }
+
+    // Replika yang mati saat start tidak menghentikan aplikasi: router menganggapnya
+    // tidak tersedia sampai heartbeat berhasil membacanya
+    private static void startReplica(SessionFactory primary) {
+        String url = getSetting(REPLICA_URL_SETTING, "").trim();
+        if (url.isEmpty()) {
+            return;
+        }
+        try {
+            SessionFactory replica = buildReplicaSessionFactory(url,
+                getSetting("replica.username", null), getSetting("replica.password", null));
+            ReplicaRouter router = new ReplicaRouter(primary, replica,
+                getIntSetting("replica.maxLagMs", 5000),
+                getIntSetting("replica.checkIntervalMs", 2000));
+            router.start();
+            replicaRouter = router;
+            StartupTimer.mark("replika");
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Replika baca tidak dipakai, semua query ke primary", e);
+        }
+    }
+
+    // Pengaturan sama dengan primary kecuali koneksi: tanpa migrasi dan validasi skema
+    // (skema ikut replikasi), tanpa second-level cache (menu tetap dibaca dari primary),
+    // pool read-only yang boleh dibuat walau replika belum bisa dihubungi.
+    // username/password null berarti sama dengan primary; replica.pool.* menimpa pool.*.
+    static SessionFactory buildReplicaSessionFactory(String url, String username, String password) {
+        StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder()
+            .configure("hibernate.cfg.xml")
+            .applySettings(settings)
+            .applySetting(AvailableSettings.URL, url);
+        if (username != null) {
+            builder.applySetting(AvailableSettings.USER, username);
+        }
+        if (password != null) {
+            builder.applySetting(AvailableSettings.PASS, password);
+        }
+        builder.applySetting(AvailableSettings.HBM2DDL_AUTO, "none")
+            .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+            .applySetting(AvailableSettings.USE_QUERY_CACHE, "false")
+            .applySetting("hibernate.temp.use_jdbc_metadata_defaults", "false")
+            .applySetting("pool.name", "restaurant-pos-replica")
+            .applySetting("pool.readOnly", "true")
+            .applySetting("pool.initializationFailTimeoutMs", "-1");
+        for (String key : settings.stringPropertyNames()) {
+            if (key.startsWith("replica.pool.")) {
+                builder.applySetting(key.substring("replica.".length()), settings.getProperty(key));
+            }
+        }
+        StandardServiceRegistry registry = builder.build();
+        try {
+            return buildMetadata(registry).getSessionFactoryBuilder().build();
+        } catch (RuntimeException e) {
+            StandardServiceRegistryBuilder.destroy(registry);
+            throw e;
+        }
+    }
+
+    // Dipakai juga oleh CLI MigrationRunner, yang membaca konfigurasi yang sama
+    static StandardServiceRegistry buildRegistry() {
+        StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder()
+            .configure("hibernate.cfg.xml")
+            .applySettings(settings);
+        if (isProduction()) {
+            builder.applySetting(AvailableSettings.HBM2DDL_AUTO, "validate");
+        }
+        return builder.build();
+    }
+
+    private static void migrate(StandardServiceRegistry registry) {
+        ConnectionProvider provider = registry.getService(ConnectionProvider.class);
+        try {
+            Connection connection = provider.getConnection();
+            try {
+                new MigrationRunner(connection).migrate();
+            } finally {
+                provider.closeConnection(connection);
+            }
+        } catch (SQLException e) {
+            throw new MigrationException("Migrasi skema gagal: " + e.getMessage(), e);
+        }
+    }
+
+    // -Dpos.mode menimpa pos.mode di db.properties
+    public static boolean isProduction() {
+        return "production".equalsIgnoreCase(System.getProperty(MODE_PROPERTY, getSetting(MODE_PROPERTY, "development")));
+    }
+
+    // db.properties dari classpath, lalu ditimpa file dari -Dpos.db.config atau ./db.properties
+    static Properties loadSettings() throws IOException {
+        Properties settings = new Properties();
+        try (InputStream in = KoneksiDB.class.getClassLoader().getResourceAsStream("db.properties")) {
+            if (in != null) {
+                settings.load(in);
+            }
+        }
+
+        String configured = System.getProperty(CONFIG_PROPERTY);
+        Path external = Paths.get(configured != null ? configured : "db.properties");
+        if (Files.isRegularFile(external)) {
+            try (InputStream in = Files.newInputStream(external)) {
+                settings.load(in);
+            }
+        }
+        return settings;
+    }
+
+    // Nilai dari db.properties (setelah ditimpa file eksternal)
+    public static String getSetting(String key, String defaultValue) {
+        return settings.getProperty(key, defaultValue);
+    }
+
+    public static int getIntSetting(String key, int defaultValue) {
+        return Integer.parseInt(getSetting(key, String.valueOf(defaultValue)).trim());
+    }
+
+    // Menunggu startup selesai bila belum; jangan dipanggil dari EDT sebelum isReady()
     public static SessionFactory getSessionFactory() {
-        return sessionFactory;
+        try {
+            return initialize().join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("SessionFactory gagal dibuat", e.getCause());
+        }
+    }
+
+    // Untuk query baca yang boleh sedikit tertinggal (lihat ReplicaRouter): dijalankan di
+    // replika bila sehat dan cukup baru, selain itu di primary. Query yang gagal di replika
+    // diulang sekali di primary, jadi work tidak boleh punya efek samping di luar session.
+    public static <T> T read(Function<Session, T> work) {
+        return route(SessionFactory::openSession, work);
+    }
+
+    public static <T> T readStateless(Function<StatelessSession, T> work) {
+        return route(SessionFactory::openStatelessSession, work);
+    }
+
+    private static <S extends SharedSessionContract, T> T route(Function<SessionFactory, S> open, Function<S, T> work) {
+        ReplicaRouter router = replicaRouter;
+        if (router != null && router.useReplica()) {
+            S session = null;
+            try {
+                session = open.apply(router.getReplica());
+                return work.apply(session);
+            } catch (RuntimeException e) {
+                router.markDown(e);
+                Metrics.increment("KoneksiDB.replicaFallback");
+            } finally {
+                if (session != null) {
+                    session.close();
+                }
+            }
+        }
+        S session = open.apply(getSessionFactory());
+        try {
+            return work.apply(session);
+        } finally {
+            session.close();
+        }
+    }
+
+    // Untuk export yang dialirkan ke file: tidak bisa diulang setelah baris pertama
+    // ditulis, jadi hanya memilih factory tanpa fallback per query
+    public static SessionFactory getReadSessionFactory() {
+        ReplicaRouter router = replicaRouter;
+        return router != null && router.useReplica() ? router.getReplica() : getSessionFactory();
+    }
+
+    // Null bila replica.url kosong atau replika gagal disiapkan
+    public static ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    static void setReplicaRouter(ReplicaRouter router) {
+        replicaRouter = router;
+    }
+
+    public static void markWrite() {
+        ReplicaRouter router = replicaRouter;
+        if (router != null) {
+            router.markWrite();
+        }
+    }
+
+    public static synchronized boolean isReady() {
+        return startup != null && startup.isDone() && !startup.isCompletedExceptionally();
+    }
+
+    public static PoolMetrics getPoolMetrics() {
+        if (!isReady()) {
+            return null;
+        }
+        ConnectionProvider provider = getConnectionProvider();
+        if (provider != null && provider.isUnwrappableAs(HikariConnectionProvider.class)) {
+            return provider.unwrap(HikariConnectionProvider.class).getMetrics();
+        }
+        return null;
+    }
+
+    // Koneksi JDBC mentah dari pool primary, untuk pekerjaan yang terikat ke satu koneksi (JobLock)
+    static ConnectionProvider getConnectionProvider() {
+        return ((SessionFactoryImplementor) getSessionFactory())
+            .getServiceRegistry()
+            .getService(ConnectionProvider.class);
     }
 
     public static void shutdown() {
-        if (sessionFactory != null) {
-            sessionFactory.close();
+        ReplicaRouter router = replicaRouter;
+        if (router != null) {
+            router.stop();
+            router.getReplica().close();
+        }
+        if (isReady()) {
+            getSessionFactory().close();
         }
     }
 }
@@ -0,0 +1,51 @@
+package com.restaurant;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+// Menerima hasil query asynchronous (lihat DbExecutor) dan mengirimnya ke EDT.
+// Setiap submit baru membatalkan permintaan sebelumnya, jadi hasil filter
+// yang sudah basi tidak pernah menimpa tampilan.
+public class LatestQuery<T> {
+    private final LoadingIndicator indicator;
+    private CompletableFuture<T> current;
+
+    public LatestQuery(LoadingIndicator indicator) {
+        this.indicator = indicator;
+    }
+
+    // Harus dipanggil dari EDT
+    public void submit(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        cancel();
+        current = future;
+        if (indicator != null) {
+            indicator.start();
+        }
+
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (indicator != null) {
+                indicator.stop();
+            }
+            if (future != current || error instanceof CancellationException) {
+                return;
+            }
+            current = null;
+            if (error != null) {
+                onError.accept(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+
+    public void cancel() {
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+        }
+    }
+}
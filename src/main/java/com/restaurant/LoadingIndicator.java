@@ -0,0 +1,28 @@
+package com.restaurant;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Progress bar kecil yang tampil selama ada query yang sedang berjalan
+public class LoadingIndicator extends JProgressBar {
+    private int running;
+
+    public LoadingIndicator() {
+        setIndeterminate(true);
+        setStringPainted(true);
+        setString("Memuat...");
+        setPreferredSize(new Dimension(120, 20));
+        setVisible(false);
+    }
+
+    // Harus dipanggil dari EDT
+    public void start() {
+        running++;
+        setVisible(true);
+    }
+
+    public void stop() {
+        running = Math.max(0, running - 1);
+        setVisible(running > 0);
+    }
+}
@@ -1,19 +1,91 @@
 package com.restaurant;
 
 import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class MainFrame extends JFrame {
-    public MainFrame() {
+    private static final String CARD_LOADING = "loading";
+    private static final String CARD_TABS = "tabs";
+
+    private final CardLayout cards = new CardLayout();
+    private final JPanel content = new JPanel(cards);
+    private final JTabbedPane tabbedPane = new JTabbedPane();
+    private final JLabel loadingLabel = new JLabel("Menghubungkan ke database...", SwingConstants.CENTER);
+
+    // Frame tampil segera; tab baru dibuat setelah database siap dan saat pertama kali dipilih
+    public MainFrame(CompletableFuture<?> database) {
         setTitle("Restaurant POS - Admin System");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(1200, 800);
         setLocationRelativeTo(null);
-        
-        JTabbedPane tabbedPane = new JTabbedPane();
-        tabbedPane.addTab("Menu Management", new MenuManagementPanel());
-        tabbedPane.addTab("Order Management", new OrderManagementPanel());
-        tabbedPane.addTab("Reports", new ReportPanel());
-        
-        add(tabbedPane);
+
+        addLazyTab("Menu Management", MenuManagementPanel::new);
+        addLazyTab("Order Management", OrderManagementPanel::new);
+        addLazyTab("Reports", ReportPanel::new);
+        addLazyTab("Diagnostics", DiagnosticsPanel::new);
+        tabbedPane.addChangeListener(e -> createSelectedTab());
+
+        content.add(createLoadingPanel(), CARD_LOADING);
+        content.add(tabbedPane, CARD_TABS);
+        add(content, BorderLayout.CENTER);
+        add(new StatusBar(), BorderLayout.SOUTH);
+
+        database.whenComplete((ready, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                loadingLabel.setText("Gagal terhubung ke database: " + cause.getMessage());
+                return;
+            }
+            cards.show(content, CARD_TABS);
+            createSelectedTab();
+            StartupTimer.mark("tab pertama siap");
+            StartupTimer.finish();
+        }));
+    }
+
+    private JPanel createLoadingPanel() {
+        JProgressBar progress = new JProgressBar();
+        progress.setIndeterminate(true);
+
+        JPanel box = new JPanel(new BorderLayout(0, 10));
+        box.add(loadingLabel, BorderLayout.NORTH);
+        box.add(progress, BorderLayout.CENTER);
+
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.add(box);
+        return panel;
+    }
+
+    private void addLazyTab(String title, Supplier<JComponent> factory) {
+        tabbedPane.addTab(title, new LazyTab(factory));
+    }
+
+    private void createSelectedTab() {
+        Component selected = tabbedPane.getSelectedComponent();
+        if (selected instanceof LazyTab && KoneksiDB.isReady()) {
+            ((LazyTab) selected).create();
+        }
+    }
+
+    // Placeholder tab; isi sebenarnya (dan query awalnya) baru dibuat saat dibutuhkan
+    private static class LazyTab extends JPanel {
+        private final Supplier<JComponent> factory;
+        private boolean created;
+
+        LazyTab(Supplier<JComponent> factory) {
+            super(new BorderLayout());
+            this.factory = factory;
+        }
+
+        void create() {
+            if (created) {
+                return;
+            }
+            created = true;
+            add(factory.get(), BorderLayout.CENTER);
+            revalidate();
+        }
     }
-}
\ No newline at end of file
+}
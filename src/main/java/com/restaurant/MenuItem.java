@@ -1,18 +1,28 @@
 package com.restaurant;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "menu_items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MenuItem.CACHE_REGION)
 public class MenuItem {
+    public static final String CACHE_REGION = "menuItem";
+    public static final String QUERY_CACHE_REGION = "menuItemQuery";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
     
     private String name;
+    @Column(length = 1000)
     private String description;
-    private double price;
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 10, scale = 2)
+    private Money price = Money.ZERO;
     private String category;
     
     @Column(name = "is_available")
@@ -32,7 +42,7 @@ public class MenuItem {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public MenuItem(String name, double price, String category) {
+    public MenuItem(String name, Money price, String category) {
         this();
         this.name = name;
         this.price = price;
@@ -43,7 +53,7 @@ public class MenuItem {
     public int getId() { return id; }
     public String getName() { return name; }
     public String getDescription() { return description; }
-    public double getPrice() { return price; }
+    public Money getPrice() { return price; }
     public String getCategory() { return category; }
     public boolean isAvailable() { return available; }
     public String getImagePath() { return imagePath; }
@@ -58,7 +68,7 @@ public class MenuItem {
         this.description = description; 
         this.updatedAt = LocalDateTime.now();
     }
-    public void setPrice(double price) { 
+    public void setPrice(Money price) { 
         this.price = price; 
         this.updatedAt = LocalDateTime.now();
     }
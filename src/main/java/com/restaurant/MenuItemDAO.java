@@ -1,30 +1,57 @@
 package com.restaurant;
 
+import org.hibernate.Cache;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class MenuItemDAO {
     public List<MenuItem> getAllMenuItems(boolean onlyAvailable) {
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+        try (Metrics.Sample sample = Metrics.start("MenuItemDAO.getAllMenuItems");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
             String query = onlyAvailable ? 
                 "FROM MenuItem WHERE is_available = true ORDER BY category, name" : 
                 "FROM MenuItem ORDER BY category, name";
-            return session.createQuery(query, MenuItem.class).list();
+            return session.createQuery(query, MenuItem.class)
+                .setCacheable(true)
+                .setCacheRegion(MenuItem.QUERY_CACHE_REGION)
+                .list();
+        }
+    }
+
+    // Untuk tabel menu: proyeksi DTO di session read-only, tanpa snapshot dirty-checking.
+    // Hasilnya tetap disimpan di query cache menu dan ikut di-evict saat menu berubah.
+    public List<MenuRow> getMenuRows(boolean onlyAvailable) {
+        try (Metrics.Sample sample = Metrics.start("MenuItemDAO.getMenuRows");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
+            session.setDefaultReadOnly(true);
+            String query = "SELECT new com.restaurant.MenuRow(m.id, m.name, m.price, m.category, m.available, m.description) " +
+                "FROM MenuItem m " +
+                (onlyAvailable ? "WHERE m.available = true " : "") +
+                "ORDER BY m.category, m.name";
+            return session.createQuery(query, MenuRow.class)
+                .setReadOnly(true)
+                .setCacheable(true)
+                .setCacheRegion(MenuItem.QUERY_CACHE_REGION)
+                .list();
         }
     }
 
     public MenuItem getMenuItemById(int id) {
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+        try (Metrics.Sample sample = Metrics.start("MenuItemDAO.getMenuItemById");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
             return session.get(MenuItem.class, id);
         }
     }
     
     public boolean saveMenuItem(MenuItem item) {
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+        try (Metrics.Sample sample = Metrics.start("MenuItemDAO.saveMenuItem");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
             Transaction transaction = session.beginTransaction();
             session.saveOrUpdate(item);
             transaction.commit();
+            evictCache(item.getId());
             return true;
         } catch (Exception e) {
             e.printStackTrace();
@@ -33,12 +60,14 @@ public class MenuItemDAO {
     }
     
     public boolean deleteMenuItem(int id) {
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+        try (Metrics.Sample sample = Metrics.start("MenuItemDAO.deleteMenuItem");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
             Transaction transaction = session.beginTransaction();
             MenuItem item = session.get(MenuItem.class, id);
             if (item != null) {
                 session.delete(item);
                 transaction.commit();
+                evictCache(id);
                 return true;
             }
             return false;
@@ -47,4 +76,38 @@ public class MenuItemDAO {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // Hibernate sudah memperbarui cache saat commit; eviction eksplisit menjaga
+    // terminal ini tetap konsisten walau baris diubah lewat jalur lain.
+    // Hanya cache proses ini: terminal lain menunggu after-write region menu
+    // di application.conf
+    private void evictCache(int id) {
+        Cache cache = KoneksiDB.getSessionFactory().getCache();
+        cache.evictEntityData(MenuItem.class, id);
+        cache.evictQueryRegion(MenuItem.QUERY_CACHE_REGION);
+        // Nama dan kategori menu ikut tampil di laporan menu populer
+        ReportCache.invalidateAll();
+    }
+
+    // Varian asynchronous, dijalankan di DbExecutor agar tidak memblokir EDT
+
+    public CompletableFuture<List<MenuItem>> getAllMenuItemsAsync(boolean onlyAvailable) {
+        return DbExecutor.supply(() -> getAllMenuItems(onlyAvailable));
+    }
+
+    public CompletableFuture<List<MenuRow>> getMenuRowsAsync(boolean onlyAvailable) {
+        return DbExecutor.supply(() -> getMenuRows(onlyAvailable));
+    }
+
+    public CompletableFuture<MenuItem> getMenuItemByIdAsync(int id) {
+        return DbExecutor.supply(() -> getMenuItemById(id));
+    }
+
+    public CompletableFuture<Boolean> saveMenuItemAsync(MenuItem item) {
+        return DbExecutor.supply(() -> saveMenuItem(item));
+    }
+
+    public CompletableFuture<Boolean> deleteMenuItemAsync(int id) {
+        return DbExecutor.supply(() -> deleteMenuItem(id));
+    }
+}
@@ -1,43 +1,45 @@
 package com.restaurant;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.util.Arrays;
 import java.util.List;
-import javax.swing.table.DefaultTableCellRenderer;
 
 public class MenuManagementPanel extends JPanel {
     private final MenuItemDAO menuItemDAO = new MenuItemDAO();
     private final JTable menuTable;
-    private final DefaultTableModel tableModel;
+    private final RowTableModel<MenuRow> tableModel;
+    private final JTextField searchField = new JTextField(20);
+    private final MenuSearchIndex searchIndex = new MenuSearchIndex();
+    private final LoadingIndicator loadingIndicator = new LoadingIndicator();
+    private final LatestQuery<List<MenuRow>> menuQuery = new LatestQuery<>(loadingIndicator);
+    private final LatestQuery<MenuItem> itemQuery = new LatestQuery<>(loadingIndicator);
 
     public MenuManagementPanel() {
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Table setup
-        String[] columns = {"ID", "Name", "Price", "Category", "Available", "Action"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 4 || column == 5;
-            }
-
-            @Override
-            public Class<?> getColumnClass(int column) {
-                return column == 4 ? Boolean.class : Object.class;
-            }
-        };
+        // Table setup: raw values in the model, formatting in the renderers
+        FormattingRenderer plainRenderer = FormattingRenderer.plain();
+        tableModel = new RowTableModel<>(Arrays.asList(
+            RowTableModel.Column.<MenuRow, Integer>of("ID", Integer.class, MenuRow::getId).renderer(plainRenderer),
+            RowTableModel.Column.<MenuRow, String>of("Name", String.class, MenuRow::getName).renderer(plainRenderer),
+            RowTableModel.Column.<MenuRow, Money>of("Price", Money.class, MenuRow::getPrice).renderer(FormattingRenderer.money("$")),
+            RowTableModel.Column.<MenuRow, String>of("Category", String.class, MenuRow::getCategory).renderer(plainRenderer),
+            RowTableModel.Column.<MenuRow, Boolean>of("Available", Boolean.class, MenuRow::isAvailable),
+            RowTableModel.Column.<MenuRow, String>of("Action", String.class, row -> "Edit/Delete")
+                .renderer(new ButtonRenderer()).editable()));
 
         menuTable = new JTable(tableModel);
         menuTable.setRowHeight(30);
-        menuTable.getColumnModel().getColumn(5).setCellRenderer(new ButtonRenderer());
+        menuTable.setRowSorter(tableModel.createSorter());
+        ((DefaultRowSorter<?, ?>) menuTable.getRowSorter()).setSortable(5, false);
+        tableModel.installRenderers(menuTable.getColumnModel());
         menuTable.getColumnModel().getColumn(5).setCellEditor(new ButtonEditor(new JCheckBox()));
 
-        for (int i = 0; i < 5; i++) {
-            menuTable.getColumnModel().getColumn(i).setCellRenderer(new CenterRenderer());
-        }
-
         // Top toolbar like ReportPanel
         JPanel toolBar = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
         JButton refreshBtn = new JButton("Refresh");
@@ -48,6 +50,21 @@ public class MenuManagementPanel extends JPanel {
 
         toolBar.add(refreshBtn);
         toolBar.add(addBtn);
+        toolBar.add(new JLabel("Search:"));
+        toolBar.add(searchField);
+        toolBar.add(loadingIndicator);
+
+        // Search runs against the in-memory index, never the database
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { showSearchResults(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { showSearchResults(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { showSearchResults(); }
+        });
 
         add(toolBar, BorderLayout.NORTH);
         add(new JScrollPane(menuTable), BorderLayout.CENTER);
@@ -56,19 +73,20 @@ public class MenuManagementPanel extends JPanel {
     }
 
     private void refreshMenuData() {
-        tableModel.setRowCount(0);
-        List<MenuItem> items = menuItemDAO.getAllMenuItems(false);
-
-        for (MenuItem item : items) {
-            tableModel.addRow(new Object[]{
-                item.getId(),
-                item.getName(),
-                String.format("$%.2f", item.getPrice()),
-                item.getCategory(),
-                item.isAvailable(),
-                "Edit/Delete"
-            });
-        }
+        menuQuery.submit(menuItemDAO.getMenuRowsAsync(false),
+            rows -> {
+                searchIndex.replaceAll(rows);
+                showSearchResults();
+            },
+            e -> JOptionPane.showMessageDialog(this, "Failed to load menu items: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    private void showSearchResults() {
+        showMenuItems(searchIndex.search(searchField.getText()));
+    }
+
+    private void showMenuItems(List<MenuRow> items) {
+        tableModel.setRows(items);
     }
 
     private void showAddEditDialog(MenuItem existingItem) {
@@ -119,17 +137,22 @@ public class MenuManagementPanel extends JPanel {
             try {
                 MenuItem item = existingItem != null ? existingItem : new MenuItem();
                 item.setName(nameField.getText());
-                item.setPrice(Double.parseDouble(priceField.getText()));
+                item.setPrice(Money.parse(priceField.getText()));
                 item.setCategory(categoryField.getText());
                 item.setAvailable(availableCheck.isSelected());
                 item.setDescription(descriptionArea.getText());
 
-                if (menuItemDAO.saveMenuItem(item)) {
-                    refreshMenuData();
-                    dialog.dispose();
-                } else {
-                    JOptionPane.showMessageDialog(dialog, "Failed to save menu item", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                saveBtn.setEnabled(false);
+                menuItemDAO.saveMenuItemAsync(item).whenComplete((saved, error) -> SwingUtilities.invokeLater(() -> {
+                    saveBtn.setEnabled(true);
+                    if (error == null && saved) {
+                        searchIndex.put(new MenuRow(item));
+                        showSearchResults();
+                        dialog.dispose();
+                    } else {
+                        JOptionPane.showMessageDialog(dialog, "Failed to save menu item", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(dialog, "please enter menu properly", "Error", JOptionPane.ERROR_MESSAGE);
             }
@@ -163,11 +186,14 @@ public class MenuManagementPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (menuItemDAO.deleteMenuItem(id)) {
-                refreshMenuData();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete menu item", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            menuItemDAO.deleteMenuItemAsync(id).whenComplete((deleted, error) -> SwingUtilities.invokeLater(() -> {
+                if (error == null && deleted) {
+                    searchIndex.remove(id);
+                    showSearchResults();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to delete menu item", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }));
         }
     }
 
@@ -188,7 +214,15 @@ public class MenuManagementPanel extends JPanel {
             super(checkBox);
             button = new JButton();
             button.setOpaque(true);
-            button.addActionListener(e -> fireEditingStopped());
+            button.addActionListener(e -> {
+                fireEditingStopped();
+                if (button.getText().equals("Edit/Delete")) {
+                    int menuId = tableModel.getRow(menuTable.convertRowIndexToModel(editingRow)).getId();
+                    itemQuery.submit(menuItemDAO.getMenuItemByIdAsync(menuId),
+                        this::showActions,
+                        error -> JOptionPane.showMessageDialog(MenuManagementPanel.this, "Failed to load menu item", "Error", JOptionPane.ERROR_MESSAGE));
+                }
+            });
         }
 
         @Override
@@ -201,35 +235,31 @@ public class MenuManagementPanel extends JPanel {
 
         @Override
         public Object getCellEditorValue() {
-            int menuId = (int) tableModel.getValueAt(editingRow, 0);
-            MenuItem item = menuItemDAO.getMenuItemById(menuId);
-
-            if (button.getText().equals("Edit/Delete")) {
-                int option = JOptionPane.showOptionDialog(
-                    MenuManagementPanel.this,
-                    "Choose action for " + item.getName(),
-                    "Menu Action",
-                    JOptionPane.DEFAULT_OPTION,
-                    JOptionPane.QUESTION_MESSAGE,
-                    null,
-                    new Object[]{"Edit", "Delete", "Cancel"},
-                    "Edit"
-                );
-
-                if (option == 0) {
-                    showAddEditDialog(item);
-                } else if (option == 1) {
-                    deleteMenuItem(item.getId());
-                }
-            }
-
             return button.getText();
         }
-    }
 
-    class CenterRenderer extends DefaultTableCellRenderer {
-        public CenterRenderer() {
-            setHorizontalAlignment(JLabel.CENTER);
+        private void showActions(MenuItem item) {
+            if (item == null) {
+                refreshMenuData();
+                return;
+            }
+
+            int option = JOptionPane.showOptionDialog(
+                MenuManagementPanel.this,
+                "Choose action for " + item.getName(),
+                "Menu Action",
+                JOptionPane.DEFAULT_OPTION,
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                new Object[]{"Edit", "Delete", "Cancel"},
+                "Edit"
+            );
+
+            if (option == 0) {
+                showAddEditDialog(item);
+            } else if (option == 1) {
+                deleteMenuItem(item.getId());
+            }
         }
     }
 }
@@ -0,0 +1,32 @@
+package com.restaurant;
+
+// Baris ringan untuk tabel menu: kolom yang ditampilkan plus deskripsi untuk pencarian
+// (MenuSearchIndex), tanpa gambar
+public class MenuRow {
+    private final int id;
+    private final String name;
+    private final Money price;
+    private final String category;
+    private final boolean available;
+    private final String description;
+
+    public MenuRow(int id, String name, Money price, String category, boolean available, String description) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.category = category;
+        this.available = available;
+        this.description = description;
+    }
+
+    public MenuRow(MenuItem item) {
+        this(item.getId(), item.getName(), item.getPrice(), item.getCategory(), item.isAvailable(), item.getDescription());
+    }
+
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public Money getPrice() { return price; }
+    public String getCategory() { return category; }
+    public boolean isAvailable() { return available; }
+    public String getDescription() { return description; }
+}
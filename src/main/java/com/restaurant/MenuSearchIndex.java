@@ -0,0 +1,240 @@
+package com.restaurant;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+// Index pencarian menu di memori atas nama, kategori dan deskripsi.
+// - Teks dinormalkan: huruf kecil, aksen dibuang (é -> e), selain huruf/angka jadi spasi
+// - Setiap kata query harus cocok (AND): awalan salah satu kata menu ("nas" -> "nasi"),
+//   atau untuk kata >= 3 huruf, potongan di tengah kata lewat index trigram ("oreng")
+// - Menu yang namanya cocok untuk semua kata ditampilkan lebih dulu, lalu urut kategori, nama
+//
+// Setiap menu punya slot tetap; posting list berupa BitSet per slot sehingga AND/OR
+// antar kata hanya operasi bit. put/remove memperbarui index per menu tanpa membangun
+// ulang. Tidak thread-safe: dipakai dari EDT (MenuManagementPanel) saja.
+public class MenuSearchIndex {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<MenuRow> DISPLAY_ORDER = Comparator
+        .comparing((MenuRow row) -> normalize(row.getCategory()))
+        .thenComparing(row -> normalize(row.getName()))
+        .thenComparingInt(MenuRow::getId);
+
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+    private final List<MenuRow> rows = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final BitSet used = new BitSet();
+    private final NavigableMap<String, BitSet> words = new TreeMap<>();
+    private final NavigableMap<String, BitSet> nameWords = new TreeMap<>();
+    private final Map<String, BitSet> trigrams = new HashMap<>();
+    private int[] displayOrder = new int[0];
+    private boolean orderDirty;
+
+    public void replaceAll(Collection<MenuRow> menu) {
+        slotById.clear();
+        rows.clear();
+        texts.clear();
+        used.clear();
+        words.clear();
+        nameWords.clear();
+        trigrams.clear();
+        // Menu kosong tidak memanggil put, jadi urutan lama harus dibuang di sini
+        displayOrder = new int[0];
+        orderDirty = true;
+        for (MenuRow row : menu) {
+            put(row);
+        }
+    }
+
+    // Menambah menu baru atau mengganti isi menu dengan id yang sama
+    public void put(MenuRow row) {
+        Integer slot = slotById.get(row.getId());
+        if (slot != null) {
+            unindex(slot);
+        } else {
+            slot = used.nextClearBit(0);
+            slotById.put(row.getId(), slot);
+            if (slot == rows.size()) {
+                rows.add(null);
+                texts.add(null);
+            }
+        }
+        used.set(slot);
+        rows.set(slot, row);
+
+        String name = normalize(row.getName());
+        String text = name + " " + normalize(row.getCategory()) + " " + normalize(row.getDescription());
+        texts.set(slot, text);
+        for (String word : split(name)) {
+            posting(nameWords, word).set(slot);
+        }
+        for (String word : split(text)) {
+            posting(words, word).set(slot);
+            for (int i = 0; i + 3 <= word.length(); i++) {
+                trigrams.computeIfAbsent(word.substring(i, i + 3), k -> new BitSet()).set(slot);
+            }
+        }
+        orderDirty = true;
+    }
+
+    public boolean remove(int id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        unindex(slot);
+        used.clear(slot);
+        rows.set(slot, null);
+        texts.set(slot, null);
+        orderDirty = true;
+        return true;
+    }
+
+    public int size() {
+        return slotById.size();
+    }
+
+    // Query kosong mengembalikan semua menu dalam urutan tampilan
+    public List<MenuRow> search(String query) {
+        String[] terms = split(normalize(query));
+        List<MenuRow> result = new ArrayList<>();
+        if (terms.length == 0) {
+            for (int slot : displayOrder()) {
+                result.add(rows.get(slot));
+            }
+            return result;
+        }
+
+        BitSet matches = null;
+        BitSet nameMatches = null;
+        for (String term : terms) {
+            BitSet termMatches = match(term);
+            BitSet termNameMatches = union(nameWords, term);
+            if (matches == null) {
+                matches = termMatches;
+                nameMatches = termNameMatches;
+            } else {
+                matches.and(termMatches);
+                nameMatches.and(termNameMatches);
+            }
+            if (matches.isEmpty()) {
+                return result;
+            }
+        }
+
+        int[] order = displayOrder();
+        for (int slot : order) {
+            if (nameMatches.get(slot)) {
+                result.add(rows.get(slot));
+            }
+        }
+        for (int slot : order) {
+            if (matches.get(slot) && !nameMatches.get(slot)) {
+                result.add(rows.get(slot));
+            }
+        }
+        return result;
+    }
+
+    // Awalan kata, atau potongan di tengah kata untuk term >= 3 huruf
+    private BitSet match(String term) {
+        BitSet result = union(words, term);
+        if (term.length() < 3) {
+            return result;
+        }
+        BitSet candidates = null;
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            BitSet posting = trigrams.get(term.substring(i, i + 3));
+            if (posting == null) {
+                return result;
+            }
+            if (candidates == null) {
+                candidates = (BitSet) posting.clone();
+            } else {
+                candidates.and(posting);
+            }
+        }
+        // Trigram hanya menyaring kandidat; urutan hurufnya dicek di teks aslinya
+        candidates.andNot(result);
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            if (texts.get(slot).contains(term)) {
+                result.set(slot);
+            }
+        }
+        return result;
+    }
+
+    private static BitSet union(NavigableMap<String, BitSet> index, String prefix) {
+        BitSet result = new BitSet();
+        for (BitSet posting : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            result.or(posting);
+        }
+        return result;
+    }
+
+    private void unindex(int slot) {
+        String text = texts.get(slot);
+        for (String word : split(normalize(rows.get(slot).getName()))) {
+            clear(nameWords, word, slot);
+        }
+        for (String word : split(text)) {
+            clear(words, word, slot);
+            for (int i = 0; i + 3 <= word.length(); i++) {
+                clear(trigrams, word.substring(i, i + 3), slot);
+            }
+        }
+    }
+
+    private static void clear(Map<String, BitSet> index, String key, int slot) {
+        BitSet posting = index.get(key);
+        if (posting != null) {
+            posting.clear(slot);
+            if (posting.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static BitSet posting(Map<String, BitSet> index, String key) {
+        return index.computeIfAbsent(key, k -> new BitSet());
+    }
+
+    // Diurutkan ulang hanya setelah ada perubahan, bukan setiap pencarian
+    private int[] displayOrder() {
+        if (orderDirty) {
+            List<MenuRow> sorted = new ArrayList<>(slotById.size());
+            for (int slot = used.nextSetBit(0); slot >= 0; slot = used.nextSetBit(slot + 1)) {
+                sorted.add(rows.get(slot));
+            }
+            sorted.sort(DISPLAY_ORDER);
+            displayOrder = new int[sorted.size()];
+            for (int i = 0; i < displayOrder.length; i++) {
+                displayOrder[i] = slotById.get(sorted.get(i).getId());
+            }
+            orderDirty = false;
+        }
+        return displayOrder;
+    }
+
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String[] split(String normalized) {
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+}
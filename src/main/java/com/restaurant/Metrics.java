@@ -0,0 +1,126 @@
+package com.restaurant;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Registry metrik dalam proses: timer (histogram latency + jumlah panggilan) dan counter,
+// dibaca oleh tab Diagnostics dan MBean com.restaurant:type=Diagnostics.
+//
+// Pemakaian di DAO:
+//   try (Metrics.Sample sample = Metrics.start("OrderDAO.saveOrder"); Session session = ...) { ... }
+//
+// Saat nonaktif (metrics.enabled=false atau dimatikan dari tab Diagnostics) start()
+// hanya membaca satu flag volatile dan mengembalikan sample kosong yang sama,
+// tanpa alokasi, System.nanoTime() atau lookup nama.
+public final class Metrics {
+    private static final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Sample NOOP = new Sample(null, 0);
+    private static volatile boolean enabled = true;
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static Sample start(String timer) {
+        return enabled ? new Sample(timer, System.nanoTime()) : NOOP;
+    }
+
+    public static void record(String timer, long nanos) {
+        if (enabled) {
+            timers.computeIfAbsent(timer, name -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    public static void increment(String counter) {
+        if (enabled) {
+            counters.computeIfAbsent(counter, name -> new LongAdder()).increment();
+        }
+    }
+
+    // Timer urut total waktu terbesar dulu
+    public static List<TimerSnapshot> getTimers() {
+        List<TimerSnapshot> result = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> timer : timers.entrySet()) {
+            result.add(new TimerSnapshot(timer.getKey(), timer.getValue()));
+        }
+        result.sort(Comparator.comparingDouble(TimerSnapshot::getTotalMillis).reversed());
+        return result;
+    }
+
+    public static Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            result.put(counter.getKey(), counter.getValue().sum());
+        }
+        return result;
+    }
+
+    public static void reset() {
+        timers.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    // Mengukur dari start() sampai close()
+    public static final class Sample implements AutoCloseable {
+        private final String timer;
+        private final long startNanos;
+
+        private Sample(String timer, long startNanos) {
+            this.timer = timer;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (timer != null) {
+                record(timer, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    // Nilai dalam milidetik; getter dibaca JMX sebagai CompositeData
+    public static final class TimerSnapshot {
+        private final String name;
+        private final long count;
+        private final double p50Millis;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+        private final double totalMillis;
+
+        TimerSnapshot(String name, LatencyHistogram histogram) {
+            this.name = name;
+            this.count = histogram.getCount();
+            this.p50Millis = millis(histogram.getPercentileNanos(50));
+            this.p95Millis = millis(histogram.getPercentileNanos(95));
+            this.p99Millis = millis(histogram.getPercentileNanos(99));
+            this.maxMillis = millis(histogram.getMaxNanos());
+            this.totalMillis = millis(histogram.getTotalNanos());
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public double getP50Millis() { return p50Millis; }
+        public double getP95Millis() { return p95Millis; }
+        public double getP99Millis() { return p99Millis; }
+        public double getMaxMillis() { return maxMillis; }
+        public double getTotalMillis() { return totalMillis; }
+    }
+}
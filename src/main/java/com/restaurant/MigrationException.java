@@ -0,0 +1,12 @@
+package com.restaurant;
+
+// Migrasi skema gagal atau riwayat migrasi tidak cocok dengan skrip yang ada
+public class MigrationException extends RuntimeException {
+    public MigrationException(String message) {
+        super(message);
+    }
+
+    public MigrationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,563 @@
+package com.restaurant;
+
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Menjalankan skrip db/migration/V<versi>__<deskripsi>.sql yang belum tercatat di
+// tabel schema_version, berurutan, masing-masing satu kali. Skrip khusus satu database
+// ada di db/migration/<vendor>/ (mysql, h2). Checksum CRC32 tiap skrip disimpan; skrip
+// yang sudah dijalankan lalu diubah membuat validasi gagal.
+//
+// Skrip harus bisa dijalankan di database lama (dump restaurant_pos.sql atau hasil
+// hbm2ddl update), jadi sebuah statement bisa diberi syarat dengan komentar tepat di atasnya:
+//   -- if-not-exists: column orders.order_type
+//   -- if-exists: index orders.idx_orders_status_created
+// Objek yang didukung: table <tabel>, column <tabel>.<kolom>, index <tabel>.<index>.
+//
+// Catatan MySQL: DDL langsung di-commit, jadi skrip yang gagal di tengah harus
+// dibereskan manual sebelum migrate diulang.
+//
+// Skrip di db/manual/<vendor>/ tidak pernah dijalankan migrate: isinya membangun ulang
+// tabel besar dan hanya dijalankan lewat CLI (mis. partition-orders) di luar jam buka.
+public class MigrationRunner {
+    private static final Logger logger = Logger.getLogger(MigrationRunner.class.getName());
+    static final String LOCATION = "db/migration";
+    static final String MANUAL_LOCATION = "db/manual";
+    static final String HISTORY_TABLE = "schema_version";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern DIRECTIVE = Pattern.compile(
+        "--\\s*(if-exists|if-not-exists):\\s*(table|column|index)\\s+(\\S+)\\s*");
+    private static final String MYSQL_LOCK = "restaurant_pos_migration";
+    // Checksum lama skrip yang setelah dirilis hanya berubah di komentar; riwayat yang
+    // mencatat checksum ini tetap dianggap cocok, bukan CHANGED
+    private static final Map<String, Long> COMMENT_ONLY_CHANGES = Map.of(
+        "V9__orders_client_ref.sql", 1128517648L);
+
+    private final Connection connection;
+    private final String vendor;
+
+    public MigrationRunner(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.vendor = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+    }
+
+    public static class Migration {
+        private final int version;
+        private final String description;
+        private final String script;
+        private final String sql;
+        private final long checksum;
+
+        Migration(int version, String description, String script, String sql) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+            this.sql = sql;
+            this.checksum = checksum(sql);
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+        public String getScript() { return script; }
+        public long getChecksum() { return checksum; }
+
+        boolean matches(long recorded) {
+            return recorded == checksum || Long.valueOf(recorded).equals(COMMENT_ONLY_CHANGES.get(script));
+        }
+    }
+
+    public enum State { APPLIED, PENDING, CHANGED, MISSING }
+
+    public static class MigrationInfo {
+        private final int version;
+        private final String description;
+        private final State state;
+        private final LocalDateTime installedOn;
+
+        MigrationInfo(int version, String description, State state, LocalDateTime installedOn) {
+            this.version = version;
+            this.description = description;
+            this.state = state;
+            this.installedOn = installedOn;
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+        public State getState() { return state; }
+        public LocalDateTime getInstalledOn() { return installedOn; }
+    }
+
+    private static class Applied {
+        final String description;
+        final long checksum;
+        final LocalDateTime installedOn;
+
+        Applied(String description, long checksum, LocalDateTime installedOn) {
+            this.description = description;
+            this.checksum = checksum;
+            this.installedOn = installedOn;
+        }
+    }
+
+    // Menjalankan semua migrasi yang belum tercatat; mengembalikan jumlah skrip yang dijalankan
+    public int migrate() throws SQLException {
+        return inTransaction(this::migrateLocked);
+    }
+
+    private int migrateLocked() throws SQLException {
+        lock();
+        try {
+            createHistoryTable();
+            List<Migration> migrations = findMigrations();
+            Map<Integer, Applied> applied = readHistory();
+            validate(migrations, applied);
+
+            int count = 0;
+            for (Migration migration : migrations) {
+                if (!applied.containsKey(migration.getVersion())) {
+                    apply(migration);
+                    count++;
+                }
+            }
+            if (count > 0) {
+                logger.info(String.format("%d migrasi dijalankan, skema sekarang versi %d",
+                    count, migrations.get(migrations.size() - 1).getVersion()));
+            }
+            return count;
+        } finally {
+            unlock();
+        }
+    }
+
+    // Partisi tahunan tabel orders (db/manual/mysql/partition_orders.sql), hanya MySQL.
+    // Migrasi biasa dijalankan dulu; ditolak selama orders.id masih AUTO_INCREMENT karena
+    // primary key (id, created_at) tidak lagi menjaga id tetap unik. false bila orders
+    // sudah berpartisi.
+    public boolean partitionOrders() throws SQLException {
+        if (!vendor.contains("mysql")) {
+            throw new MigrationException("Partisi orders hanya untuk MySQL");
+        }
+        migrate();
+        return inTransaction(() -> {
+            lock();
+            try {
+                if (autoIncrement("orders", "id")) {
+                    throw new MigrationException("orders.id masih AUTO_INCREMENT, jalankan migrasi V12 dulu");
+                }
+                if (partitioned("orders")) {
+                    logger.info("Tabel orders sudah berpartisi");
+                    return false;
+                }
+                long start = System.nanoTime();
+                try (Statement statement = connection.createStatement()) {
+                    for (ScriptStatement sql : parse(readResource(MANUAL_LOCATION + "/mysql/partition_orders.sql"))) {
+                        statement.execute(sql.sql);
+                    }
+                }
+                connection.commit();
+                logger.info(String.format("Partisi orders selesai dalam %d ms", (System.nanoTime() - start) / 1_000_000));
+                return true;
+            } finally {
+                unlock();
+            }
+        });
+    }
+
+    private boolean autoIncrement(String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+            return rs.next() && "YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT"));
+        }
+    }
+
+    private boolean partitioned(String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    // Gagal bila skrip yang sudah dijalankan berubah
+    public void validate() throws SQLException {
+        inTransaction(() -> {
+            createHistoryTable();
+            validate(findMigrations(), readHistory());
+            return null;
+        });
+    }
+
+    public List<MigrationInfo> info() throws SQLException {
+        return inTransaction(this::readInfo);
+    }
+
+    private List<MigrationInfo> readInfo() throws SQLException {
+        createHistoryTable();
+        Map<Integer, Applied> applied = readHistory();
+        Map<Integer, MigrationInfo> result = new TreeMap<>();
+        for (Migration migration : findMigrations()) {
+            Applied row = applied.get(migration.getVersion());
+            State state = row == null ? State.PENDING
+                : !migration.matches(row.checksum) ? State.CHANGED : State.APPLIED;
+            result.put(migration.getVersion(), new MigrationInfo(migration.getVersion(),
+                migration.getDescription(), state, row != null ? row.installedOn : null));
+        }
+        for (Map.Entry<Integer, Applied> row : applied.entrySet()) {
+            result.putIfAbsent(row.getKey(), new MigrationInfo(row.getKey(),
+                row.getValue().description, State.MISSING, row.getValue().installedOn));
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    private interface SqlWork<T> {
+        T run() throws SQLException;
+    }
+
+    // Setiap skrip di-commit sendiri, jadi autocommit dimatikan selama runner bekerja
+    private <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            return work.run();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void validate(List<Migration> migrations, Map<Integer, Applied> applied) {
+        List<String> changed = new ArrayList<>();
+        for (Migration migration : migrations) {
+            Applied row = applied.get(migration.getVersion());
+            if (row != null && !migration.matches(row.checksum)) {
+                changed.add(migration.getScript());
+            }
+        }
+        if (!changed.isEmpty()) {
+            throw new MigrationException("Skrip migrasi berubah setelah dijalankan: " + changed);
+        }
+    }
+
+    private void apply(Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            for (ScriptStatement sql : parse(migration.sql)) {
+                if (sql.shouldRun(connection)) {
+                    statement.execute(sql.sql);
+                }
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + HISTORY_TABLE +
+                    " (version, description, script, checksum, installed_on, execution_ms) VALUES (?, ?, ?, ?, ?, ?)")) {
+                insert.setInt(1, migration.getVersion());
+                insert.setString(2, migration.getDescription());
+                insert.setString(3, migration.getScript());
+                insert.setLong(4, migration.getChecksum());
+                insert.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                insert.setLong(6, elapsedMs);
+                insert.executeUpdate();
+            }
+            connection.commit();
+            logger.info(String.format("Migrasi %s selesai dalam %d ms", migration.getScript(), elapsedMs));
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new MigrationException("Migrasi " + migration.getScript() + " gagal: " + e.getMessage(), e);
+        }
+    }
+
+    private void createHistoryTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " (" +
+                "version INT NOT NULL, " +
+                "description VARCHAR(200) NOT NULL, " +
+                "script VARCHAR(255) NOT NULL, " +
+                "checksum BIGINT NOT NULL, " +
+                "installed_on TIMESTAMP NOT NULL, " +
+                "execution_ms BIGINT NOT NULL, " +
+                "PRIMARY KEY (version))");
+        }
+        connection.commit();
+    }
+
+    private Map<Integer, Applied> readHistory() throws SQLException {
+        Map<Integer, Applied> applied = new TreeMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT version, description, checksum, installed_on FROM " + HISTORY_TABLE)) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), new Applied(rs.getString(2), rs.getLong(3),
+                    rs.getTimestamp(4).toLocalDateTime()));
+            }
+        }
+        connection.commit();
+        return applied;
+    }
+
+    // Beberapa terminal bisa start bersamaan; di MySQL hanya satu yang boleh migrasi
+    private void lock() throws SQLException {
+        if (!vendor.contains("mysql")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT GET_LOCK('" + MYSQL_LOCK + "', 300)")) {
+            if (!rs.next() || rs.getInt(1) != 1) {
+                throw new MigrationException("Tidak mendapat lock migrasi dalam 300 detik");
+            }
+        }
+    }
+
+    private void unlock() throws SQLException {
+        if (!vendor.contains("mysql")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DO RELEASE_LOCK('" + MYSQL_LOCK + "')");
+        }
+    }
+
+    // ---- Membaca skrip dari classpath ----
+
+    List<Migration> findMigrations() {
+        String vendorLocation = LOCATION + "/" + vendorFolder();
+        Map<Integer, Migration> migrations = new TreeMap<>();
+        for (String location : new String[]{LOCATION, vendorLocation}) {
+            for (String name : listResources(location)) {
+                Matcher matcher = SCRIPT_NAME.matcher(name);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                int version = Integer.parseInt(matcher.group(1));
+                String script = location.substring(LOCATION.length()).replaceFirst("^/", "");
+                script = script.isEmpty() ? name : script + "/" + name;
+                Migration migration = new Migration(version, matcher.group(2).replace('_', ' '),
+                    script, readResource(location + "/" + name));
+                Migration duplicate = migrations.put(version, migration);
+                if (duplicate != null) {
+                    throw new MigrationException("Versi migrasi ganda: " + duplicate.getScript() + " dan " + script);
+                }
+            }
+        }
+        return new ArrayList<>(migrations.values());
+    }
+
+    private String vendorFolder() {
+        if (vendor.contains("mysql")) {
+            return "mysql";
+        }
+        if (vendor.contains("h2")) {
+            return "h2";
+        }
+        return vendor.replaceAll("\\W", "");
+    }
+
+    // Nama file langsung di bawah location, dari direktori maupun jar
+    private static List<String> listResources(String location) {
+        TreeSet<String> names = new TreeSet<>();
+        try {
+            Enumeration<URL> urls = MigrationRunner.class.getClassLoader().getResources(location);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    try (Stream<Path> files = Files.list(Paths.get(url.toURI()))) {
+                        files.filter(Files::isRegularFile).forEach(f -> names.add(f.getFileName().toString()));
+                    }
+                } else if ("jar".equals(url.getProtocol())) {
+                    JarURLConnection jar = (JarURLConnection) url.openConnection();
+                    jar.setUseCaches(false);
+                    try (JarFile file = jar.getJarFile()) {
+                        String prefix = location + "/";
+                        Enumeration<JarEntry> entries = file.entries();
+                        while (entries.hasMoreElements()) {
+                            String entry = entries.nextElement().getName();
+                            if (entry.startsWith(prefix) && entry.indexOf('/', prefix.length()) < 0
+                                    && entry.length() > prefix.length()) {
+                                names.add(entry.substring(prefix.length()));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new MigrationException("Gagal membaca daftar migrasi di " + location, e);
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static String readResource(String name) {
+        try (InputStream in = MigrationRunner.class.getClassLoader().getResourceAsStream(name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new MigrationException("Gagal membaca " + name, e);
+        }
+    }
+
+    // Akhir baris dinormalkan agar checksum sama di Windows dan Linux
+    static long checksum(String sql) {
+        CRC32 crc = new CRC32();
+        crc.update(sql.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    // ---- Memecah skrip menjadi statement ----
+
+    // Statement diakhiri ';' di akhir baris; komentar baris "--" dibuang kecuali direktif
+    static List<ScriptStatement> parse(String script) {
+        List<ScriptStatement> statements = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        String[] condition = null;
+        for (String line : script.replace("\r\n", "\n").split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("--")) {
+                Matcher directive = DIRECTIVE.matcher(trimmed);
+                if (directive.matches() && sql.length() == 0) {
+                    condition = new String[]{directive.group(1), directive.group(2), directive.group(3)};
+                }
+                continue;
+            }
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            sql.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String text = sql.toString().trim();
+                statements.add(new ScriptStatement(text.substring(0, text.length() - 1).trim(), condition));
+                sql.setLength(0);
+                condition = null;
+            }
+        }
+        if (sql.toString().trim().length() > 0) {
+            statements.add(new ScriptStatement(sql.toString().trim(), condition));
+        }
+        return statements;
+    }
+
+    static class ScriptStatement {
+        final String sql;
+        private final String[] condition;
+
+        ScriptStatement(String sql, String[] condition) {
+            this.sql = sql;
+            this.condition = condition;
+        }
+
+        boolean shouldRun(Connection connection) throws SQLException {
+            if (condition == null) {
+                return true;
+            }
+            boolean exists = exists(connection, condition[1], condition[2]);
+            return "if-exists".equals(condition[0]) == exists;
+        }
+    }
+
+    static boolean exists(Connection connection, String type, String name) throws SQLException {
+        String[] parts = name.split("\\.", 2);
+        String table = parts[0];
+        DatabaseMetaData metaData = connection.getMetaData();
+        String catalog = connection.getCatalog();
+        String schema = connection.getSchema();
+        switch (type) {
+            case "table":
+                try (ResultSet rs = metaData.getTables(catalog, schema, null, null)) {
+                    return anyMatch(rs, "TABLE_NAME", table);
+                }
+            case "column":
+                try (ResultSet rs = metaData.getColumns(catalog, schema, table, null)) {
+                    return anyMatch(rs, "COLUMN_NAME", parts[1]);
+                }
+            case "index":
+                try (ResultSet rs = metaData.getIndexInfo(catalog, schema, table, false, true)) {
+                    return anyMatch(rs, "INDEX_NAME", parts[1]);
+                }
+            default:
+                throw new MigrationException("Jenis objek tidak dikenal di direktif migrasi: " + type);
+        }
+    }
+
+    private static boolean anyMatch(ResultSet rs, String column, String expected) throws SQLException {
+        while (rs.next()) {
+            if (expected.equalsIgnoreCase(rs.getString(column))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---- CLI: java -cp ... com.restaurant.MigrationRunner [migrate|info|validate|partition-orders] ----
+
+    public static void main(String[] args) {
+        String command = args.length > 0 ? args[0] : "migrate";
+        StandardServiceRegistry registry = KoneksiDB.buildRegistry();
+        try {
+            ConnectionProvider provider = registry.getService(ConnectionProvider.class);
+            Connection connection = provider.getConnection();
+            try {
+                MigrationRunner runner = new MigrationRunner(connection);
+                switch (command) {
+                    case "migrate":
+                        System.out.println(runner.migrate() + " migrasi dijalankan");
+                        break;
+                    case "validate":
+                        runner.validate();
+                        System.out.println("Riwayat migrasi cocok dengan skrip");
+                        break;
+                    case "partition-orders":
+                        System.out.println(runner.partitionOrders()
+                            ? "Tabel orders sekarang berpartisi" : "Tabel orders sudah berpartisi");
+                        break;
+                    case "info":
+                        for (MigrationInfo info : runner.info()) {
+                            System.out.printf("V%-4d %-8s %-19s %s%n", info.getVersion(), info.getState(),
+                                info.getInstalledOn() != null ? info.getInstalledOn().withNano(0) : "",
+                                info.getDescription());
+                        }
+                        break;
+                    default:
+                        System.err.println("Perintah tidak dikenal: " + command + " (migrate, info, validate, partition-orders)");
+                        System.exit(2);
+                }
+            } finally {
+                provider.closeConnection(connection);
+            }
+        } catch (SQLException | MigrationException e) {
+            System.err.println("Migrasi gagal: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
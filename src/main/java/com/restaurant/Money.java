@@ -0,0 +1,83 @@
+package com.restaurant;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Nilai uang dalam sen (long), dua angka di belakang koma seperti kolom decimal(10,2).
+// Penjumlahan dan perkalian eksak; overflow melempar ArithmeticException, bukan
+// diam-diam membulatkan seperti double.
+// Serializable karena ikut tersimpan di query cache (MenuRow).
+public final class Money implements Comparable<Money>, Serializable {
+    private static final long serialVersionUID = 1L;
+    public static final Money ZERO = new Money(0);
+    public static final int SCALE = 2;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    // Dari kolom DECIMAL; nilai dengan lebih dari dua desimal dibulatkan HALF_UP
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    // Untuk input pengguna: lebih dari dua desimal ditolak
+    public static Money parse(String text) {
+        BigDecimal amount = new BigDecimal(text.trim());
+        if (amount.stripTrailingZeros().scale() > SCALE) {
+            throw new NumberFormatException("Maksimal " + SCALE + " angka desimal: " + text);
+        }
+        return of(amount);
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, (long) quantity));
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    // Selalu dua desimal dengan titik, mis. "12.50" atau "-0.05"
+    @Override
+    public String toString() {
+        long units = cents / 100;
+        long fraction = Math.abs(cents % 100);
+        String sign = cents < 0 && units == 0 ? "-" : "";
+        return sign + units + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
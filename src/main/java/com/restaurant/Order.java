@@ -7,12 +7,28 @@ import java.util.List;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(name = Order.GRAPH_LIST, attributeNodes = @NamedAttributeNode("items"))
+@NamedEntityGraph(name = Order.GRAPH_DETAIL,
+    attributeNodes = @NamedAttributeNode(value = "items", subgraph = "items"),
+    subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("menuItem")))
 public class Order {
+    // Entity graph per use case, dipakai lewat hint javax.persistence.fetchgraph:
+    // daftar order memuat items saja, dialog detail juga menu tiap item
+    public static final String GRAPH_LIST = "Order.list";
+    public static final String GRAPH_DETAIL = "Order.detail";
+
+    // Id dari tabel id_generator (pooled-lo, blok 50) supaya insert bisa di-batch JDBC;
+    // IDENTITY membuat Hibernate mematikan batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id")
+    @TableGenerator(name = "order_id", table = "id_generator",
+        pkColumnName = "sequence_name", valueColumnName = "next_val",
+        pkColumnValue = "orders", allocationSize = 50)
     private int id;
     
-    private double total;
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 10, scale = 2)
+    private Money total = Money.ZERO;
     private String status = "pending";
     
     @Column(name = "order_type")
@@ -21,14 +37,24 @@ public class Order {
     @Column(name = "payment_method")
     private String paymentMethod; // "CASH" or "BCA"
     
-    @Column(name = "admin_fee")
-    private double adminFee;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "admin_fee", precision = 10, scale = 2)
+    private Money adminFee = Money.ZERO;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // UUID dari terminal untuk order yang lewat jurnal (OrderWriteBehind); null untuk yang lain
+    @Column(name = "client_ref", length = 36, updatable = false)
+    private String clientRef;
+
+    // Dinaikkan setiap update; simpan dari salinan lama gagal alih-alih menimpa perubahan terminal lain
+    @Version
+    @Column(name = "version", nullable = false)
+    private int version;
     
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
@@ -38,11 +64,17 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Dijumlahkan langsung dalam sen tanpa stream, boxing, atau Money perantara per item.
+    // total dan updatedAt hanya diganti bila jumlahnya memang berubah.
     public void calculateTotal() {
-        this.total = items.stream()
-            .mapToDouble(item -> item.getPriceAtOrder() * item.getQuantity())
-            .sum();
-        this.updatedAt = LocalDateTime.now();
+        long cents = 0;
+        for (int i = 0, n = items.size(); i < n; i++) {
+            cents = Math.addExact(cents, items.get(i).getSubtotalCents());
+        }
+        if (cents != total.getCents()) {
+            this.total = Money.ofCents(cents);
+            this.updatedAt = LocalDateTime.now();
+        }
     }
     
     public void addItem(OrderItem item) {
@@ -53,16 +85,18 @@ public class Order {
 
     // Getters and Setters
     public int getId() { return id; }
-    public double getTotal() { return total; }
+    public Money getTotal() { return total; }
     public String getStatus() { return status; }
     public String getOrderType() { return orderType; }
     public String getPaymentMethod() { return paymentMethod; }
-    public double getAdminFee() { return adminFee; }
+    public Money getAdminFee() { return adminFee; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public int getVersion() { return version; }
+    public String getClientRef() { return clientRef; }
     public List<OrderItem> getItems() { return items; }
 
-    public void setTotal(double total) { 
+    public void setTotal(Money total) { 
         this.total = total; 
         this.updatedAt = LocalDateTime.now();
     }
@@ -78,7 +112,12 @@ public class Order {
         this.paymentMethod = paymentMethod; 
         this.updatedAt = LocalDateTime.now();
     }
-    public void setAdminFee(double adminFee) { 
+    public void setClientRef(String clientRef) { this.clientRef = clientRef; }
+
+    // Hanya untuk order yang dibaca ulang dari jurnal: waktu dibuat di terminal, bukan saat replay
+    void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public void setAdminFee(Money adminFee) { 
         this.adminFee = adminFee; 
         this.updatedAt = LocalDateTime.now();
     }
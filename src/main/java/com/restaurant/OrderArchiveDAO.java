@@ -0,0 +1,85 @@
+package com.restaurant;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Memindahkan order lama dari orders/order_items ke orders_archive/order_items_archive.
+// Satu potongan = satu transaksi: salin ke arsip lalu hapus dari tabel asal, jadi setelah
+// commit sebuah order ada di tepat satu tempat. Rollup harian tidak berubah karena
+// dihitung dari kedua tabel (lihat SalesRollupDAO).
+public class OrderArchiveDAO {
+    private static final String ORDER_COLUMNS =
+        "id, total, status, order_type, payment_method, admin_fee, created_at, updated_at, version, client_ref";
+    private static final String ITEM_COLUMNS =
+        "id, order_id, menu_item_id, quantity, price_at_order, created_at";
+
+    // Paling banyak chunkSize order berstatus salah satu statuses yang dibuat sebelum
+    // cutoff, terlama dulu. Mengembalikan id order yang dipindah; kosong bila sudah habis.
+    public List<Integer> archiveChunk(LocalDateTime cutoff, Collection<String> statuses, int chunkSize) {
+        List<Integer> ids;
+        try (Metrics.Sample sample = Metrics.start("OrderArchiveDAO.archiveChunk");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                ids = session.createQuery(
+                        "SELECT o.id FROM Order o WHERE o.createdAt < :cutoff AND o.status IN (:statuses) " +
+                        "ORDER BY o.createdAt, o.id", Integer.class)
+                    .setParameter("cutoff", cutoff)
+                    .setParameterList("statuses", statuses)
+                    .setMaxResults(chunkSize)
+                    .list();
+                if (ids.isEmpty()) {
+                    transaction.commit();
+                    return Collections.emptyList();
+                }
+
+                // created_at < cutoff ikut di setiap statement supaya MySQL hanya membuka
+                // partisi lama; status dicek ulang untuk order yang baru saja diubah
+                int orders = update(session, "orders_archive",
+                    "INSERT INTO orders_archive (" + ORDER_COLUMNS + ") SELECT " + ORDER_COLUMNS +
+                    " FROM orders WHERE id IN (:ids) AND created_at < :cutoff AND status IN (:statuses)",
+                    ids, cutoff, statuses);
+                int items = update(session, "order_items_archive",
+                    "INSERT INTO order_items_archive (" + ITEM_COLUMNS + ") SELECT " + ITEM_COLUMNS +
+                    " FROM order_items WHERE order_id IN (:ids)",
+                    ids, null, null);
+                int deletedItems = update(session, "order_items",
+                    "DELETE FROM order_items WHERE order_id IN (:ids)",
+                    ids, null, null);
+                int deletedOrders = update(session, "orders",
+                    "DELETE FROM orders WHERE id IN (:ids) AND created_at < :cutoff AND status IN (:statuses)",
+                    ids, cutoff, statuses);
+                if (orders != ids.size() || deletedOrders != orders || deletedItems != items) {
+                    throw new IllegalStateException("Order berubah selagi diarsipkan, potongan dibatalkan");
+                }
+                transaction.commit();
+                KoneksiDB.markWrite();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+        OrderEvents.fireDeleted(ids);
+        return ids;
+    }
+
+    private static int update(Session session, String table, String sql,
+                              List<Integer> ids, LocalDateTime cutoff, Collection<String> statuses) {
+        NativeQuery<?> query = session.createNativeQuery(sql)
+            .addSynchronizedQuerySpace(table)
+            .setParameterList("ids", ids);
+        if (cutoff != null) {
+            query.setParameter("cutoff", cutoff);
+        }
+        if (statuses != null) {
+            query.setParameterList("statuses", statuses);
+        }
+        return query.executeUpdate();
+    }
+}
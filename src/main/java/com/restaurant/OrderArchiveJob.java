@@ -0,0 +1,119 @@
+package com.restaurant;
+
+import org.hibernate.Session;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Job latar belakang pengarsipan order (archive.* di db.properties):
+// - tiap archive.intervalMinutes memindah order berstatus archive.statuses yang dibuat
+//   lebih dari archive.afterDays hari lalu ke tabel arsip, archive.chunkSize order per
+//   transaksi (OrderArchiveDAO), sehingga orders/order_items hanya berisi order terbaru
+// - di MySQL dengan archive.monthlyPartitions=true, partisi bulanan orders disiapkan
+//   dan partisi lama yang sudah kosong dibuang (OrderPartitions)
+// Setiap putaran memegang JobLock, jadi hanya satu terminal yang mengarsipkan dan mengubah
+// partisi pada satu waktu; terminal lain melewati putarannya.
+public class OrderArchiveJob {
+    private static final Logger logger = Logger.getLogger(OrderArchiveJob.class.getName());
+    private static final String LOCK = "order_archive";
+
+    private final OrderArchiveDAO archiveDAO = new OrderArchiveDAO();
+    private final boolean enabled;
+    private final int afterDays;
+    private final int chunkSize;
+    private final int intervalMinutes;
+    private final List<String> statuses = new ArrayList<>();
+    private final boolean monthlyPartitions;
+    private final int partitionMonthsAhead;
+    private ScheduledExecutorService scheduler;
+
+    public OrderArchiveJob() {
+        this.enabled = Boolean.parseBoolean(KoneksiDB.getSetting("archive.enabled", "true").trim());
+        this.afterDays = KoneksiDB.getIntSetting("archive.afterDays", 90);
+        this.chunkSize = KoneksiDB.getIntSetting("archive.chunkSize", 500);
+        this.intervalMinutes = KoneksiDB.getIntSetting("archive.intervalMinutes", 60);
+        for (String status : KoneksiDB.getSetting("archive.statuses", "completed,cancelled").split(",")) {
+            if (!status.trim().isEmpty()) {
+                statuses.add(status.trim());
+            }
+        }
+        this.monthlyPartitions = Boolean.parseBoolean(KoneksiDB.getSetting("archive.monthlyPartitions", "false").trim());
+        this.partitionMonthsAhead = KoneksiDB.getIntSetting("archive.partitionMonthsAhead", 3);
+    }
+
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Tidak langsung saat start, supaya tidak berebut database dengan backfill rollup
+        scheduler.scheduleWithFixedDelay(this::run, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    void run() {
+        try {
+            if (!JobLock.runExclusive(LOCK, this::archiveAndMaintain)) {
+                logger.fine("Arsip order sedang dijalankan terminal lain, putaran dilewati");
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Gagal mengambil lock arsip order", e);
+        }
+    }
+
+    private void archiveAndMaintain() {
+        // Batas selalu awal hari, jadi satu hari tidak terbelah antara tabel live dan arsip
+        LocalDate cutoff = LocalDate.now().minusDays(afterDays);
+        try {
+            archive(cutoff.atStartOfDay());
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Gagal mengarsipkan order", e);
+        }
+        if (monthlyPartitions) {
+            try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+                OrderPartitions.maintain(session, YearMonth.now(), partitionMonthsAhead, YearMonth.from(cutoff));
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Gagal memelihara partisi orders", e);
+            }
+        }
+    }
+
+    // Mengembalikan jumlah order yang dipindah; berhenti di antara potongan bila job dihentikan
+    int archive(LocalDateTime cutoff) {
+        if (statuses.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        int archived = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            int moved = archiveDAO.archiveChunk(cutoff, statuses, chunkSize).size();
+            archived += moved;
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            logger.info(String.format("%d order sebelum %s diarsipkan dalam %d ms",
+                archived, cutoff.toLocalDate(), (System.nanoTime() - start) / 1_000_000));
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,29 @@
+package com.restaurant;
+
+// Ringkasan hasil OrderDAO.saveOrders: jumlah baris dan kecepatan impor
+public class OrderBatchResult {
+    private final int orderCount;
+    private final int itemCount;
+    private final long elapsedNanos;
+
+    public OrderBatchResult(int orderCount, int itemCount, long elapsedNanos) {
+        this.orderCount = orderCount;
+        this.itemCount = itemCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getOrderCount() { return orderCount; }
+    public int getItemCount() { return itemCount; }
+    public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+    // Order dan item dihitung bersama sebagai baris yang ditulis
+    public double getRowsPerSecond() {
+        return elapsedNanos > 0 ? (orderCount + itemCount) * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d order, %d item dalam %d ms (%.0f baris/detik)",
+            orderCount, itemCount, getElapsedMillis(), getRowsPerSecond());
+    }
+}
@@ -0,0 +1,256 @@
+package com.restaurant;
+
+import javax.swing.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Sumber perubahan untuk mode live tabel order:
+// - event OrderDAO dari proses ini langsung diterapkan ke tabel
+// - polling orders.updated_at menangkap perubahan dari terminal/kiosk lain lewat cursor
+//   keyset (updatedAt, id): setiap baris dibaca sekali, juga ratusan baris dengan
+//   updated_at yang sama dari ubah status massal. Lebih dari MAX_CHANGES sekaligus berarti
+//   tabel di-resync dan cursor dipindah ke perubahan terbaru.
+// - updated_at diisi sebelum commit, jadi transaksi yang commit terlambat bisa bertanda
+//   waktu sebelum cursor. Selama SETTLE_NANOS setelah cursor bergerak, id + updated_at di
+//   jendela OVERLAP_SECONDS sebelum cursor dibandingkan dengan yang sudah diterapkan;
+//   hanya yang berbeda dimuat.
+// - order yang dihapus terminal lain (OrderArchiveJob) tidak terlihat di updated_at, jadi
+//   tiap orders.liveCountCheckSeconds jumlah order dibandingkan dengan tabel; bila berbeda,
+//   tabel di-resync.
+public class OrderChangeFeed implements OrderEvents.Listener {
+    private static final Logger logger = Logger.getLogger(OrderChangeFeed.class.getName());
+    private static final int OVERLAP_SECONDS = 5;
+    private static final long SETTLE_NANOS = TimeUnit.SECONDS.toNanos(2 * OVERLAP_SECONDS);
+    private static final int MAX_CHANGES = 500;
+    // Cursor sebelum order pertama ada
+    private static final LocalDateTime NO_CHANGES = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final OrderDAO orderDAO;
+    private final OrderTableModel tableModel;
+    private final Timer timer;
+    private final long countCheckNanos;
+
+    // Posisi keyset perubahan terakhir yang sudah diterapkan; null sampai start selesai
+    private LocalDateTime cursorAt;
+    private int cursorId;
+    private long cursorMovedAt;
+    // id -> updatedAt baris di jendela overlap yang sudah tercermin di tabel
+    private Map<Integer, LocalDateTime> recent = new HashMap<>();
+    private long lastCountCheck;
+    // Dinaikkan setiap tabel diubah feed, supaya hasil hitung yang tersusul diabaikan
+    private int applied;
+    // Dinaikkan setiap start, supaya hasil polling sebelum stop diabaikan
+    private int session;
+    private boolean polling;
+    private boolean running;
+
+    public OrderChangeFeed(OrderDAO orderDAO, OrderTableModel tableModel) {
+        this.orderDAO = orderDAO;
+        this.tableModel = tableModel;
+        int seconds = KoneksiDB.getIntSetting("orders.livePollSeconds", 5);
+        this.countCheckNanos = TimeUnit.SECONDS.toNanos(KoneksiDB.getIntSetting("orders.liveCountCheckSeconds", 60));
+        this.timer = new Timer(seconds * 1000, e -> poll());
+    }
+
+    // start/stop dipanggil dari EDT
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        session++;
+        polling = false;
+        cursorAt = null;
+        recent = new HashMap<>();
+        OrderEvents.addListener(this);
+        timer.start();
+        poll();
+    }
+
+    public void stop() {
+        running = false;
+        OrderEvents.removeListener(this);
+        timer.stop();
+    }
+
+    // Hasil satu putaran polling, disusun di DbExecutor dan diterapkan di EDT
+    private static final class Changes {
+        List<OrderSummaryRow> rows = Collections.emptyList();
+        List<OrderSummaryRow> late = Collections.emptyList();
+        Long count;
+        // Diisi bila cursor dipindah ke perubahan terbaru (start atau resync)
+        boolean moveCursor;
+        boolean resync;
+        LocalDateTime latestAt;
+        int latestId;
+        Map<Integer, LocalDateTime> window = Collections.emptyMap();
+    }
+
+    // Dipanggil timer; package-private untuk test
+    void poll() {
+        if (polling || !running) {
+            return;
+        }
+        polling = true;
+        long now = System.nanoTime();
+        LocalDateTime fromAt = cursorAt;
+        int fromId = cursorId;
+        Map<Integer, LocalDateTime> known = new HashMap<>(recent);
+        boolean checkWindow = fromAt != null && now - cursorMovedAt < SETTLE_NANOS;
+        boolean checkCount = fromAt != null && now - lastCountCheck >= countCheckNanos;
+        String status = tableModel.getStatus();
+        int pollSession = session;
+        int pollApplied = applied;
+
+        DbExecutor.supply(() -> fetch(fromAt, fromId, known, checkWindow, checkCount, status))
+            .whenComplete((changes, error) -> SwingUtilities.invokeLater(() -> {
+                if (pollSession != session) {
+                    return;
+                }
+                polling = false;
+                if (error != null) {
+                    logger.log(Level.WARNING, "Gagal membaca perubahan order", error);
+                } else if (running) {
+                    apply(changes, pollApplied == applied);
+                }
+            }));
+    }
+
+    boolean isPolling() {
+        return polling;
+    }
+
+    // Tanpa state UI; berjalan di DbExecutor
+    private Changes fetch(LocalDateTime fromAt, int fromId, Map<Integer, LocalDateTime> known,
+                          boolean checkWindow, boolean checkCount, String status) {
+        Changes changes = new Changes();
+        if (fromAt == null) {
+            moveToLatest(changes);
+            return changes;
+        }
+        changes.rows = orderDAO.getOrdersUpdatedAfter(fromAt, fromId, MAX_CHANGES);
+        if (changes.rows.size() == MAX_CHANGES) {
+            changes.resync = true;
+            moveToLatest(changes);
+            return changes;
+        }
+        if (checkWindow) {
+            List<Integer> late = new ArrayList<>();
+            for (Map.Entry<Integer, LocalDateTime> entry :
+                    orderDAO.getUpdatedIds(fromAt.minusSeconds(OVERLAP_SECONDS), fromAt, fromId).entrySet()) {
+                if (!entry.getValue().equals(known.get(entry.getKey()))) {
+                    late.add(entry.getKey());
+                }
+            }
+            if (late.size() > MAX_CHANGES) {
+                changes.resync = true;
+                moveToLatest(changes);
+                return changes;
+            }
+            changes.late = orderDAO.getOrderSummariesByIds(late);
+        }
+        if (checkCount) {
+            changes.count = orderDAO.countOrders(status);
+        }
+        return changes;
+    }
+
+    // Cursor ke perubahan terbaru; baris di jendela overlap-nya dianggap sudah tercermin
+    // (start: tabel baru dimuat, resync: tabel dimuat ulang setelah ini)
+    private void moveToLatest(Changes changes) {
+        changes.moveCursor = true;
+        OrderSummaryRow latest = orderDAO.getLatestChange();
+        if (latest == null) {
+            changes.latestAt = NO_CHANGES;
+            return;
+        }
+        changes.latestAt = latest.getUpdatedAt();
+        changes.latestId = latest.getId();
+        changes.window = orderDAO.getUpdatedIds(
+            changes.latestAt.minusSeconds(OVERLAP_SECONDS), changes.latestAt, changes.latestId);
+    }
+
+    private void apply(Changes changes, boolean countIsCurrent) {
+        long now = System.nanoTime();
+        if (changes.moveCursor) {
+            if (changes.resync) {
+                tableModel.resync();
+                applied++;
+            }
+            cursorAt = changes.latestAt;
+            cursorId = changes.latestId;
+            cursorMovedAt = now;
+            recent = new HashMap<>(changes.window);
+            lastCountCheck = now;
+            return;
+        }
+
+        List<OrderSummaryRow> rows = new ArrayList<>(changes.late);
+        rows.addAll(changes.rows);
+        if (!rows.isEmpty()) {
+            tableModel.applyChanges(rows);
+            applied++;
+            for (OrderSummaryRow row : rows) {
+                recent.put(row.getId(), row.getUpdatedAt());
+            }
+        }
+        if (!changes.rows.isEmpty()) {
+            OrderSummaryRow last = changes.rows.get(changes.rows.size() - 1);
+            cursorAt = last.getUpdatedAt();
+            cursorId = last.getId();
+            cursorMovedAt = now;
+        }
+        LocalDateTime forgetBefore = cursorAt.minusSeconds(OVERLAP_SECONDS);
+        recent.values().removeIf(updatedAt -> !updatedAt.isAfter(forgetBefore));
+
+        if (changes.count != null) {
+            lastCountCheck = now;
+            if (countIsCurrent && changes.count != tableModel.getRowCount()) {
+                logger.fine("Jumlah order berbeda dengan tabel (mis. diarsipkan terminal lain), tabel di-resync");
+                tableModel.resync();
+                applied++;
+            }
+        }
+    }
+
+    @Override
+    public void ordersChanged(Collection<Integer> orderIds) {
+        if (orderIds.size() > MAX_CHANGES) {
+            SwingUtilities.invokeLater(() -> {
+                if (running) {
+                    tableModel.resync();
+                    applied++;
+                }
+            });
+            return;
+        }
+        orderDAO.getOrderSummariesByIdsAsync(new ArrayList<>(orderIds))
+            .whenComplete((rows, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    logger.log(Level.WARNING, "Gagal memuat order yang berubah", error);
+                } else if (running) {
+                    tableModel.applyChanges(rows);
+                    applied++;
+                }
+            }));
+    }
+
+    @Override
+    public void ordersDeleted(Collection<Integer> orderIds) {
+        List<Integer> ids = new ArrayList<>(orderIds);
+        SwingUtilities.invokeLater(() -> {
+            if (running) {
+                tableModel.applyDeletes(ids);
+                applied++;
+            }
+        });
+    }
+}
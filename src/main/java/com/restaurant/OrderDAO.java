@@ -1,26 +1,56 @@
 package com.restaurant;
 
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.hibernate.type.BigDecimalType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LocalDateTimeType;
+import org.hibernate.type.StringType;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class OrderDAO {
     private static final Logger logger = Logger.getLogger(OrderDAO.class.getName());
+    private static final int MAX_IN_LIST = 1000;
+    private static final String SUMMARY_SELECT =
+        "SELECT new com.restaurant.OrderSummaryRow(" +
+        "o.id, o.total, o.status, o.orderType, o.paymentMethod, o.adminFee, o.createdAt, o.updatedAt, o.version) " +
+        "FROM Order o ";
 
     public boolean saveOrder(Order order) {
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.saveOrder");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
             Transaction transaction = session.beginTransaction();
             try {
                 order.calculateTotal();
+                // Item ikut tersimpan lewat cascade pada Order.items
                 session.saveOrUpdate(order);
-
-                for (OrderItem item : order.getItems()) {
-                    session.saveOrUpdate(item);
-                }
-
                 transaction.commit();
+                // Baca berikutnya ke primary sampai replika menyusul
+                KoneksiDB.markWrite();
+                // Rollup harian dihitung ulang setelah commit, di luar transaksi order
+                SalesRollupJob.ordersChanged(Collections.singletonList(order.getId()));
+                OrderEvents.fireChanged(Collections.singletonList(order.getId()));
                 return true;
             } catch (Exception e) {
                 if (transaction != null) transaction.rollback();
@@ -31,37 +61,521 @@ public class OrderDAO {
             return false;
         }
     }
-    
+
+    // Ganti status satu order dengan satu UPDATE ... WHERE id = ? AND version = ?, tanpa
+    // memuat atau menyimpan ulang order dan item-itemnya. false berarti order sudah diubah
+    // (atau dihapus) oleh terminal lain sejak expectedVersion dibaca; tidak ada yang ditulis.
+    public boolean updateStatus(int orderId, int expectedVersion, String newStatus) {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.updateStatus");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                int updated = session.createQuery(
+                    "UPDATE Order o SET o.status = :status, o.version = o.version + 1, o.updatedAt = :now " +
+                    "WHERE o.id = :id AND o.version = :version")
+                    .setParameter("status", newStatus)
+                    .setParameter("now", LocalDateTime.now())
+                    .setParameter("id", orderId)
+                    .setParameter("version", expectedVersion)
+                    .executeUpdate();
+                if (updated == 0) {
+                    Metrics.increment("OrderDAO.updateStatus.conflict");
+                    transaction.rollback();
+                    return false;
+                }
+                transaction.commit();
+                KoneksiDB.markWrite();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+        // Status ikut dikelompokkan di rollup harian
+        SalesRollupJob.ordersChanged(Collections.singletonList(orderId));
+        OrderEvents.fireChanged(Collections.singletonList(orderId));
+        return true;
+    }
+
+    // Ganti status banyak order sekaligus (mis. tutup layanan: semua pending jadi completed).
+    // expectedVersions berisi id -> versi saat baris dimuat (OrderSummaryRow.getVersion).
+    // Satu transaksi, UPDATE ... WHERE id = ? AND version = ? dikirim sebagai batch JDBC per
+    // potongan MAX_IN_LIST, sama seperti updateStatus: order yang sudah diubah terminal lain
+    // sejak dimuat tidak ditimpa, tetapi dilaporkan sebagai konflik. Order yang sudah
+    // berstatus newStatus dilewati. Versi ikut dinaikkan sehingga dialog detail yang masih
+    // terbuka di terminal lain mendapat konflik.
+    public OrderStatusResult updateStatusBulk(Map<Integer, Integer> expectedVersions, String newStatus) {
+        List<Integer> ids = new ArrayList<>(expectedVersions.keySet());
+        List<Integer> changed = new ArrayList<>();
+        List<Integer> unchanged = new ArrayList<>();
+        List<Integer> conflicts = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return new OrderStatusResult(changed, unchanged, conflicts);
+        }
+        long start = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.updateStatusBulk");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+                    List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST, ids.size()));
+                    int[] counts = session.doReturningWork(connection -> {
+                        try (PreparedStatement update = connection.prepareStatement(
+                                "UPDATE orders SET status = ?, version = version + 1, updated_at = ? " +
+                                "WHERE id = ? AND version = ? AND (status IS NULL OR status <> ?)")) {
+                            for (Integer id : chunk) {
+                                update.setString(1, newStatus);
+                                update.setTimestamp(2, now);
+                                update.setInt(3, id);
+                                update.setInt(4, expectedVersions.get(id));
+                                update.setString(5, newStatus);
+                                update.addBatch();
+                            }
+                            return update.executeBatch();
+                        }
+                    });
+
+                    // Baris yang tidak berubah dibaca ulang: sudah berstatus tujuan, atau konflik.
+                    // Driver yang menjawab SUCCESS_NO_INFO juga dicek: versi naik satu dengan
+                    // status tujuan berarti UPDATE ini yang mengubahnya.
+                    List<Integer> missed = new ArrayList<>();
+                    Set<Integer> noInfo = new HashSet<>();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (counts[i] > 0) {
+                            changed.add(chunk.get(i));
+                        } else {
+                            missed.add(chunk.get(i));
+                            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                                noInfo.add(chunk.get(i));
+                            }
+                        }
+                    }
+                    if (missed.isEmpty()) {
+                        continue;
+                    }
+                    Map<Integer, Object[]> current = new HashMap<>();
+                    for (Object[] row : session.createQuery(
+                            "SELECT o.id, o.status, o.version FROM Order o WHERE o.id IN (:ids)", Object[].class)
+                            .setParameterList("ids", missed)
+                            .list()) {
+                        current.put((Integer) row[0], row);
+                    }
+                    for (Integer id : missed) {
+                        Object[] row = current.get(id);
+                        if (row == null || !newStatus.equals(row[1])) {
+                            conflicts.add(id);
+                        } else if (noInfo.contains(id) && (Integer) row[2] == expectedVersions.get(id) + 1) {
+                            changed.add(id);
+                        } else {
+                            unchanged.add(id);
+                        }
+                    }
+                }
+
+                transaction.commit();
+                KoneksiDB.markWrite();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+
+        for (int i = 0; i < conflicts.size(); i++) {
+            Metrics.increment("OrderDAO.updateStatus.conflict");
+        }
+        SalesRollupJob.ordersChanged(changed);
+        OrderEvents.fireChanged(changed);
+        OrderStatusResult result = new OrderStatusResult(changed, unchanged, conflicts);
+        logger.info(String.format("Status %d order menjadi %s: %s dalam %d ms",
+            ids.size(), newStatus, result, (System.nanoTime() - start) / 1_000_000));
+        return result;
+    }
+
+    // Impor banyak order sekaligus (mis. rekap akhir hari dari tablet). Semua order
+    // disimpan dalam satu session dan satu transaksi; setiap batch_size order session
+    // di-flush lalu di-clear supaya insert order/order_items terkirim sebagai batch JDBC
+    // dan memori tidak terus bertambah. Gagal satu berarti semuanya di-rollback.
+    public OrderBatchResult saveOrders(Collection<Order> orders) {
+        int batchSize = Math.max(1, KoneksiDB.getSessionFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getSessionFactoryOptions().getJdbcBatchSize());
+        long start = System.nanoTime();
+        int itemCount = 0;
+        List<Integer> orderIds = new ArrayList<>(orders.size());
+
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.saveOrders");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction transaction = session.beginTransaction();
+            try {
+                for (Order order : orders) {
+                    order.calculateTotal();
+                    session.saveOrUpdate(order);
+                    orderIds.add(order.getId());
+                    itemCount += order.getItems().size();
+
+                    if (orderIds.size() % batchSize == 0) {
+                        session.flush();
+                        session.clear();
+                    }
+                }
+                transaction.commit();
+                KoneksiDB.markWrite();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+
+        // Rollup dihitung ulang sekali per hari yang tersentuh, bukan per batch
+        SalesRollupJob.ordersChanged(orderIds);
+        OrderEvents.fireChanged(orderIds);
+
+        OrderBatchResult result = new OrderBatchResult(orderIds.size(), itemCount, System.nanoTime() - start);
+        logger.info("Impor order selesai: " + result);
+        return result;
+    }
+
+    // Simpan lewat jurnal lokal bila OrderWriteBehind aktif: kembali setelah order tercatat
+    // di disk, tanpa menunggu database; id order baru terisi setelah flusher mengirimnya.
+    // Tanpa jurnal (atau bila record gagal ditulis ke jurnal) sama dengan saveOrder.
+    public boolean saveOrderWriteBehind(Order order) {
+        OrderWriteBehind writeBehind = OrderWriteBehind.getCurrent();
+        if (writeBehind != null) {
+            try {
+                writeBehind.save(order);
+                return true;
+            } catch (OrderJournal.NotSyncedException e) {
+                // Record sudah di antrean jurnal dan tetap dikirim flusher; saveOrder di sini
+                // akan membuat order yang sama dua kali
+                logger.log(Level.SEVERE, "Order tercatat di jurnal tapi fsync gagal, belum tahan crash OS", e);
+                return true;
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Jurnal order gagal ditulis, disimpan langsung ke database", e);
+            }
+        }
+        return saveOrder(order);
+    }
+
+    // Dipanggil flusher OrderWriteBehind dengan record jurnal sesuai urutan. Idempoten lewat
+    // client_ref: order yang sudah ada (batch sebelumnya commit tapi checkpoint belum
+    // tertulis saat crash) dilewati. Exception diteruskan supaya flusher bisa mencoba lagi.
+    public List<Integer> replayJournal(List<byte[]> records) {
+        List<Integer> saved = new ArrayList<>();
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.replayJournal");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                List<Order> orders = new ArrayList<>(records.size());
+                List<String> refs = new ArrayList<>(records.size());
+                for (byte[] record : records) {
+                    Order order = OrderWriteBehind.decode(record, id -> session.load(MenuItem.class, id));
+                    orders.add(order);
+                    refs.add(order.getClientRef());
+                }
+                Set<String> existing = new HashSet<>(session.createQuery(
+                    "SELECT o.clientRef FROM Order o WHERE o.clientRef IN (:refs)", String.class)
+                    .setParameterList("refs", refs)
+                    .list());
+
+                for (Order order : orders) {
+                    if (existing.add(order.getClientRef())) {
+                        order.calculateTotal();
+                        session.save(order);
+                        saved.add(order.getId());
+                    }
+                }
+                transaction.commit();
+                KoneksiDB.markWrite();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+        SalesRollupJob.ordersChanged(saved);
+        OrderEvents.fireChanged(saved);
+        return saved;
+    }
+
+    // Order beserta items (graph Order.list); menu tiap item tidak ikut dimuat
     public List<Order> getAllOrders() {
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
-            return session.createQuery(
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getAllOrders")) {
+            return KoneksiDB.read(session -> withGraph(session, session.createQuery(
                 "SELECT DISTINCT o FROM Order o " +
-                "LEFT JOIN FETCH o.items " +
-                "ORDER BY o.createdAt DESC", Order.class)
-                .list();
+                "ORDER BY o.createdAt DESC", Order.class), Order.GRAPH_LIST)
+                .list());
         }
     }
     
     public List<Order> getOrdersByStatus(String status) {
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
-            return session.createQuery(
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getOrdersByStatus")) {
+            return KoneksiDB.read(session -> withGraph(session, session.createQuery(
                 "SELECT DISTINCT o FROM Order o " +
-                "LEFT JOIN FETCH o.items " +
                 "WHERE o.status = :status " +
-                "ORDER BY o.createdAt DESC", Order.class)
+                "ORDER BY o.createdAt DESC", Order.class), Order.GRAPH_LIST)
                 .setParameter("status", status)
-                .list();
+                .list());
         }
     }
+
+    // Graph dipakai sebagai fetchgraph: atribut di graph di-join fetch, sisanya mengikuti
+    // mapping (LAZY). Asosiasi lazy yang disentuh nanti dimuat per batch
+    // (hibernate.default_batch_fetch_size), bukan satu select per baris.
+    private static <T> Query<T> withGraph(Session session, Query<T> query, String graph) {
+        return query.setHint("javax.persistence.fetchgraph", session.getEntityGraph(graph));
+    }
     
+    // Query daftar order di bawah ini hanya membaca DTO, jadi memakai StatelessSession:
+    // tidak ada persistence context, snapshot dirty-checking, maupun entity yang di-hydrate.
+    // Entity lengkap (dengan items dan menu) hanya dimuat oleh getOrderById untuk dialog detail.
+    // Daftar, hitungan dan export boleh dibaca dari replika (KoneksiDB.read*); feed live,
+    // getOrderSummariesByIds dan getOrderById tetap ke primary karena harus terbaru.
+
+    public long countOrders(String status) {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.countOrders")) {
+            return KoneksiDB.readStateless(session -> {
+                String hql = "SELECT COUNT(o.id) FROM Order o";
+                if (status != null) {
+                    hql += " WHERE o.status = :status";
+                }
+                Query<Long> query = session.createQuery(hql, Long.class);
+                if (status != null) {
+                    query.setParameter("status", status);
+                }
+                return query.uniqueResult();
+            });
+        }
+    }
+
+    // Semua ringkasan order (opsional per status), terbaru dulu
+    public List<OrderSummaryRow> getOrderSummaries(String status) {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getOrderSummaries")) {
+            return KoneksiDB.readStateless(session -> summaryQuery(session, status, null, false).list());
+        }
+    }
+
+    // Keyset pagination: seek setelah (createdAt, id) baris "after", urut terbaru dulu.
+    // skip hanya dipakai bila belum ada baris acuan di dekat halaman yang diminta.
+    public List<OrderSummaryRow> getOrderPage(String status, OrderSummaryRow after, int skip, int limit) {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getOrderPage")) {
+            return KoneksiDB.readStateless(session -> summaryQuery(session, status, after, false)
+                .setFirstResult(skip)
+                .setMaxResults(limit)
+                .list());
+        }
+    }
+
+    // Pasangan getOrderPage untuk halaman di paruh belakang riwayat: seek dari ujung terlama,
+    // yaitu baris sebelum "below" (atau akhir riwayat bila null) dibaca urut terlama dulu
+    // sambil melewati skip baris. OFFSET tetap kecil walau halamannya di ujung tabel
+    // sejuta baris. Hasil dibalik ke urutan tampilan, terbaru dulu.
+    public List<OrderSummaryRow> getOrderPageFromEnd(String status, OrderSummaryRow below, int skip, int limit) {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getOrderPageFromEnd")) {
+            List<OrderSummaryRow> rows = new ArrayList<>(KoneksiDB.readStateless(
+                session -> summaryQuery(session, status, below, true)
+                    .setFirstResult(skip)
+                    .setMaxResults(limit)
+                    .list()));
+            Collections.reverse(rows);
+            return rows;
+        }
+    }
+
+    // Order yang berubah sesudah posisi keyset (updatedAt, id), urut updatedAt lalu id;
+    // dipakai feed mode live. Baris dengan updatedAt sama (mis. ubah status massal)
+    // dibaca per halaman lewat id, tidak pernah diulang.
+    public List<OrderSummaryRow> getOrdersUpdatedAfter(LocalDateTime updatedAt, int id, int limit) {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getOrdersUpdatedAfter");
+             StatelessSession session = KoneksiDB.getSessionFactory().openStatelessSession()) {
+            return session.createQuery(SUMMARY_SELECT +
+                    "WHERE o.updatedAt > :updatedAt OR (o.updatedAt = :updatedAt AND o.id > :id) " +
+                    "ORDER BY o.updatedAt, o.id", OrderSummaryRow.class)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .list();
+        }
+    }
+
+    // Order yang terakhir berubah (posisi keyset terbaru), atau null bila belum ada order
+    public OrderSummaryRow getLatestChange() {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getLatestChange");
+             StatelessSession session = KoneksiDB.getSessionFactory().openStatelessSession()) {
+            return session.createQuery(SUMMARY_SELECT +
+                    "WHERE o.updatedAt IS NOT NULL ORDER BY o.updatedAt DESC, o.id DESC", OrderSummaryRow.class)
+                .setMaxResults(1)
+                .uniqueResult();
+        }
+    }
+
+    // id -> updatedAt order yang berubah setelah "since" sampai posisi keyset (updatedAt, id);
+    // hanya dua kolom dari index updated_at, untuk memeriksa commit yang terlambat
+    public Map<Integer, LocalDateTime> getUpdatedIds(LocalDateTime since, LocalDateTime updatedAt, int id) {
+        Map<Integer, LocalDateTime> result = new HashMap<>();
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getUpdatedIds");
+             StatelessSession session = KoneksiDB.getSessionFactory().openStatelessSession()) {
+            List<Object[]> rows = session.createQuery(
+                    "SELECT o.id, o.updatedAt FROM Order o WHERE o.updatedAt > :since " +
+                    "AND (o.updatedAt < :updatedAt OR (o.updatedAt = :updatedAt AND o.id <= :id))", Object[].class)
+                .setParameter("since", since)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", id)
+                .list();
+            for (Object[] row : rows) {
+                result.put((Integer) row[0], (LocalDateTime) row[1]);
+            }
+        }
+        return result;
+    }
+
+    public List<OrderSummaryRow> getOrderSummariesByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getOrderSummariesByIds");
+             StatelessSession session = KoneksiDB.getSessionFactory().openStatelessSession()) {
+            return session.createQuery(SUMMARY_SELECT + "WHERE o.id IN (:ids)", OrderSummaryRow.class)
+                .setParameterList("ids", ids)
+                .list();
+        }
+    }
+
+    // oldestFirst membalik arah seek dan urutan: baris yang lebih baru dari "anchor", terlama dulu
+    private Query<OrderSummaryRow> summaryQuery(StatelessSession session, String status, OrderSummaryRow anchor,
+                                                boolean oldestFirst) {
+        StringBuilder hql = new StringBuilder(SUMMARY_SELECT + "WHERE 1 = 1 ");
+        if (status != null) {
+            hql.append("AND o.status = :status ");
+        }
+        String seek = oldestFirst ? ">" : "<";
+        if (anchor != null) {
+            hql.append("AND (o.createdAt " + seek + " :anchorCreatedAt " +
+                       "OR (o.createdAt = :anchorCreatedAt AND o.id " + seek + " :anchorId)) ");
+        }
+        hql.append(oldestFirst ? "ORDER BY o.createdAt, o.id" : "ORDER BY o.createdAt DESC, o.id DESC");
+
+        Query<OrderSummaryRow> query = session.createQuery(hql.toString(), OrderSummaryRow.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (anchor != null) {
+            query.setParameter("anchorCreatedAt", anchor.getCreatedAt());
+            query.setParameter("anchorId", anchor.getId());
+        }
+        return query;
+    }
+
+    // Riwayat order untuk export, urut id: [id, dibuat, status, tipe order, pembayaran,
+    // biaya admin, total]. Rentang createdAt setengah terbuka [from, to); null berarti tanpa batas.
+    // Order yang sudah diarsipkan (OrderArchiveJob) lebih tua dari semua order live, jadi
+    // dikirim lebih dulu; rentang yang belum tersentuh arsip hanya mencari index kosong.
+    public long exportOrders(String status, LocalDate from, LocalDate to, RowStream.Handler handler) throws IOException {
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.exportOrders");
+             StatelessSession session = KoneksiDB.getReadSessionFactory().openStatelessSession()) {
+            NativeQuery<?> archived = session.createNativeQuery(
+                    "SELECT id, created_at, status, order_type, payment_method, admin_fee, total " +
+                    "FROM orders_archive WHERE 1 = 1 " +
+                    exportFilter("status", "created_at", status, from, to) +
+                    "ORDER BY id")
+                .addScalar("id", IntegerType.INSTANCE)
+                .addScalar("created_at", LocalDateTimeType.INSTANCE)
+                .addScalar("status", StringType.INSTANCE)
+                .addScalar("order_type", StringType.INSTANCE)
+                .addScalar("payment_method", StringType.INSTANCE)
+                .addScalar("admin_fee", BigDecimalType.INSTANCE)
+                .addScalar("total", BigDecimalType.INSTANCE);
+            long rows = RowStream.scroll(setExportParameters(archived, status, from, to), row -> handler.handle(new Object[]{
+                row[0], row[1], row[2], row[3], row[4], money(row[5]), money(row[6])}));
+
+            Query<Object[]> query = session.createQuery(
+                "SELECT o.id, o.createdAt, o.status, o.orderType, o.paymentMethod, o.adminFee, o.total " +
+                "FROM Order o WHERE 1 = 1 " +
+                exportFilter("o.status", "o.createdAt", status, from, to) +
+                "ORDER BY o.id", Object[].class);
+            return rows + RowStream.scroll(setExportParameters(query, status, from, to), handler);
+        }
+    }
+
+    private static String exportFilter(String statusColumn, String createdColumn, String status, LocalDate from, LocalDate to) {
+        String filter = "";
+        if (status != null) {
+            filter += "AND " + statusColumn + " = :status ";
+        }
+        if (from != null) {
+            filter += "AND " + createdColumn + " >= :from ";
+        }
+        if (to != null) {
+            filter += "AND " + createdColumn + " < :to ";
+        }
+        return filter;
+    }
+
+    private static <Q extends Query<?>> Q setExportParameters(Q query, String status, LocalDate from, LocalDate to) {
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from.atStartOfDay());
+        }
+        if (to != null) {
+            query.setParameter("to", to.atStartOfDay());
+        }
+        return query;
+    }
+
+    private static Money money(Object amount) {
+        return amount != null ? Money.of((BigDecimal) amount) : null;
+    }
+
+    // Order, items dan menu tiap item dalam satu query (graph Order.detail), karena
+    // dialog detail membaca nama menu setelah session ditutup
     public Order getOrderById(int id) {
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
-            return session.createQuery(
-                "SELECT o FROM Order o " +
-                "LEFT JOIN FETCH o.items " +
-                "WHERE o.id = :id", Order.class)
+        try (Metrics.Sample sample = Metrics.start("OrderDAO.getOrderById");
+             Session session = KoneksiDB.getSessionFactory().openSession()) {
+            return withGraph(session, session.createQuery(
+                "SELECT DISTINCT o FROM Order o " +
+                "WHERE o.id = :id", Order.class), Order.GRAPH_DETAIL)
                 .setParameter("id", id)
                 .uniqueResult();
         }
     }
-}
\ No newline at end of file
+
+    // Varian asynchronous, dijalankan di DbExecutor agar tidak memblokir EDT
+
+    public CompletableFuture<Boolean> saveOrderAsync(Order order) {
+        return DbExecutor.supply(() -> saveOrder(order));
+    }
+
+    public CompletableFuture<Boolean> updateStatusAsync(int orderId, int expectedVersion, String newStatus) {
+        return DbExecutor.supply(() -> updateStatus(orderId, expectedVersion, newStatus));
+    }
+
+    public CompletableFuture<OrderStatusResult> updateStatusBulkAsync(Map<Integer, Integer> expectedVersions, String newStatus) {
+        return DbExecutor.supply(() -> updateStatusBulk(expectedVersions, newStatus));
+    }
+
+    public CompletableFuture<OrderBatchResult> saveOrdersAsync(Collection<Order> orders) {
+        return DbExecutor.supply(() -> saveOrders(orders));
+    }
+
+    public CompletableFuture<Long> countOrdersAsync(String status) {
+        return DbExecutor.supply(() -> countOrders(status));
+    }
+
+    public CompletableFuture<List<OrderSummaryRow>> getOrderPageAsync(String status, OrderSummaryRow after, int skip, int limit) {
+        return DbExecutor.supply(() -> getOrderPage(status, after, skip, limit));
+    }
+
+    public CompletableFuture<List<OrderSummaryRow>> getOrderPageFromEndAsync(String status, OrderSummaryRow below, int skip, int limit) {
+        return DbExecutor.supply(() -> getOrderPageFromEnd(status, below, skip, limit));
+    }
+
+    public CompletableFuture<List<OrderSummaryRow>> getOrderSummariesByIdsAsync(Collection<Integer> ids) {
+        return DbExecutor.supply(() -> getOrderSummariesByIds(ids));
+    }
+
+    public CompletableFuture<Order> getOrderByIdAsync(int id) {
+        return DbExecutor.supply(() -> getOrderById(id));
+    }
+}
@@ -0,0 +1,53 @@
+package com.restaurant;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Pemberitahuan perubahan order di proses ini, dikirim OrderDAO setelah commit.
+// Listener dipanggil di thread yang melakukan commit (biasanya DbExecutor),
+// jadi pekerjaan UI harus dipindah sendiri ke EDT.
+public final class OrderEvents {
+    private static final Logger logger = Logger.getLogger(OrderEvents.class.getName());
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public interface Listener {
+        void ordersChanged(Collection<Integer> orderIds);
+
+        default void ordersDeleted(Collection<Integer> orderIds) {
+        }
+    }
+
+    private OrderEvents() {
+    }
+
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    static void fireChanged(Collection<Integer> orderIds) {
+        for (Listener listener : listeners) {
+            try {
+                listener.ordersChanged(orderIds);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Listener order gagal", e);
+            }
+        }
+    }
+
+    static void fireDeleted(Collection<Integer> orderIds) {
+        for (Listener listener : listeners) {
+            try {
+                listener.ordersDeleted(orderIds);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Listener order gagal", e);
+            }
+        }
+    }
+}
@@ -7,21 +7,26 @@ import java.time.LocalDateTime;
 @Table(name = "order_items")
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_id")
+    @TableGenerator(name = "order_item_id", table = "id_generator",
+        pkColumnName = "sequence_name", valueColumnName = "next_val",
+        pkColumnValue = "order_items", allocationSize = 50)
     private int id;
     
-    @ManyToOne
+    // Keduanya LAZY; yang perlu dimuat sekaligus ditentukan entity graph di Order
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_item_id", nullable = false)
     private MenuItem menuItem;
     
     private int quantity;
     
-    @Column(name = "price_at_order")
-    private double priceAtOrder;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "price_at_order", precision = 10, scale = 2)
+    private Money priceAtOrder = Money.ZERO;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -42,7 +47,9 @@ public class OrderItem {
     public Order getOrder() { return order; }
     public MenuItem getMenuItem() { return menuItem; }
     public int getQuantity() { return quantity; }
-    public double getPriceAtOrder() { return priceAtOrder; }
+    public Money getPriceAtOrder() { return priceAtOrder; }
+    public long getSubtotalCents() { return Math.multiplyExact(priceAtOrder.getCents(), (long) quantity); }
+    public Money getSubtotal() { return Money.ofCents(getSubtotalCents()); }
     public LocalDateTime getCreatedAt() { return createdAt; }
 
     public void setOrder(Order order) { this.order = order; }
@@ -51,5 +58,13 @@ public class OrderItem {
         this.priceAtOrder = menuItem.getPrice();
     }
     public void setQuantity(int quantity) { this.quantity = quantity; }
-    public void setPriceAtOrder(double priceAtOrder) { this.priceAtOrder = priceAtOrder; }
+    public void setPriceAtOrder(Money priceAtOrder) { this.priceAtOrder = priceAtOrder; }
+
+    // Hanya untuk order yang dibaca ulang dari jurnal: referensi menu tanpa memuatnya
+    // dan tanpa menyalin harga menu sekarang
+    void restore(MenuItem menuItem, Money priceAtOrder, LocalDateTime createdAt) {
+        this.menuItem = menuItem;
+        this.priceAtOrder = priceAtOrder;
+        this.createdAt = createdAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,474 @@
+package com.restaurant;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+// Log append-only di disk lokal, dipakai OrderWriteBehind. Record ditulis berurutan ke
+// file segmen journal-<sequence pertama>.log; setiap record:
+//   [int panjang payload][int CRC32 sequence+payload][long sequence][payload]
+//
+// fsync dikelompokkan oleh thread "order-journal-sync": dengan syncIntervalMs=0 append
+// menunggu fsync berikutnya, tapi semua append yang masuk selama satu fsync ikut satu
+// force() berikutnya. Dengan syncIntervalMs>0 append langsung kembali setelah write
+// (aman terhadap crash proses, bukan crash OS) dan fsync berjalan tiap interval.
+// Bila fsync gagal, record yang sudah ditulis tetap di antrean pending (append melempar
+// NotSyncedException) dan fsync dicoba lagi; kegagalan dihapus setelah fsync berhasil.
+//
+// Saat dibuka, segmen dibaca ulang: record setelah checkpoint menjadi antrean pending,
+// ekor yang terpotong atau CRC-nya salah (crash di tengah write) dibuang.
+public class OrderJournal implements Closeable {
+    private static final Logger logger = Logger.getLogger(OrderJournal.class.getName());
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final long SYNC_RETRY_MS = 1000;
+
+    private final Path directory;
+    private final FileChannel lockChannel;
+    private final long segmentBytes;
+    private final long syncIntervalMs;
+
+    // Sequence pertama tiap segmen -> file; segmen terakhir adalah yang sedang ditulis
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    private final List<FileChannel> retired = new ArrayList<>();
+    private FileChannel channel;
+    private long nextSequence;
+    private long checkpoint;
+    private boolean closed;
+
+    private final Object syncLock = new Object();
+    private long writtenSequence;
+    private long syncedSequence;
+    private long syncCount;
+    private IOException syncFailure;
+    // Sequence tertinggi yang ikut fsync gagal terakhir
+    private long failedSequence;
+    private final Thread syncer;
+
+    public OrderJournal(Path directory, long segmentBytes, long syncIntervalMs) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncIntervalMs = syncIntervalMs;
+        Files.createDirectories(directory);
+        // Satu jurnal hanya boleh dipakai satu proses
+        lockChannel = FileChannel.open(directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Jurnal " + directory + " sedang dipakai proses lain");
+        }
+        try {
+            checkpoint = readCheckpoint();
+            recover();
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+        writtenSequence = nextSequence - 1;
+        syncedSequence = writtenSequence;
+
+        syncer = new Thread(this::syncLoop, "order-journal-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+    }
+
+    public static final class Entry {
+        private final long sequence;
+        private final byte[] payload;
+
+        Entry(long sequence, byte[] payload) {
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+
+        public long getSequence() { return sequence; }
+        public byte[] getPayload() { return payload; }
+    }
+
+    // fsync gagal setelah record ditulis dan masuk antrean pending: record tetap dikirim
+    // flusher, jadi pemanggil tidak boleh menyimpannya lagi lewat jalur lain
+    public static final class NotSyncedException extends IOException {
+        private final long sequence;
+
+        NotSyncedException(long sequence, IOException cause) {
+            super("fsync jurnal gagal untuk record #" + sequence, cause);
+            this.sequence = sequence;
+        }
+
+        public long getSequence() { return sequence; }
+    }
+
+    // Menulis satu record dan mengembalikan sequence-nya setelah tahan crash
+    // (lihat syncIntervalMs di atas). IOException selain NotSyncedException berarti
+    // record tidak masuk antrean.
+    public long append(byte[] payload) throws IOException {
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Record jurnal terlalu besar: " + payload.length + " byte");
+        }
+        long sequence;
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("Jurnal sudah ditutup");
+            }
+            if (channel.position() > 0 && channel.position() + HEADER_BYTES + payload.length > segmentBytes) {
+                roll();
+            }
+            sequence = nextSequence;
+            writeFully(channel, encode(sequence, payload));
+            nextSequence++;
+            pending.addLast(new Entry(sequence, payload));
+            notifyAll();
+        }
+        synchronized (syncLock) {
+            writtenSequence = Math.max(writtenSequence, sequence);
+            syncLock.notifyAll();
+            if (syncIntervalMs == 0) {
+                awaitSynced(sequence);
+            }
+        }
+        return sequence;
+    }
+
+    private void awaitSynced(long sequence) throws IOException {
+        boolean interrupted = false;
+        while (syncedSequence < sequence) {
+            if (syncFailure != null && failedSequence >= sequence) {
+                throw new NotSyncedException(sequence, syncFailure);
+            }
+            try {
+                syncLock.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Segmen lama di-force sekarang juga; channel-nya ditutup oleh thread sync,
+    // yang mungkin sedang memakainya
+    private void roll() throws IOException {
+        channel.force(false);
+        retired.add(channel);
+        channel = openSegment(nextSequence);
+    }
+
+    private FileChannel openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        segments.put(firstSequence, file);
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private void syncLoop() {
+        while (true) {
+            long target;
+            synchronized (syncLock) {
+                try {
+                    if (syncIntervalMs > 0) {
+                        syncLock.wait(syncIntervalMs);
+                    } else {
+                        while (writtenSequence <= syncedSequence && !isClosed()) {
+                            syncLock.wait(1000);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                target = writtenSequence;
+            }
+
+            FileChannel current;
+            List<FileChannel> toClose;
+            boolean stop;
+            synchronized (this) {
+                current = channel;
+                toClose = new ArrayList<>(retired);
+                retired.clear();
+                stop = closed;
+            }
+            try {
+                if (target > syncedSequence && current.isOpen()) {
+                    current.force(false);
+                    synchronized (syncLock) {
+                        syncCount++;
+                    }
+                }
+                for (FileChannel old : toClose) {
+                    old.close();
+                }
+                synchronized (syncLock) {
+                    syncedSequence = Math.max(syncedSequence, target);
+                    syncFailure = null;
+                    syncLock.notifyAll();
+                }
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "fsync jurnal order gagal, dicoba lagi dalam " + SYNC_RETRY_MS + " ms", e);
+                synchronized (syncLock) {
+                    syncFailure = e;
+                    failedSequence = Math.max(failedSequence, target);
+                    syncLock.notifyAll();
+                    try {
+                        syncLock.wait(SYNC_RETRY_MS);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    // Paling banyak max record pending terlama; menunggu sampai timeout bila kosong
+    public synchronized List<Entry> awaitPending(int max, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pending.isEmpty() && !closed) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        List<Entry> result = new ArrayList<>(Math.min(max, pending.size()));
+        for (Entry entry : pending) {
+            if (result.size() == max) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    // null bila fsync terakhir berhasil
+    public IOException getSyncFailure() {
+        synchronized (syncLock) {
+            return syncFailure;
+        }
+    }
+
+    public long getSyncCount() {
+        synchronized (syncLock) {
+            return syncCount;
+        }
+    }
+
+    // Semua record sampai sequence sudah ada di database: catat, lalu hapus segmen
+    // yang seluruh isinya sudah lewat checkpoint
+    public synchronized void checkpoint(long sequence) throws IOException {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        // File ditulis dulu: bila gagal, record tetap pending dan checkpoint bisa diulang
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, ByteBuffer.wrap(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII)));
+            out.force(false);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        while (!pending.isEmpty() && pending.peekFirst().getSequence() <= sequence) {
+            pending.removeFirst();
+        }
+        checkpoint = sequence;
+
+        Long current = segments.lastKey();
+        while (segments.firstKey() < current) {
+            Long next = segments.higherKey(segments.firstKey());
+            if (next - 1 > checkpoint) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(segments.firstEntry().getValue());
+            } catch (IOException e) {
+                // Di Windows file yang channel-nya belum ditutup thread sync tidak bisa
+                // dihapus; dicoba lagi pada checkpoint berikutnya
+                logger.log(Level.FINE, "Segmen jurnal belum bisa dihapus", e);
+                break;
+            }
+            segments.pollFirstEntry();
+        }
+    }
+
+    // Record yang tidak akan pernah bisa masuk database disimpan terpisah untuk diperiksa
+    // manual, lalu dilewati supaya antrean di belakangnya tetap berjalan
+    public void reject(Entry entry) throws IOException {
+        Path rejected = directory.resolve("rejected");
+        Files.createDirectories(rejected);
+        Files.write(rejected.resolve(String.format("%019d.record", entry.getSequence())), entry.getPayload());
+        checkpoint(entry.getSequence());
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim());
+    }
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+
+        nextSequence = checkpoint + 1;
+        for (Path file : new ArrayList<>(segments.values())) {
+            nextSequence = Math.max(nextSequence, readSegment(file, file.equals(segments.lastEntry().getValue())));
+        }
+        if (!pending.isEmpty()) {
+            logger.info(pending.size() + " order di jurnal belum masuk database, akan dikirim ulang");
+        }
+
+        if (segments.isEmpty()) {
+            channel = openSegment(nextSequence);
+        } else {
+            channel = FileChannel.open(segments.lastEntry().getValue(), StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+    }
+
+    // Mengembalikan sequence setelah record valid terakhir. Segmen terakhir dipotong
+    // di record pertama yang rusak supaya append berikutnya tidak menempel di belakangnya.
+    private long readSegment(Path file, boolean last) throws IOException {
+        long next = 0;
+        try (FileChannel in = FileChannel.open(file, last
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ})) {
+            long size = in.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (position + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(in, header, position);
+                header.flip();
+                int length = header.getInt();
+                int crc = header.getInt();
+                long sequence = header.getLong();
+                if (length < 0 || length > MAX_PAYLOAD_BYTES || position + HEADER_BYTES + length > size) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(in, payload, position + HEADER_BYTES);
+                if (crc != checksum(sequence, payload.array())) {
+                    break;
+                }
+                if (sequence > checkpoint) {
+                    pending.addLast(new Entry(sequence, payload.array()));
+                }
+                next = sequence + 1;
+                position += HEADER_BYTES + length;
+            }
+            if (position < size) {
+                logger.warning(String.format("Jurnal %s rusak setelah byte %d dari %d, sisanya dibuang",
+                    file.getFileName(), position, size));
+                if (last) {
+                    in.truncate(position);
+                    in.force(false);
+                }
+            }
+        }
+        return next;
+    }
+
+    private static ByteBuffer encode(long sequence, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt(checksum(sequence, payload));
+        buffer.putLong(sequence);
+        buffer.put(payload);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(0, sequence));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Akhir file jurnal tidak terduga");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        // Dibangunkan dengan notify, bukan interrupt: interrupt saat force() menutup FileChannel
+        synchronized (syncLock) {
+            syncLock.notifyAll();
+        }
+        try {
+            syncer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            channel.force(false);
+            channel.close();
+            for (FileChannel old : retired) {
+                old.close();
+            }
+        }
+        lockChannel.close();
+    }
+}
@@ -2,53 +2,56 @@ package com.restaurant;
 
 import javax.swing.*;
 import javax.swing.border.*;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import com.toedter.calendar.JDateChooser;
 
 public class OrderManagementPanel extends JPanel {
     private final OrderDAO orderDAO = new OrderDAO();
-    private final DefaultTableModel tableModel;
+    private final OrderTableModel tableModel;
+    private final OrderChangeFeed changeFeed;
     private final JTable orderTable;
+    private final JCheckBox liveCheck;
     private final JComboBox<String> statusFilter;
+    private final JLabel selectionLabel = new JLabel("0 order dipilih");
+    private final JComboBox<String> bulkStatus;
+    private final JButton bulkStatusBtn;
+    private final LoadingIndicator loadingIndicator = new LoadingIndicator();
+    private final LatestQuery<Order> detailQuery = new LatestQuery<>(loadingIndicator);
 
     public OrderManagementPanel() {
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Table setup
-        String[] columns = {
-            "ID", 
-            "Total", 
-            "Status", 
-            "Tipe Order", 
-            "Pembayaran", 
-            "Tanggal", 
-            "Aksi"
-        };
-        
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 6; // Only Action column is editable
-            }
-        };
+        tableModel = new OrderTableModel(orderDAO, loadingIndicator);
         
         orderTable = new JTable(tableModel);
         orderTable.setRowHeight(35);
+        orderTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        tableModel.addTableModelListener(this::keepScrollPosition);
         
-        // Center align all columns except Action
-        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
-        centerRenderer.setHorizontalAlignment(JLabel.CENTER);
-        for (int i = 0; i < columns.length - 1; i++) {
+        // Center align all columns except Action; total and date are formatted only when painted
+        FormattingRenderer centerRenderer = FormattingRenderer.plain();
+        for (int i = 0; i < OrderTableModel.ACTION_COLUMN; i++) {
             orderTable.getColumnModel().getColumn(i).setCellRenderer(centerRenderer);
         }
+        orderTable.getColumnModel().getColumn(1).setCellRenderer(FormattingRenderer.money("$"));
+        orderTable.getColumnModel().getColumn(5).setCellRenderer(FormattingRenderer.date("dd-MM-yyyy HH:mm"));
         
         // Custom renderer and editor for Action column
-        orderTable.getColumnModel().getColumn(6).setCellRenderer(new ButtonRenderer());
-        orderTable.getColumnModel().getColumn(6).setCellEditor(new ButtonEditor(new JCheckBox()));
+        orderTable.getColumnModel().getColumn(OrderTableModel.ACTION_COLUMN).setCellRenderer(new ButtonRenderer());
+        orderTable.getColumnModel().getColumn(OrderTableModel.ACTION_COLUMN).setCellEditor(new ButtonEditor(new JCheckBox()));
 
         // Filter panel
         JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
@@ -63,45 +66,196 @@ public class OrderManagementPanel extends JPanel {
         JButton refreshBtn = new JButton("Refresh");
         refreshBtn.addActionListener(e -> refreshOrderData());
         filterPanel.add(refreshBtn);
+
+        JButton exportBtn = new JButton("Export...");
+        exportBtn.addActionListener(e -> exportOrders());
+        filterPanel.add(exportBtn);
+
+        // Mode live: tabel diperbarui per baris dari OrderChangeFeed
+        changeFeed = new OrderChangeFeed(orderDAO, tableModel);
+        liveCheck = new JCheckBox("Live", true);
+        liveCheck.addActionListener(e -> {
+            if (liveCheck.isSelected()) {
+                changeFeed.start();
+            } else {
+                changeFeed.stop();
+            }
+        });
+        filterPanel.add(liveCheck);
+        filterPanel.add(loadingIndicator);
         
+        // Aksi massal untuk baris yang dipilih (Ctrl/Shift + klik)
+        JPanel bulkPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        bulkPanel.add(selectionLabel);
+        bulkPanel.add(new JLabel("Ubah status menjadi:"));
+        bulkStatus = new JComboBox<>(new String[]{"completed", "cancelled", "pending"});
+        bulkPanel.add(bulkStatus);
+        bulkStatusBtn = new JButton("Terapkan");
+        bulkStatusBtn.setEnabled(false);
+        bulkStatusBtn.addActionListener(e -> updateSelectedStatus());
+        bulkPanel.add(bulkStatusBtn);
+        orderTable.getSelectionModel().addListSelectionListener(e -> {
+            int selected = orderTable.getSelectedRowCount();
+            selectionLabel.setText(selected + " order dipilih");
+            bulkStatusBtn.setEnabled(selected > 0);
+        });
+
         // Add components
         add(filterPanel, BorderLayout.NORTH);
         add(new JScrollPane(orderTable), BorderLayout.CENTER);
+        add(bulkPanel, BorderLayout.SOUTH);
         
         refreshOrderData();
+        changeFeed.start();
     }
     
     private void refreshOrderData() {
-        tableModel.setRowCount(0);
         String selectedStatus = (String) statusFilter.getSelectedItem();
-        List<Order> orders;
-        
-        if ("Semua".equals(selectedStatus)) {
-            orders = orderDAO.getAllOrders();
-        } else {
-            orders = orderDAO.getOrdersByStatus(selectedStatus);
+        tableModel.reload("Semua".equals(selectedStatus) ? null : selectedStatus);
+    }
+    
+    // UPDATE per order dengan versi yang sedang tampil, dikirim sebagai batch dalam satu
+    // transaksi (OrderDAO.updateStatusBulk); order yang sudah diubah terminal lain tidak
+    // ditimpa. Setelahnya hanya baris yang berubah atau konflik yang diperbarui di tabel.
+    private void updateSelectedStatus() {
+        Map<Integer, Integer> versions = new LinkedHashMap<>();
+        for (int viewRow : orderTable.getSelectedRows()) {
+            OrderSummaryRow row = tableModel.getRow(orderTable.convertRowIndexToModel(viewRow));
+            if (row != null) {
+                versions.put(row.getId(), row.getVersion());
+            }
         }
-        
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
-        
-        for (Order order : orders) {
-            // Format display values
-            String orderType = order.getOrderType().equals("DINE_IN") ? 
-                "Makan di Tempat" : "Bawa Pulang";
-            
-            String payment = order.getPaymentMethod().equals("CASH") ? 
-                "Tunai" : "BCA (+$" + order.getAdminFee() + ")";
-            
-            tableModel.addRow(new Object[]{
-                order.getId(),
-                String.format("$%.2f", order.getTotal()),
-                capitalize(order.getStatus()),
-                orderType,
-                payment,
-                order.getCreatedAt().format(formatter),
-                "Detail"
-            });
+        if (versions.isEmpty()) {
+            return;
+        }
+        String newStatus = (String) bulkStatus.getSelectedItem();
+        if (JOptionPane.showConfirmDialog(this,
+                "Ubah status " + versions.size() + " order menjadi " + newStatus + "?",
+                "Ubah Status", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        bulkStatusBtn.setEnabled(false);
+        loadingIndicator.start();
+        orderDAO.updateStatusBulkAsync(versions, newStatus).whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            loadingIndicator.stop();
+            bulkStatusBtn.setEnabled(orderTable.getSelectedRowCount() > 0);
+            if (error != null) {
+                JOptionPane.showMessageDialog(this, "Gagal mengubah status: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            orderTable.clearSelection();
+            // Pada mode live baris yang berubah sudah diperbarui lewat OrderEvents; baris
+            // konflik dimuat ulang supaya status dan versi terbaru yang tampil
+            List<Integer> reload = new ArrayList<>(result.getConflicts());
+            if (!liveCheck.isSelected()) {
+                reload.addAll(result.getChanged());
+            }
+            if (!reload.isEmpty()) {
+                orderDAO.getOrderSummariesByIdsAsync(reload).whenComplete((rows, loadError) -> SwingUtilities.invokeLater(() -> {
+                    if (loadError == null) {
+                        tableModel.applyChanges(rows);
+                    }
+                }));
+            }
+            String message = result.getChanged().size() + " order diubah menjadi " + newStatus;
+            if (!result.getUnchanged().isEmpty()) {
+                message += "\n" + result.getUnchanged().size() + " order sudah berstatus " + newStatus;
+            }
+            if (!result.getConflicts().isEmpty()) {
+                message += "\n" + result.getConflicts().size() + " order tidak diubah karena sudah diubah terminal lain; " +
+                    "baris itu sudah dimuat ulang, periksa lalu coba lagi";
+            }
+            JOptionPane.showMessageDialog(this, message, result.getConflicts().isEmpty() ? "Sukses" : "Sebagian Konflik",
+                result.getConflicts().isEmpty() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+        }));
+    }
+
+    // Export riwayat order (status sesuai filter) untuk rentang tanggal yang dipilih.
+    // Baris dibaca dengan cursor dan ditulis langsung ke file, jadi aman untuk setahun penuh.
+    private void exportOrders() {
+        JDateChooser fromChooser = new JDateChooser(Date.from(LocalDate.now().withDayOfYear(1)
+            .atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        JDateChooser toChooser = new JDateChooser(new Date());
+        fromChooser.setDateFormatString("dd-MM-yyyy");
+        toChooser.setDateFormatString("dd-MM-yyyy");
+        JCheckBox allDates = new JCheckBox("Semua tanggal");
+        allDates.addActionListener(e -> {
+            fromChooser.setEnabled(!allDates.isSelected());
+            toChooser.setEnabled(!allDates.isSelected());
+        });
+
+        JPanel rangePanel = new JPanel(new GridLayout(0, 2, 5, 5));
+        rangePanel.add(new JLabel("Dari Tanggal:"));
+        rangePanel.add(fromChooser);
+        rangePanel.add(new JLabel("Sampai Tanggal:"));
+        rangePanel.add(toChooser);
+        rangePanel.add(allDates);
+        if (JOptionPane.showConfirmDialog(this, rangePanel, "Export Order",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        String selectedStatus = (String) statusFilter.getSelectedItem();
+        String status = "Semua".equals(selectedStatus) ? null : selectedStatus;
+        LocalDate from = allDates.isSelected() ? null : toLocalDate(fromChooser.getDate());
+        LocalDate last = allDates.isSelected() ? null : toLocalDate(toChooser.getDate());
+        // "Sampai Tanggal" inklusif, DAO memakai batas atas eksklusif
+        LocalDate to = last != null ? last.plusDays(1) : null;
+
+        ExportTask task = new ExportTask(
+            new String[]{"ID", "Tanggal", "Status", "Tipe Order", "Pembayaran", "Biaya Admin", "Total"},
+            handler -> orderDAO.exportOrders(status, from, to, row -> handler.handle(new Object[]{
+                row[0],
+                row[1],
+                row[2],
+                "DINE_IN".equals(row[3]) ? "Makan di Tempat" : "Bawa Pulang",
+                "CASH".equals(row[4]) ? "Tunai" : "BCA",
+                row[5],
+                row[6]
+            })));
+        String fileName = "order" + (status != null ? "-" + status : "") +
+            (from != null ? "_" + from : "") + (last != null ? "_" + last : "");
+        ExportDialog.export(this, "Export Order", fileName, task);
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        return date != null ? date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate() : null;
+    }
+
+    // Baris yang disisipkan/dihapus di atas area yang sedang dilihat menggeser isi tabel;
+    // viewport digeser sebanyak itu juga supaya baris yang dilihat tetap di tempatnya.
+    // Di posisi paling atas tidak digeser agar order baru langsung terlihat.
+    private void keepScrollPosition(TableModelEvent e) {
+        if (e.getType() == TableModelEvent.UPDATE || e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+            return;
+        }
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, orderTable);
+        if (viewport == null || viewport.getViewPosition().y == 0) {
+            return;
+        }
+        int firstVisible = orderTable.rowAtPoint(viewport.getViewPosition());
+        if (firstVisible < 0 || e.getFirstRow() > firstVisible) {
+            return;
         }
+        int rows = e.getLastRow() - e.getFirstRow() + 1;
+        int delta = (e.getType() == TableModelEvent.INSERT ? rows : -rows) * orderTable.getRowHeight();
+        SwingUtilities.invokeLater(() -> {
+            Point position = viewport.getViewPosition();
+            viewport.setViewPosition(new Point(position.x, Math.max(0, position.y + delta)));
+        });
+    }
+
+    private void openOrderDetails(int orderId) {
+        detailQuery.submit(orderDAO.getOrderByIdAsync(orderId),
+            order -> {
+                if (order != null) {
+                    showOrderDetails(order);
+                } else {
+                    JOptionPane.showMessageDialog(this, "Order #" + orderId + " sudah tidak ada", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            },
+            e -> JOptionPane.showMessageDialog(this, "Gagal memuat order: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
     }
     
     private void showOrderDetails(Order order) {
@@ -125,7 +279,7 @@ public class OrderManagementPanel extends JPanel {
         addInfoRow(infoPanel, "Pembayaran:", order.getPaymentMethod().equals("CASH") ? 
             "Tunai" : "BCA (+$" + order.getAdminFee() + ")");
         addInfoRow(infoPanel, "Dibuat:", order.getCreatedAt().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss")));
-        addInfoRow(infoPanel, "Total:", String.format("$%.2f", order.getTotal()));
+        addInfoRow(infoPanel, "Total:", "$" + order.getTotal());
         
         // Items list
         JTextArea itemsArea = new JTextArea(8, 30);
@@ -134,10 +288,10 @@ public class OrderManagementPanel extends JPanel {
         
         StringBuilder itemsText = new StringBuilder();
         for (OrderItem item : order.getItems()) {
-            itemsText.append(String.format("- %s \t(x%d) \t$%.2f\n", 
+            itemsText.append(String.format("- %s \t(x%d) \t$%s\n", 
                 item.getMenuItem().getName(),
                 item.getQuantity(),
-                item.getPriceAtOrder() * item.getQuantity()));
+                item.getSubtotal()));
         }
         itemsArea.setText(itemsText.toString());
         
@@ -145,14 +299,35 @@ public class OrderManagementPanel extends JPanel {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 10));
         JButton saveBtn = new JButton("Simpan Perubahan");
         saveBtn.addActionListener(e -> {
-            order.setStatus((String) ((JComboBox<?>) infoPanel.getComponent(3)).getSelectedItem());
-            if (orderDAO.saveOrder(order)) {
-                JOptionPane.showMessageDialog(dialog, "Order berhasil diperbarui", "Sukses", JOptionPane.INFORMATION_MESSAGE);
-                refreshOrderData();
+            String newStatus = (String) ((JComboBox<?>) infoPanel.getComponent(3)).getSelectedItem();
+            if (newStatus.equals(order.getStatus())) {
                 dialog.dispose();
-            } else {
-                JOptionPane.showMessageDialog(dialog, "Gagal memperbarui order", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+            saveBtn.setEnabled(false);
+            // Hanya status yang ditulis, dengan cek versi order yang sedang ditampilkan
+            orderDAO.updateStatusAsync(order.getId(), order.getVersion(), newStatus).whenComplete((updated, error) -> SwingUtilities.invokeLater(() -> {
+                saveBtn.setEnabled(true);
+                if (error == null && updated) {
+                    JOptionPane.showMessageDialog(dialog, "Order berhasil diperbarui", "Sukses", JOptionPane.INFORMATION_MESSAGE);
+                    // Pada mode live baris sudah diperbarui lewat OrderEvents
+                    if (!liveCheck.isSelected()) {
+                        refreshOrderData();
+                    }
+                    dialog.dispose();
+                } else if (error == null) {
+                    JOptionPane.showMessageDialog(dialog,
+                        "Order ini sudah diubah di terminal lain. Data terbaru akan dimuat ulang, periksa lalu simpan lagi.",
+                        "Konflik", JOptionPane.WARNING_MESSAGE);
+                    dialog.dispose();
+                    if (!liveCheck.isSelected()) {
+                        refreshOrderData();
+                    }
+                    openOrderDetails(order.getId());
+                } else {
+                    JOptionPane.showMessageDialog(dialog, "Gagal memperbarui order", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }));
         });
         
         JButton closeBtn = new JButton("Tutup");
@@ -187,13 +362,6 @@ public class OrderManagementPanel extends JPanel {
         return comboBox;
     }
     
-    private String capitalize(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
-        }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
-    }
-    
     // Button Renderer
     class ButtonRenderer extends JButton implements TableCellRenderer {
         public ButtonRenderer() {
@@ -219,7 +387,13 @@ public class OrderManagementPanel extends JPanel {
             super(checkBox);
             button = new JButton();
             button.setOpaque(true);
-            button.addActionListener(e -> fireEditingStopped());
+            button.addActionListener(e -> {
+                fireEditingStopped();
+                OrderSummaryRow row = tableModel.getRow(editingRow);
+                if (row != null) {
+                    openOrderDetails(row.getId());
+                }
+            });
         }
         
         @Override
@@ -232,9 +406,6 @@ public class OrderManagementPanel extends JPanel {
         
         @Override
         public Object getCellEditorValue() {
-            int orderId = (int) tableModel.getValueAt(editingRow, 0);
-            Order order = orderDAO.getOrderById(orderId);
-            showOrderDetails(order);
             return button.getText();
         }
     }
@@ -0,0 +1,149 @@
+package com.restaurant;
+
+import org.hibernate.Session;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Partisi bulanan tabel orders di MySQL (archive.monthlyPartitions=true), melanjutkan
+// partisi tahunan dari db/manual/mysql/partition_orders.sql. Rentang partisi dibaca dari namanya: pYYYY satu tahun,
+// pYYYYMM satu bulan, pmax sisanya.
+// - Partisi tahun yang seluruhnya masih di depan dipecah per bulan, dan pmax dipecah
+//   sampai archive.partitionMonthsAhead bulan ke depan. Partisi itu masih kosong, jadi
+//   REORGANIZE tidak menyalin data; partisi tahun yang sedang berjalan dibiarkan utuh.
+// - Partisi yang seluruhnya lebih tua dari batas arsip dan sudah kosong dibuang, supaya
+//   ruang bekas order yang diarsipkan dikembalikan (DELETE saja tidak mengecilkan file).
+// order_items tidak dipartisi: InnoDB tidak mengizinkan foreign key ke menu_items di tabel
+// berpartisi. Tabel itu tetap kecil lewat pengarsipan.
+final class OrderPartitions {
+    private static final Logger logger = Logger.getLogger(OrderPartitions.class.getName());
+    private static final Pattern YEAR = Pattern.compile("p(\\d{4})");
+    private static final Pattern MONTH = Pattern.compile("p(\\d{4})(\\d{2})");
+    private static final String MAX = "pmax";
+
+    private OrderPartitions() {
+    }
+
+    // Menyiapkan partisi bulan sampai current + monthsAhead, lalu membuang partisi kosong
+    // yang berakhir sebelum archivedBefore. Dilewati bila bukan MySQL atau orders tidak
+    // berpartisi (partisi tahunan hanya dibuat lewat MigrationRunner partition-orders).
+    static void maintain(Session session, YearMonth current, int monthsAhead, YearMonth archivedBefore) {
+        String vendor = session.doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        if (!vendor.toLowerCase(Locale.ROOT).contains("mysql")) {
+            return;
+        }
+        List<String> partitions = partitions(session);
+        if (partitions.isEmpty()) {
+            logger.info("Tabel orders tidak berpartisi, partisi bulanan dilewati");
+            return;
+        }
+        for (String sql : plan(partitions, current, monthsAhead)) {
+            logger.info("Partisi orders: " + sql);
+            session.createNativeQuery(sql).addSynchronizedQuerySpace("orders").executeUpdate();
+        }
+        for (String name : dropCandidates(partitions(session), archivedBefore)) {
+            boolean empty = session.createNativeQuery("SELECT 1 FROM orders PARTITION (" + name + ") LIMIT 1")
+                .addSynchronizedQuerySpace("orders")
+                .list()
+                .isEmpty();
+            if (empty) {
+                logger.info("Partisi orders " + name + " kosong setelah pengarsipan, dibuang");
+                session.createNativeQuery("ALTER TABLE orders DROP PARTITION " + name)
+                    .addSynchronizedQuerySpace("orders")
+                    .executeUpdate();
+            }
+        }
+    }
+
+    private static List<String> partitions(Session session) {
+        List<?> rows = session.createNativeQuery(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION")
+            .list();
+        List<String> names = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            names.add(row.toString());
+        }
+        return names;
+    }
+
+    // Statement ALTER TABLE untuk partisi bulan yang belum ada; nama yang tidak dikenal
+    // membuat rencana kosong supaya skema yang diatur manual tidak diubah
+    static List<String> plan(List<String> partitions, YearMonth current, int monthsAhead) {
+        YearMonth horizon = current.plusMonths(monthsAhead);
+        List<String> statements = new ArrayList<>();
+        YearMonth end = null;
+        for (String name : partitions) {
+            if (MAX.equals(name)) {
+                continue;
+            }
+            YearMonth[] range = range(name);
+            if (range == null) {
+                logger.warning("Nama partisi orders tidak dikenal: " + name + ", partisi bulanan dilewati");
+                return new ArrayList<>();
+            }
+            boolean year = YEAR.matcher(name).matches();
+            if (year && range[0].isAfter(current) && !range[0].isAfter(horizon)) {
+                statements.add("ALTER TABLE orders REORGANIZE PARTITION " + name +
+                    " INTO (" + months(range[0], range[1]) + ")");
+            }
+            end = range[1];
+        }
+        if (end != null && !end.isAfter(horizon)) {
+            String months = months(end, horizon.plusMonths(1));
+            if (partitions.contains(MAX)) {
+                statements.add("ALTER TABLE orders REORGANIZE PARTITION " + MAX + " INTO (" + months +
+                    ", PARTITION " + MAX + " VALUES LESS THAN MAXVALUE)");
+            } else {
+                statements.add("ALTER TABLE orders ADD PARTITION (" + months + ")");
+            }
+        }
+        return statements;
+    }
+
+    // Partisi yang seluruh rentangnya sebelum bulan before; belum tentu kosong
+    static List<String> dropCandidates(List<String> partitions, YearMonth before) {
+        List<String> candidates = new ArrayList<>();
+        for (String name : partitions) {
+            YearMonth[] range = MAX.equals(name) ? null : range(name);
+            if (range != null && !range[1].isAfter(before)) {
+                candidates.add(name);
+            }
+        }
+        return candidates;
+    }
+
+    // [bulan awal, bulan akhir) dari nama partisi, null bila bukan pYYYY/pYYYYMM
+    private static YearMonth[] range(String name) {
+        Matcher month = MONTH.matcher(name);
+        if (month.matches()) {
+            YearMonth start = YearMonth.of(Integer.parseInt(month.group(1)), Integer.parseInt(month.group(2)));
+            return new YearMonth[]{start, start.plusMonths(1)};
+        }
+        Matcher year = YEAR.matcher(name);
+        if (year.matches()) {
+            YearMonth start = YearMonth.of(Integer.parseInt(year.group(1)), 1);
+            return new YearMonth[]{start, start.plusYears(1)};
+        }
+        return null;
+    }
+
+    // Seperti partition_orders.sql: batas memakai UNIX_TIMESTAMP karena created_at bertipe TIMESTAMP
+    private static String months(YearMonth from, YearMonth to) {
+        StringBuilder sql = new StringBuilder();
+        for (YearMonth month = from; month.isBefore(to); month = month.plusMonths(1)) {
+            if (sql.length() > 0) {
+                sql.append(", ");
+            }
+            sql.append(String.format("PARTITION p%04d%02d VALUES LESS THAN (UNIX_TIMESTAMP('%s-01 00:00:00'))",
+                month.getYear(), month.getMonthValue(), month.plusMonths(1)));
+        }
+        return sql.toString();
+    }
+}
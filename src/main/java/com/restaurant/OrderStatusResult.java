@@ -0,0 +1,27 @@
+package com.restaurant;
+
+import java.util.List;
+
+// Hasil OrderDAO.updateStatusBulk: order yang diubah, yang memang sudah berstatus tujuan,
+// dan yang diubah atau dihapus terminal lain sejak versinya dibaca (tidak ditulis)
+public class OrderStatusResult {
+    private final List<Integer> changed;
+    private final List<Integer> unchanged;
+    private final List<Integer> conflicts;
+
+    public OrderStatusResult(List<Integer> changed, List<Integer> unchanged, List<Integer> conflicts) {
+        this.changed = changed;
+        this.unchanged = unchanged;
+        this.conflicts = conflicts;
+    }
+
+    public List<Integer> getChanged() { return changed; }
+    public List<Integer> getUnchanged() { return unchanged; }
+    public List<Integer> getConflicts() { return conflicts; }
+
+    @Override
+    public String toString() {
+        return String.format("%d diubah, %d sudah berstatus sama, %d konflik",
+            changed.size(), unchanged.size(), conflicts.size());
+    }
+}
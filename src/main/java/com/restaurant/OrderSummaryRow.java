@@ -0,0 +1,46 @@
+package com.restaurant;
+
+import java.time.LocalDateTime;
+
+// Baris ringan untuk tabel order: hanya kolom yang ditampilkan, tanpa items
+public class OrderSummaryRow {
+    private final int id;
+    private final Money total;
+    private final String status;
+    private final String orderType;
+    private final String paymentMethod;
+    private final Money adminFee;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final int version;
+
+    public OrderSummaryRow(int id, Money total, String status, String orderType,
+                           String paymentMethod, Money adminFee, LocalDateTime createdAt,
+                           LocalDateTime updatedAt, int version) {
+        this.id = id;
+        this.total = total;
+        this.status = status;
+        this.orderType = orderType;
+        this.paymentMethod = paymentMethod;
+        this.adminFee = adminFee;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    public int getId() { return id; }
+    public Money getTotal() { return total; }
+    public String getStatus() { return status; }
+    public String getOrderType() { return orderType; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public Money getAdminFee() { return adminFee; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public int getVersion() { return version; }
+
+    // Urutan tabel order: terbaru dulu, id sebagai penentu bila createdAt sama
+    public boolean sortsBefore(OrderSummaryRow other) {
+        int cmp = createdAt.compareTo(other.createdAt);
+        return cmp > 0 || (cmp == 0 && id > other.id);
+    }
+}
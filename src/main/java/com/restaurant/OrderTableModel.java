@@ -0,0 +1,387 @@
+package com.restaurant;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// TableModel order yang memuat data per halaman saat baris terlihat di layar.
+// Hanya MAX_CACHED_PAGES halaman yang disimpan, jadi memori tetap terbatas
+// berapapun jumlah order di database. Halaman dimuat di DbExecutor; selama
+// belum tiba, barisnya tampil kosong lalu diperbarui lewat fireTableRowsUpdated.
+// Pada mode live, perubahan dari OrderChangeFeed diterapkan per baris lewat
+// applyChanges/applyDeletes tanpa memuat ulang seluruh tabel.
+public class OrderTableModel extends AbstractTableModel {
+    private static final Logger logger = Logger.getLogger(OrderTableModel.class.getName());
+    static final int PAGE_SIZE = 200;
+    static final int MAX_CACHED_PAGES = 10;
+    static final int MAX_ANCHORS = 200;
+    static final int ACTION_COLUMN = 6;
+
+    private static final String[] COLUMNS = {
+        "ID",
+        "Total",
+        "Status",
+        "Tipe Order",
+        "Pembayaran",
+        "Tanggal",
+        "Aksi"
+    };
+    // Total dan tanggal dikembalikan mentah, diformat oleh renderer kolom di OrderManagementPanel
+    private static final Class<?>[] COLUMN_TYPES = {
+        Integer.class, Money.class, String.class, String.class, String.class, LocalDateTime.class, String.class
+    };
+
+    private final OrderDAO orderDAO;
+    private final Map<Integer, List<OrderSummaryRow>> pages =
+        new LinkedHashMap<Integer, List<OrderSummaryRow>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<OrderSummaryRow>> eldest) {
+                return size() > MAX_CACHED_PAGES;
+            }
+        };
+    // Baris pertama dan terakhir halaman yang pernah dimuat, dipakai sebagai titik seek.
+    // Paling banyak MAX_ANCHORS; yang terjauh dari halaman yang baru dimuat dibuang.
+    private final TreeMap<Integer, OrderSummaryRow> anchors = new TreeMap<>();
+    private final Set<Integer> loadingPages = new HashSet<>();
+    private final LatestQuery<Long> countQuery;
+
+    private String status;
+    private int rowCount;
+    // Dinaikkan setiap reload supaya halaman dari filter lama diabaikan
+    private int generation;
+
+    public OrderTableModel(OrderDAO orderDAO, LoadingIndicator indicator) {
+        this.orderDAO = orderDAO;
+        this.countQuery = new LatestQuery<>(indicator);
+    }
+
+    // status null berarti semua order. Harus dipanggil dari EDT.
+    public void reload(String status) {
+        this.status = status;
+        generation++;
+        pages.clear();
+        anchors.clear();
+        loadingPages.clear();
+        countQuery.submit(orderDAO.countOrdersAsync(status),
+            count -> {
+                rowCount = count.intValue();
+                fireTableDataChanged();
+            },
+            e -> logger.log(Level.SEVERE, "Gagal menghitung order", e));
+    }
+
+    // Filter status yang sedang ditampilkan; null berarti semua order
+    public String getStatus() {
+        return status;
+    }
+
+    // Mengembalikan null bila halamannya belum dimuat
+    public OrderSummaryRow getRow(int rowIndex) {
+        int page = rowIndex / PAGE_SIZE;
+        List<OrderSummaryRow> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int offset = rowIndex % PAGE_SIZE;
+        if (offset < rows.size()) {
+            return rows.get(offset);
+        }
+        if (rowIndex < rowCount) {
+            // Halaman terpotong karena baris dihapus/tergeser; ekornya dimuat ulang
+            requestPage(page);
+        }
+        return null;
+    }
+
+    private void requestPage(int page) {
+        if (!loadingPages.add(page)) {
+            return;
+        }
+        int start = page * PAGE_SIZE;
+        int end = Math.min(start + PAGE_SIZE, rowCount);
+        // Seek dari titik terdekat: dari atas (terbaru) atau, untuk halaman di paruh
+        // belakang, dari bawah (terlama) supaya OFFSET tidak sedalam posisi halaman
+        Map.Entry<Integer, OrderSummaryRow> above = anchors.floorEntry(start - 1);
+        Map.Entry<Integer, OrderSummaryRow> below = anchors.ceilingEntry(end);
+        int skipFromTop = above != null ? start - above.getKey() - 1 : start;
+        int skipFromEnd = below != null ? below.getKey() - end : rowCount - end;
+        boolean fromEnd = end > start && skipFromEnd < skipFromTop;
+        int requestGeneration = generation;
+
+        CompletableFuture<List<OrderSummaryRow>> query = fromEnd
+            ? orderDAO.getOrderPageFromEndAsync(status, below != null ? below.getValue() : null, skipFromEnd, end - start)
+            : orderDAO.getOrderPageAsync(status, above != null ? above.getValue() : null, skipFromTop, PAGE_SIZE);
+        query.whenComplete((rows, error) -> SwingUtilities.invokeLater(() -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            loadingPages.remove(page);
+            if (error != null) {
+                logger.log(Level.SEVERE, "Gagal memuat halaman order " + page, error);
+                return;
+            }
+            if (fromEnd && rows.size() < end - start) {
+                // Baris dari bawah kurang dari perkiraan: jumlah order sudah berubah,
+                // posisi halaman ini tidak bisa ditentukan
+                resync();
+                return;
+            }
+            pages.put(page, rows);
+            if (!rows.isEmpty()) {
+                anchors.put(start, rows.get(0));
+                anchors.put(start + rows.size() - 1, rows.get(rows.size() - 1));
+                pruneAnchors(start);
+            }
+            int last = Math.min(start + PAGE_SIZE, rowCount) - 1;
+            if (last >= start) {
+                fireTableRowsUpdated(start, last);
+            }
+        }));
+    }
+
+    private void pruneAnchors(int start) {
+        while (anchors.size() > MAX_ANCHORS) {
+            int first = anchors.firstKey();
+            int last = anchors.lastKey();
+            anchors.remove(start - first > last - start ? first : last);
+        }
+    }
+
+    // ---- Perubahan inkremental dari OrderChangeFeed, semuanya di EDT ----
+
+    // Order baru atau berubah. Idempoten: baris yang sudah sama tidak memicu event.
+    public void applyChanges(Collection<OrderSummaryRow> changed) {
+        for (OrderSummaryRow row : changed) {
+            if (!applyChange(row)) {
+                resync();
+                return;
+            }
+        }
+    }
+
+    public void applyDeletes(Collection<Integer> orderIds) {
+        for (int id : orderIds) {
+            Integer index = indexOf(id);
+            if (index != null) {
+                shiftRows(index, -1, null);
+                fireTableRowsDeleted(index, index);
+            } else if (knownRows().size() < rowCount) {
+                // Mungkin ada di bagian yang belum dimuat, posisinya tidak diketahui
+                resync();
+                return;
+            }
+        }
+    }
+
+    // false bila posisi baris tidak bisa ditentukan dari baris yang sudah dimuat
+    private boolean applyChange(OrderSummaryRow row) {
+        boolean visible = status == null || status.equals(row.getStatus());
+        Integer index = indexOf(row.getId());
+        if (index != null) {
+            if (!visible) {
+                shiftRows(index, -1, null);
+                fireTableRowsDeleted(index, index);
+            } else if (!row.getUpdatedAt().equals(knownRows().get(index).getUpdatedAt())) {
+                replaceRow(index, row);
+                fireTableRowsUpdated(index, index);
+            }
+            return true;
+        }
+        int position = positionOf(row);
+        if (position < 0) {
+            return false;
+        }
+        // Tidak dimuat dan posisinya di antara dua baris yang bersebelahan:
+        // berarti order ini memang belum ada di tampilan
+        if (visible) {
+            shiftRows(position, 1, row);
+            fireTableRowsInserted(position, position);
+        }
+        return true;
+    }
+
+    // Indeks tempat baris seharusnya berada, atau -1 bila jatuh di celah yang belum dimuat
+    private int positionOf(OrderSummaryRow row) {
+        TreeMap<Integer, OrderSummaryRow> known = knownRows();
+        int before = -1;
+        int after = rowCount;
+        for (Map.Entry<Integer, OrderSummaryRow> entry : known.entrySet()) {
+            if (entry.getValue().sortsBefore(row)) {
+                before = entry.getKey();
+            } else {
+                after = entry.getKey();
+                break;
+            }
+        }
+        return after == before + 1 ? after : -1;
+    }
+
+    private Integer indexOf(int orderId) {
+        for (Map.Entry<Integer, OrderSummaryRow> entry : knownRows().entrySet()) {
+            if (entry.getValue().getId() == orderId) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    // Semua baris yang posisinya diketahui: isi halaman yang dimuat plus titik seek
+    private TreeMap<Integer, OrderSummaryRow> knownRows() {
+        TreeMap<Integer, OrderSummaryRow> known = new TreeMap<>(anchors);
+        for (Map.Entry<Integer, List<OrderSummaryRow>> page : pages.entrySet()) {
+            int start = page.getKey() * PAGE_SIZE;
+            List<OrderSummaryRow> rows = page.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                known.put(start + i, rows.get(i));
+            }
+        }
+        return known;
+    }
+
+    private void replaceRow(int index, OrderSummaryRow row) {
+        List<OrderSummaryRow> rows = pages.get(index / PAGE_SIZE);
+        if (rows != null) {
+            rows.set(index % PAGE_SIZE, row);
+        }
+        anchors.replace(index, row);
+    }
+
+    // Menyisipkan (delta 1) atau menghapus (delta -1) baris di index, menggeser
+    // baris sesudahnya, lalu menyusun ulang halaman dari baris yang diketahui.
+    // Halaman disimpan selama awalnya utuh; ekor yang hilang dimuat lagi oleh getRow.
+    // Halaman yang sedang dimuat diabaikan karena offset-nya sudah bergeser.
+    private void shiftRows(int index, int delta, OrderSummaryRow inserted) {
+        TreeMap<Integer, OrderSummaryRow> known = shift(knownRows(), index, delta);
+        TreeMap<Integer, OrderSummaryRow> shiftedAnchors = shift(anchors, index, delta);
+        if (inserted != null) {
+            known.put(index, inserted);
+        }
+        rowCount += delta;
+        generation++;
+        loadingPages.clear();
+
+        pages.clear();
+        for (Map.Entry<Integer, OrderSummaryRow> entry : known.entrySet()) {
+            int rowIndex = entry.getKey();
+            if (rowIndex >= rowCount) {
+                break;
+            }
+            List<OrderSummaryRow> rows = pages.get(rowIndex / PAGE_SIZE);
+            if (rows == null && rowIndex % PAGE_SIZE == 0) {
+                rows = new ArrayList<>();
+                pages.put(rowIndex / PAGE_SIZE, rows);
+            }
+            if (rows != null && rows.size() == rowIndex % PAGE_SIZE) {
+                rows.add(entry.getValue());
+            }
+        }
+        anchors.clear();
+        anchors.putAll(shiftedAnchors);
+    }
+
+    private static TreeMap<Integer, OrderSummaryRow> shift(Map<Integer, OrderSummaryRow> rows, int index, int delta) {
+        TreeMap<Integer, OrderSummaryRow> shifted = new TreeMap<>();
+        for (Map.Entry<Integer, OrderSummaryRow> entry : rows.entrySet()) {
+            int i = entry.getKey();
+            if (i < index) {
+                shifted.put(i, entry.getValue());
+            } else if (delta > 0 || i > index) {
+                shifted.put(i + delta, entry.getValue());
+            }
+        }
+        return shifted;
+    }
+
+    // Jalur cadangan bila perubahan tidak bisa dipetakan: hitung ulang dan muat
+    // halaman lagi, tetapi dengan event baris supaya seleksi dan scroll tidak hilang
+    public void resync() {
+        generation++;
+        pages.clear();
+        anchors.clear();
+        loadingPages.clear();
+        countQuery.submit(orderDAO.countOrdersAsync(status),
+            count -> {
+                int oldCount = rowCount;
+                rowCount = count.intValue();
+                if (rowCount > oldCount) {
+                    fireTableRowsInserted(oldCount, rowCount - 1);
+                } else if (rowCount < oldCount) {
+                    fireTableRowsDeleted(rowCount, oldCount - 1);
+                }
+                int common = Math.min(oldCount, rowCount);
+                if (common > 0) {
+                    fireTableRowsUpdated(0, common - 1);
+                }
+            },
+            e -> logger.log(Level.SEVERE, "Gagal menghitung order", e));
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_TYPES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column == ACTION_COLUMN; // Only Action column is editable
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        OrderSummaryRow order = getRow(rowIndex);
+        if (order == null) {
+            return null;
+        }
+        switch (columnIndex) {
+            case 0:
+                return order.getId();
+            case 1:
+                return order.getTotal();
+            case 2:
+                return capitalize(order.getStatus());
+            case 3:
+                return "DINE_IN".equals(order.getOrderType()) ? "Makan di Tempat" : "Bawa Pulang";
+            case 4:
+                return "CASH".equals(order.getPaymentMethod()) ?
+                    "Tunai" : "BCA (+$" + order.getAdminFee() + ")";
+            case 5:
+                return order.getCreatedAt();
+            default:
+                return "Detail";
+        }
+    }
+
+    private String capitalize(String str) {
+        if (str == null || str.isEmpty()) {
+            return str;
+        }
+        return str.substring(0, 1).toUpperCase() + str.substring(1);
+    }
+}
@@ -0,0 +1,292 @@
+package com.restaurant;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Simpan order lewat jurnal lokal (OrderJournal): save() kembali begitu order tercatat di
+// disk, thread "order-write-behind" mengirimnya ke database per batch sesuai urutan jurnal.
+// Selama database tidak bisa dihubungi order tetap diterima dan dikirim ulang tiap
+// journal.retryMs; setelah crash, order yang belum masuk dibaca ulang dari jurnal.
+// Order yang ditolak database (mis. menu sudah dihapus) dikirim sekali lagi sendirian, lalu
+// dipindah ke journal/rejected. Pengiriman ulang itu melewati client_ref yang sudah ada,
+// jadi order yang sama yang sempat masuk lewat jalur lain dianggap terkirim, bukan ditolak.
+// Bila checkpoint jurnal gagal ditulis (disk penuh, izin), flusher tidak berhenti: batch
+// yang sama dikirim ulang tiap journal.retryMs (idempoten lewat client_ref) dan masalahnya
+// ditampilkan di StatusBar lewat getProblem() sampai checkpoint berhasil lagi.
+public class OrderWriteBehind {
+    private static final Logger logger = Logger.getLogger(OrderWriteBehind.class.getName());
+    private static final int RECORD_VERSION = 1;
+
+    // Instance yang dipakai OrderDAO.saveOrderWriteBehind; null bila journal.enabled=false (default)
+    private static volatile OrderWriteBehind current;
+
+    private final OrderJournal journal;
+    private final OrderDAO orderDAO;
+    private final int batchSize;
+    private final long retryMs;
+    private volatile boolean running;
+    private volatile String problem;
+    private volatile Thread flusher;
+
+    public OrderWriteBehind(OrderJournal journal, OrderDAO orderDAO, int batchSize, long retryMs) {
+        this.journal = journal;
+        this.orderDAO = orderDAO;
+        this.batchSize = batchSize;
+        this.retryMs = retryMs;
+    }
+
+    // Dari db.properties (journal.*); jurnal dibuka dan dipulihkan sekarang, flusher
+    // baru jalan setelah start()
+    public static OrderWriteBehind open() throws IOException {
+        if (!Boolean.parseBoolean(KoneksiDB.getSetting("journal.enabled", "false").trim())) {
+            return null;
+        }
+        OrderJournal journal = new OrderJournal(
+            Paths.get(KoneksiDB.getSetting("journal.dir", "journal").trim()),
+            KoneksiDB.getIntSetting("journal.segmentMb", 8) * 1024L * 1024L,
+            KoneksiDB.getIntSetting("journal.syncIntervalMs", 0));
+        OrderWriteBehind writeBehind = new OrderWriteBehind(journal, new OrderDAO(),
+            KoneksiDB.getIntSetting("journal.batchSize", 100),
+            KoneksiDB.getIntSetting("journal.retryMs", 5000));
+        current = writeBehind;
+        return writeBehind;
+    }
+
+    public static OrderWriteBehind getCurrent() {
+        return current;
+    }
+
+    // Total dihitung dan client_ref diisi di sini; id database baru ada setelah replay
+    public String save(Order order) throws IOException {
+        try (Metrics.Sample sample = Metrics.start("OrderWriteBehind.save")) {
+            order.calculateTotal();
+            if (order.getClientRef() == null) {
+                order.setClientRef(UUID.randomUUID().toString());
+            }
+            journal.append(encode(order));
+            return order.getClientRef();
+        }
+    }
+
+    public int getPendingCount() {
+        return journal.getPendingCount();
+    }
+
+    // null bila jurnal berjalan normal; selain itu alasan order tertahan di jurnal
+    public String getProblem() {
+        Thread thread = flusher;
+        if (running && thread != null && !thread.isAlive()) {
+            return "pengirim jurnal berhenti";
+        }
+        IOException syncFailure = journal.getSyncFailure();
+        if (syncFailure != null) {
+            return "fsync jurnal gagal: " + syncFailure.getMessage();
+        }
+        return problem;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "order-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Order yang belum terkirim tetap di jurnal untuk start berikutnya
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = flusher;
+            flusher = null;
+        }
+        try {
+            if (thread != null) {
+                thread.interrupt();
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Jurnal order tidak tertutup bersih", e);
+        }
+        if (current == this) {
+            current = null;
+        }
+    }
+
+    // Untuk test dan shutdown yang ingin menunggu jurnal kosong
+    public boolean awaitFlushed(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (journal.getPendingCount() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private void flushLoop() {
+        // Setelah batch gagal, record dikirim satu per satu sampai ada yang berhasil,
+        // supaya satu order yang ditolak bisa dipisahkan dari yang lain
+        boolean isolate = false;
+        // Record yang sudah sekali ditolak; penolakan kedua baru memindahkannya ke rejected
+        long rejectedOnce = 0;
+        while (running) {
+            try {
+                List<OrderJournal.Entry> batch = journal.awaitPending(isolate ? 1 : batchSize, 1, TimeUnit.SECONDS);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                try {
+                    List<byte[]> records = new ArrayList<>(batch.size());
+                    for (OrderJournal.Entry entry : batch) {
+                        records.add(entry.getPayload());
+                    }
+                    orderDAO.replayJournal(records);
+                    journal.checkpoint(batch.get(batch.size() - 1).getSequence());
+                    isolate = false;
+                    problem = null;
+                } catch (RuntimeException e) {
+                    if (batch.size() > 1) {
+                        isolate = true;
+                    } else if (isRejected(e) && rejectedOnce != batch.get(0).getSequence()) {
+                        // Mis. client_ref bentrok dengan order yang sama yang baru saja commit:
+                        // pengiriman berikutnya melewatinya lewat cek client_ref di replayJournal
+                        logger.log(Level.WARNING, "Order jurnal #" + batch.get(0).getSequence() +
+                            " ditolak database, dikirim sekali lagi: " + e.getMessage());
+                        rejectedOnce = batch.get(0).getSequence();
+                    } else if (isRejected(e)) {
+                        logger.log(Level.SEVERE, "Order jurnal #" + batch.get(0).getSequence() +
+                            " ditolak database, dipindah ke journal/rejected", e);
+                        Metrics.increment("OrderWriteBehind.rejected");
+                        journal.reject(batch.get(0));
+                        problem = null;
+                    } else {
+                        logger.log(Level.WARNING, journal.getPendingCount() +
+                            " order menunggu database, dicoba lagi dalam " + retryMs + " ms: " + e.getMessage());
+                        Metrics.increment("OrderWriteBehind.retry");
+                        Thread.sleep(retryMs);
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | UncheckedIOException e) {
+                // Order sudah di database tapi belum tercatat di jurnal; dikirim ulang nanti
+                logger.log(Level.SEVERE, "Checkpoint jurnal order gagal, dicoba lagi dalam " + retryMs + " ms", e);
+                Metrics.increment("OrderWriteBehind.checkpointFailed");
+                problem = "checkpoint gagal: " + e.getMessage();
+                try {
+                    Thread.sleep(retryMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Ditolak oleh data, bukan karena database sedang tidak bisa dihubungi
+    private static boolean isRejected(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException || cause instanceof DataException
+                    || cause instanceof IllegalArgumentException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static byte[] encode(Order order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(RECORD_VERSION);
+            out.writeUTF(order.getClientRef());
+            writeTime(out, order.getCreatedAt());
+            out.writeUTF(order.getStatus());
+            writeNullable(out, order.getOrderType());
+            writeNullable(out, order.getPaymentMethod());
+            out.writeLong(order.getAdminFee().getCents());
+            out.writeInt(order.getItems().size());
+            for (OrderItem item : order.getItems()) {
+                out.writeInt(item.getMenuItem().getId());
+                out.writeInt(item.getQuantity());
+                out.writeLong(item.getPriceAtOrder().getCents());
+                writeTime(out, item.getCreatedAt());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // menu memberi referensi MenuItem per id, biasanya session.load di OrderDAO
+    static Order decode(byte[] record, IntFunction<MenuItem> menu) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            int version = in.readUnsignedByte();
+            if (version != RECORD_VERSION) {
+                throw new IllegalArgumentException("Versi record jurnal tidak dikenal: " + version);
+            }
+            Order order = new Order();
+            order.setClientRef(in.readUTF());
+            order.setCreatedAt(readTime(in));
+            order.setStatus(in.readUTF());
+            order.setOrderType(readNullable(in));
+            order.setPaymentMethod(readNullable(in));
+            order.setAdminFee(Money.ofCents(in.readLong()));
+            int items = in.readInt();
+            for (int i = 0; i < items; i++) {
+                OrderItem item = new OrderItem();
+                int menuItemId = in.readInt();
+                item.setQuantity(in.readInt());
+                item.restore(menu.apply(menuItemId), Money.ofCents(in.readLong()), readTime(in));
+                order.getItems().add(item);
+                item.setOrder(order);
+            }
+            return order;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Record jurnal tidak bisa dibaca", e);
+        }
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
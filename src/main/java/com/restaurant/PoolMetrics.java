@@ -0,0 +1,80 @@
+package com.restaurant;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+// Statistik connection pool: jumlah koneksi dan latency mengambil koneksi
+public class PoolMetrics implements MetricsTrackerFactory, IMetricsTracker {
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireNanosTotal = new AtomicLong();
+    private final LongAccumulator acquireNanosMax = new LongAccumulator(Math::max, 0);
+    private final AtomicLong timeouts = new AtomicLong();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquireCount.incrementAndGet();
+        acquireNanosTotal.addAndGet(elapsedAcquiredNanos);
+        acquireNanosMax.accumulate(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.incrementAndGet();
+    }
+
+    public int getActiveConnections() {
+        return poolStats != null ? poolStats.getActiveConnections() : 0;
+    }
+
+    public int getIdleConnections() {
+        return poolStats != null ? poolStats.getIdleConnections() : 0;
+    }
+
+    public int getTotalConnections() {
+        return poolStats != null ? poolStats.getTotalConnections() : 0;
+    }
+
+    // Thread yang sedang menunggu koneksi kosong
+    public int getPendingThreads() {
+        return poolStats != null ? poolStats.getPendingThreads() : 0;
+    }
+
+    public int getMaxConnections() {
+        return poolStats != null ? poolStats.getMaxConnections() : 0;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.get();
+    }
+
+    public double getAverageAcquireMillis() {
+        long count = acquireCount.get();
+        return count == 0 ? 0 : acquireNanosTotal.get() / (double) count / 1_000_000;
+    }
+
+    public double getMaxAcquireMillis() {
+        return acquireNanosMax.get() / 1_000_000.0;
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pool: %d aktif, %d idle, %d/%d total, %d menunggu | ambil koneksi rata-rata %.2f ms, maks %.2f ms, timeout %d",
+            getActiveConnections(), getIdleConnections(), getTotalConnections(), getMaxConnections(),
+            getPendingThreads(), getAverageAcquireMillis(), getMaxAcquireMillis(), getTimeouts());
+    }
+}
@@ -0,0 +1,150 @@
+package com.restaurant;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Menentukan apakah query baca (laporan, daftar order) boleh dilayani replika.
+// Thread "replica-heartbeat" tiap replica.checkIntervalMs menulis detak ke
+// replica_heartbeat di primary lalu membaca detak yang sudah tereplikasi dari replika;
+// selisihnya dengan jam replika adalah lag. Replika dipakai hanya bila pengecekan
+// terakhir berhasil dan belum kedaluwarsa, dan lag <= replica.maxLagMs.
+// Setelah terminal ini menulis order, baca dialihkan ke primary selama kira-kira lag
+// replika supaya perubahan sendiri langsung terlihat (dan tidak ikut masuk ReportCache
+// dalam keadaan basi).
+public class ReplicaRouter {
+    private static final Logger logger = Logger.getLogger(ReplicaRouter.class.getName());
+
+    private final SessionFactory primary;
+    private final SessionFactory replica;
+    private final long maxLagMillis;
+    private final long intervalMillis;
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+    private volatile long checkedAt;
+    private volatile long lastWriteAt;
+
+    public ReplicaRouter(SessionFactory primary, SessionFactory replica, long maxLagMillis, long intervalMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public SessionFactory getReplica() {
+        return replica;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            beat();
+            check();
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public boolean useReplica() {
+        if (!healthy || lagMillis > maxLagMillis) {
+            return false;
+        }
+        long now = System.nanoTime();
+        // Hasil pengecekan yang terlalu lama (thread heartbeat macet) tidak dipercaya
+        if (now - checkedAt > TimeUnit.MILLISECONDS.toNanos(3 * intervalMillis)) {
+            return false;
+        }
+        long sinceWrite = now - lastWriteAt;
+        return lastWriteAt == 0 || sinceWrite > TimeUnit.MILLISECONDS.toNanos(lagMillis + intervalMillis);
+    }
+
+    // Dipanggil setelah transaksi tulis di primary: commit order (OrderDAO, OrderArchiveDAO)
+    // dan hitung ulang rollup (SalesRollupDAO)
+    public void markWrite() {
+        lastWriteAt = System.nanoTime();
+    }
+
+    // Query ke replika gagal: baca ke primary sampai pengecekan berikutnya berhasil
+    public void markDown(Throwable cause) {
+        if (healthy) {
+            logger.log(Level.WARNING, "Replika tidak bisa dipakai, baca dialihkan ke primary: " + cause.getMessage());
+        }
+        healthy = false;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public String getStatusText() {
+        if (!healthy) {
+            return "Replika: tidak tersedia, baca ke primary";
+        }
+        if (lagMillis > maxLagMillis) {
+            return String.format("Replika: tertinggal %.1f s, baca ke primary", lagMillis / 1000.0);
+        }
+        return "Replika: lag " + lagMillis + " ms";
+    }
+
+    void beat() {
+        try (Session session = primary.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                session.createNativeQuery("UPDATE replica_heartbeat SET beat_at = LOCALTIMESTAMP(3) WHERE id = 1")
+                    .executeUpdate();
+                transaction.commit();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Gagal menulis detak replika ke primary", e);
+        }
+    }
+
+    void check() {
+        try (StatelessSession session = replica.openStatelessSession()) {
+            Object[] row = (Object[]) session.createNativeQuery(
+                    "SELECT beat_at, LOCALTIMESTAMP(3) FROM replica_heartbeat WHERE id = 1")
+                .uniqueResult();
+            if (row == null) {
+                throw new IllegalStateException("Baris replica_heartbeat belum ada di replika");
+            }
+            long lag = ((Timestamp) row[1]).getTime() - ((Timestamp) row[0]).getTime();
+            lagMillis = Math.max(0, lag);
+            checkedAt = System.nanoTime();
+            if (!healthy) {
+                logger.info("Replika tersedia, lag " + lagMillis + " ms");
+            }
+            healthy = true;
+        } catch (RuntimeException e) {
+            markDown(e);
+        }
+    }
+}
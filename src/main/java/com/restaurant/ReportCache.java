@@ -0,0 +1,149 @@
+package com.restaurant;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Cache hasil satu jenis laporan, disimpan per hari. Baris dari loader selalu diawali
+// tanggal (kolom 0) sehingga bisa dipecah per hari:
+// - hari yang sudah lewat dimuat sekali (rentang hari yang belum ada sekaligus dalam
+//   satu query) lalu disimpan sampai di-invalidate
+// - hari ini dan sesudahnya tidak pernah disimpan, selalu dihitung ulang (satu hari rollup)
+// Hasil akhir untuk rentang yang diminta disusun dari potongan per hari lewat merge.
+//
+// invalidate dipanggil SalesRollupDAO setelah rollup suatu rentang hari di-commit di proses
+// ini, dan oleh ReportDAO untuk hari yang dihitung ulang terminal lain
+// (daily_sales_rollup_rebuilt), jadi semua jalur tulis ikut membuang hari yang berubah.
+// Hasil muat yang berjalan bersamaan dengan invalidate dipakai tetapi tidak disimpan.
+public class ReportCache {
+    private static final List<ReportCache> caches = new CopyOnWriteArrayList<>();
+
+    public interface Loader {
+        // Baris [tanggal, ...] untuk [fromDate, toDate); toDate null berarti tanpa batas atas
+        List<Object[]> load(LocalDate fromDate, LocalDate toDate);
+    }
+
+    private final Loader loader;
+    private final Function<List<Object[]>, List<Object[]>> merge;
+    private final Supplier<LocalDate> firstDate;
+    private final NavigableMap<LocalDate, List<Object[]>> days = new TreeMap<>();
+    private final NavigableSet<LocalDate> loadedDays = new TreeSet<>();
+    private long generation;
+    private long loads;
+
+    // firstDate dipakai bila fromDate null (semua data); null dari supplier berarti belum ada data
+    public ReportCache(Loader loader, Function<List<Object[]>, List<Object[]>> merge, Supplier<LocalDate> firstDate) {
+        this.loader = loader;
+        this.merge = merge;
+        this.firstDate = firstDate;
+        caches.add(this);
+    }
+
+    // Rentang setengah terbuka [fromDate, toDate); null berarti tanpa batas
+    public List<Object[]> get(LocalDate fromDate, LocalDate toDate) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = fromDate != null ? fromDate : firstDate.get();
+        LocalDate closedEnd = toDate != null && toDate.isBefore(today) ? toDate : today;
+
+        Map<LocalDate, List<Object[]>> closed = start != null && start.isBefore(closedEnd) ?
+            closedDays(start, closedEnd) : Collections.emptyMap();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate day = start; day != null && day.isBefore(closedEnd); day = day.plusDays(1)) {
+            rows.addAll(closed.getOrDefault(day, Collections.emptyList()));
+        }
+        if (toDate == null || toDate.isAfter(today)) {
+            LocalDate openStart = start != null && start.isAfter(today) ? start : today;
+            rows.addAll(loader.load(openStart, toDate));
+        }
+        return merge.apply(rows);
+    }
+
+    // Hari lewat dari cache, hari yang belum ada dimuat per rangkaian hari berurutan
+    private Map<LocalDate, List<Object[]>> closedDays(LocalDate start, LocalDate end) {
+        Map<LocalDate, List<Object[]>> result = new HashMap<>();
+        List<LocalDate[]> missing = new ArrayList<>();
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+            LocalDate runStart = null;
+            for (LocalDate day = start; day.isBefore(end); day = day.plusDays(1)) {
+                if (loadedDays.contains(day)) {
+                    result.put(day, days.getOrDefault(day, Collections.emptyList()));
+                    if (runStart != null) {
+                        missing.add(new LocalDate[]{runStart, day});
+                        runStart = null;
+                    }
+                } else if (runStart == null) {
+                    runStart = day;
+                }
+            }
+            if (runStart != null) {
+                missing.add(new LocalDate[]{runStart, end});
+            }
+        }
+
+        for (LocalDate[] range : missing) {
+            Map<LocalDate, List<Object[]>> loaded = new HashMap<>();
+            for (Object[] row : loader.load(range[0], range[1])) {
+                loaded.computeIfAbsent((LocalDate) row[0], day -> new ArrayList<>()).add(row);
+            }
+            result.putAll(loaded);
+            synchronized (this) {
+                loads++;
+                if (generation != startGeneration) {
+                    continue;
+                }
+                for (LocalDate day = range[0]; day.isBefore(range[1]); day = day.plusDays(1)) {
+                    loadedDays.add(day);
+                    List<Object[]> rows = loaded.get(day);
+                    if (rows != null) {
+                        days.put(day, Collections.unmodifiableList(rows));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private synchronized void invalidateRange(LocalDate fromDate, LocalDate toDate) {
+        generation++;
+        loadedDays.subSet(fromDate, toDate).clear();
+        days.subMap(fromDate, toDate).clear();
+    }
+
+    private synchronized void clear() {
+        generation++;
+        loadedDays.clear();
+        days.clear();
+    }
+
+    // Jumlah query hari lewat yang sudah dijalankan, untuk test
+    synchronized long getLoads() {
+        return loads;
+    }
+
+    // Buang hari [fromDate, toDate) dari semua cache laporan
+    static void invalidate(LocalDate fromDate, LocalDate toDate) {
+        for (ReportCache cache : caches) {
+            cache.invalidateRange(fromDate, toDate);
+        }
+    }
+
+    // Mis. setelah nama menu berubah, yang ikut tampil di laporan menu populer
+    public static void invalidateAll() {
+        for (ReportCache cache : caches) {
+            cache.clear();
+        }
+    }
+}
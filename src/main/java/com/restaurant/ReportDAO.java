@@ -0,0 +1,259 @@
+package com.restaurant;
+
+import org.hibernate.SharedSessionContract;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.Query;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Semua laporan dibaca dari daily_sales_rollup (lihat SalesRollupDAO), jadi
+// waktunya bergantung pada jumlah hari di rentang, bukan jumlah order.
+// Laporan di layar disusun dari hasil per hari yang di-cache (lihat ReportCache):
+// hari yang sudah lewat hanya di-query sekali, hari ini selalu dihitung ulang.
+// Laporan dan export dibaca dari replika bila ada (lihat ReplicaRouter).
+// Hari lewat yang rollup-nya dihitung ulang terminal lain dibuang dari cache lewat
+// daily_sales_rollup_rebuilt, diperiksa paling sering tiap report.rebuiltCheckSeconds.
+public class ReportDAO {
+    private static final Logger logger = Logger.getLogger(ReportDAO.class.getName());
+    private static final SalesRollupDAO rollupDAO = new SalesRollupDAO();
+    private static final long REBUILT_CHECK_NANOS =
+        TimeUnit.SECONDS.toNanos(KoneksiDB.getIntSetting("report.rebuiltCheckSeconds", 5));
+    // Hitung ulang yang commit setelah pemeriksaan tetapi bertanda waktu sebelumnya
+    private static final int REBUILT_OVERLAP_SECONDS = 60;
+    private static final int INVALIDATE_CHUNK_DAYS = 31;
+
+    private static final Object rebuiltLock = new Object();
+    private static final Map<LocalDate, LocalDateTime> seenRebuilds = new HashMap<>();
+    private static LocalDateTime rebuiltSince;
+    private static long lastRebuiltCheck;
+
+    // Baris per hari diawali tanggal; merge menjumlahkan hari-hari itu menjadi bentuk laporan
+    private static final ReportCache salesSummaryCache = new ReportCache(
+        (fromDate, toDate) -> list(salesSummaryHql(fromDate, toDate), fromDate, toDate),
+        rows -> rows,
+        rollupDAO::getFirstRollupDate);
+    private static final ReportCache popularItemsCache = new ReportCache(
+        (fromDate, toDate) -> list(dailyPopularItemsHql(fromDate, toDate), fromDate, toDate),
+        ReportDAO::mergePopularItems,
+        rollupDAO::getFirstRollupDate);
+    private static final ReportCache statusSummaryCache = new ReportCache(
+        (fromDate, toDate) -> list(dailyStatusSummaryHql(fromDate, toDate), fromDate, toDate),
+        ReportDAO::mergeStatusSummary,
+        rollupDAO::getFirstRollupDate);
+
+    // Rentang tanggal setengah terbuka [fromDate, toDate); null berarti tanpa batas
+
+    // Total pendapatan dijumlahkan dalam sen (Long); ubah dengan Money.ofCents untuk ditampilkan
+
+    // [tanggal, tipe order, pembayaran, jumlah order, total pendapatan]
+    public List<Object[]> getSalesSummary(LocalDate fromDate, LocalDate toDate) {
+        syncRebuiltDaysIfDue();
+        return salesSummaryCache.get(fromDate, toDate);
+    }
+
+    // [nama menu, kategori, jumlah terjual, total pendapatan], terlaris dulu
+    public List<Object[]> getPopularItems(LocalDate fromDate, LocalDate toDate) {
+        syncRebuiltDaysIfDue();
+        return popularItemsCache.get(fromDate, toDate);
+    }
+
+    // [status, jumlah order, total pendapatan]
+    public List<Object[]> getStatusSummary(LocalDate fromDate, LocalDate toDate) {
+        syncRebuiltDaysIfDue();
+        return statusSummaryCache.get(fromDate, toDate);
+    }
+
+    private static void syncRebuiltDaysIfDue() {
+        synchronized (rebuiltLock) {
+            if (rebuiltSince != null && System.nanoTime() - lastRebuiltCheck < REBUILT_CHECK_NANOS) {
+                return;
+            }
+            lastRebuiltCheck = System.nanoTime();
+        }
+        try {
+            syncRebuiltDays();
+        } catch (RuntimeException e) {
+            // Laporan tetap dari cache; diperiksa lagi pada interval berikutnya
+            logger.log(Level.FINE, "Gagal memeriksa rollup yang dihitung ulang", e);
+        }
+    }
+
+    // Buang dari ReportCache hari yang rollup-nya dihitung ulang sejak pemeriksaan sebelumnya,
+    // di terminal mana pun. Waktu hitung ulang per hari diingat selama jendela overlap,
+    // jadi hari yang sama tidak dibuang berulang kali. Pemeriksaan pertama hanya mencatat
+    // tanda awal karena cache masih kosong.
+    static void syncRebuiltDays() {
+        synchronized (rebuiltLock) {
+            lastRebuiltCheck = System.nanoTime();
+            if (rebuiltSince == null) {
+                LocalDateTime latest = rollupDAO.getLatestRebuild();
+                rebuiltSince = latest != null ? latest : LocalDateTime.of(1970, 1, 1, 0, 0);
+                return;
+            }
+            TreeSet<LocalDate> stale = new TreeSet<>();
+            for (Map.Entry<LocalDate, LocalDateTime> entry :
+                    rollupDAO.getRebuiltDays(rebuiltSince.minusSeconds(REBUILT_OVERLAP_SECONDS)).entrySet()) {
+                if (!entry.getValue().equals(seenRebuilds.put(entry.getKey(), entry.getValue()))) {
+                    stale.add(entry.getKey());
+                }
+                if (entry.getValue().isAfter(rebuiltSince)) {
+                    rebuiltSince = entry.getValue();
+                }
+            }
+            LocalDateTime forgetBefore = rebuiltSince.minusSeconds(REBUILT_OVERLAP_SECONDS);
+            seenRebuilds.values().removeIf(rebuiltAt -> rebuiltAt.isBefore(forgetBefore));
+            if (!stale.isEmpty()) {
+                // Replika mungkin belum menerima hitung ulang itu
+                KoneksiDB.markWrite();
+                for (LocalDate[] range : SalesRollupDAO.ranges(stale, INVALIDATE_CHUNK_DAYS)) {
+                    ReportCache.invalidate(range[0], range[1]);
+                }
+            }
+        }
+    }
+
+    private static List<Object[]> list(String hql, LocalDate fromDate, LocalDate toDate) {
+        return KoneksiDB.read(session -> createQuery(session, hql, fromDate, toDate).list());
+    }
+
+    // [tanggal, nama, kategori, jumlah, pendapatan] -> [nama, kategori, jumlah, pendapatan]
+    private static List<Object[]> mergePopularItems(List<Object[]> dailyRows) {
+        Map<List<Object>, long[]> totals = new LinkedHashMap<>();
+        for (Object[] row : dailyRows) {
+            long[] total = totals.computeIfAbsent(Arrays.asList(row[1], row[2]), key -> new long[2]);
+            total[0] += (Long) row[3];
+            total[1] += (Long) row[4];
+        }
+        List<Object[]> result = new ArrayList<>(totals.size());
+        for (Map.Entry<List<Object>, long[]> entry : totals.entrySet()) {
+            result.add(new Object[]{entry.getKey().get(0), entry.getKey().get(1), entry.getValue()[0], entry.getValue()[1]});
+        }
+        result.sort(Comparator.comparing((Object[] row) -> (Long) row[2]).reversed());
+        return result;
+    }
+
+    // [tanggal, status, jumlah order, pendapatan] -> [status, jumlah order, pendapatan]
+    private static List<Object[]> mergeStatusSummary(List<Object[]> dailyRows) {
+        Map<Object, long[]> totals = new TreeMap<>();
+        for (Object[] row : dailyRows) {
+            long[] total = totals.computeIfAbsent(row[1], key -> new long[2]);
+            total[0] += (Long) row[2];
+            total[1] += (Long) row[3];
+        }
+        List<Object[]> result = new ArrayList<>(totals.size());
+        for (Map.Entry<Object, long[]> entry : totals.entrySet()) {
+            result.add(new Object[]{entry.getKey(), entry.getValue()[0], entry.getValue()[1]});
+        }
+        return result;
+    }
+
+    // Varian export: kolom sama dengan laporan di atas, baris dialirkan ke handler
+    // lewat cursor (lihat RowStream) dan mengembalikan jumlah baris
+
+    public long exportSalesSummary(LocalDate fromDate, LocalDate toDate, RowStream.Handler handler) throws IOException {
+        return export(salesSummaryHql(fromDate, toDate), fromDate, toDate, handler);
+    }
+
+    public long exportPopularItems(LocalDate fromDate, LocalDate toDate, RowStream.Handler handler) throws IOException {
+        return export(popularItemsHql(fromDate, toDate), fromDate, toDate, handler);
+    }
+
+    public long exportStatusSummary(LocalDate fromDate, LocalDate toDate, RowStream.Handler handler) throws IOException {
+        return export(statusSummaryHql(fromDate, toDate), fromDate, toDate, handler);
+    }
+
+    private long export(String hql, LocalDate fromDate, LocalDate toDate, RowStream.Handler handler) throws IOException {
+        try (StatelessSession session = KoneksiDB.getReadSessionFactory().openStatelessSession()) {
+            return RowStream.scroll(createQuery(session, hql, fromDate, toDate), handler);
+        }
+    }
+
+    private static String salesSummaryHql(LocalDate fromDate, LocalDate toDate) {
+        return "SELECT r.salesDate, r.orderType, r.paymentMethod, SUM(r.orderCount), SUM(r.revenueCents) " +
+               "FROM DailySalesRollup r WHERE r.menuItemId = :orderLevel " +
+               dateRange(fromDate, toDate) +
+               "GROUP BY r.salesDate, r.orderType, r.paymentMethod " +
+               "ORDER BY r.salesDate";
+    }
+
+    private static String dailyPopularItemsHql(LocalDate fromDate, LocalDate toDate) {
+        return "SELECT r.salesDate, m.name, m.category, SUM(r.itemQuantity), SUM(r.revenueCents) " +
+               "FROM DailySalesRollup r, MenuItem m " +
+               "WHERE m.id = r.menuItemId AND r.menuItemId <> :orderLevel " +
+               dateRange(fromDate, toDate) +
+               "GROUP BY r.salesDate, m.name, m.category";
+    }
+
+    private static String dailyStatusSummaryHql(LocalDate fromDate, LocalDate toDate) {
+        return "SELECT r.salesDate, r.status, SUM(r.orderCount), SUM(r.revenueCents) " +
+               "FROM DailySalesRollup r WHERE r.menuItemId = :orderLevel " +
+               dateRange(fromDate, toDate) +
+               "GROUP BY r.salesDate, r.status";
+    }
+
+    private static String popularItemsHql(LocalDate fromDate, LocalDate toDate) {
+        return "SELECT m.name, m.category, SUM(r.itemQuantity), SUM(r.revenueCents) " +
+               "FROM DailySalesRollup r, MenuItem m " +
+               "WHERE m.id = r.menuItemId AND r.menuItemId <> :orderLevel " +
+               dateRange(fromDate, toDate) +
+               "GROUP BY m.name, m.category ORDER BY SUM(r.itemQuantity) DESC";
+    }
+
+    private static String statusSummaryHql(LocalDate fromDate, LocalDate toDate) {
+        return "SELECT r.status, SUM(r.orderCount), SUM(r.revenueCents) " +
+               "FROM DailySalesRollup r WHERE r.menuItemId = :orderLevel " +
+               dateRange(fromDate, toDate) +
+               "GROUP BY r.status";
+    }
+
+    private static String dateRange(LocalDate fromDate, LocalDate toDate) {
+        String range = "";
+        if (fromDate != null) {
+            range += "AND r.salesDate >= :startDate ";
+        }
+        if (toDate != null) {
+            range += "AND r.salesDate < :endDate ";
+        }
+        return range;
+    }
+
+    private static Query<Object[]> createQuery(SharedSessionContract session, String hql, LocalDate fromDate, LocalDate toDate) {
+        Query<Object[]> query = session.createQuery(hql, Object[].class)
+            .setParameter("orderLevel", DailySalesRollup.ORDER_LEVEL);
+        if (fromDate != null) {
+            query.setParameter("startDate", fromDate);
+        }
+        if (toDate != null) {
+            query.setParameter("endDate", toDate);
+        }
+        return query;
+    }
+
+    // Varian asynchronous, dijalankan di DbExecutor agar tidak memblokir EDT
+
+    public CompletableFuture<List<Object[]>> getSalesSummaryAsync(LocalDate fromDate, LocalDate toDate) {
+        return DbExecutor.supply(() -> getSalesSummary(fromDate, toDate));
+    }
+
+    public CompletableFuture<List<Object[]>> getPopularItemsAsync(LocalDate fromDate, LocalDate toDate) {
+        return DbExecutor.supply(() -> getPopularItems(fromDate, toDate));
+    }
+
+    public CompletableFuture<List<Object[]>> getStatusSummaryAsync(LocalDate fromDate, LocalDate toDate) {
+        return DbExecutor.supply(() -> getStatusSummary(fromDate, toDate));
+    }
+}
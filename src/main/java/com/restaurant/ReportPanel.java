@@ -2,24 +2,55 @@ package com.restaurant;
 
 import java.util.List;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.time.*;
 import java.time.format.*;
 import java.util.*;
+import java.util.function.Consumer;
 import javax.swing.border.*;
 import com.toedter.calendar.JDateChooser;
-import org.hibernate.*;
-import org.hibernate.query.Query;
 
 public class ReportPanel extends JPanel {
+    private final ReportDAO reportDAO = new ReportDAO();
+    private final LoadingIndicator loadingIndicator = new LoadingIndicator();
+    private final LatestQuery<List<Object[]>> reportQuery = new LatestQuery<>(loadingIndicator);
     private final JTable reportTable;
-    private final DefaultTableModel tableModel;
+    private final RowTableModel<Object[]> tableModel;
+    private final TableRowSorter<RowTableModel<Object[]>> sorter;
+    private final JTextField searchField = new JTextField(12);
     private final JComboBox<String> reportTypeCombo;
     private final JDateChooser dateFromChooser;
+    private final JDateChooser dateToChooser;
     private final JCheckBox showAllCheckBox;
 
+    // Renderer dibuat sekali dan dipakai semua jenis laporan
+    private final FormattingRenderer plainRenderer = FormattingRenderer.plain();
+    private final FormattingRenderer dateRenderer = FormattingRenderer.date("dd-MM-yyyy");
+    private final FormattingRenderer rupiahRenderer = FormattingRenderer.rupiah();
+    private final FormattingRenderer percentRenderer = FormattingRenderer.percent();
+
+    // Baris tiap laporan berisi nilai mentah sesuai urutan kolom di bawah
+    private final List<RowTableModel.Column<Object[]>> salesColumns = Arrays.asList(
+        column("Tanggal", LocalDate.class, 0, dateRenderer),
+        column("Tipe Order", String.class, 1, plainRenderer),
+        column("Pembayaran", String.class, 2, plainRenderer),
+        column("Jumlah Order", Long.class, 3, plainRenderer),
+        column("Total Pendapatan", Money.class, 4, rupiahRenderer));
+    private final List<RowTableModel.Column<Object[]>> popularColumns = Arrays.asList(
+        column("Menu", String.class, 0, plainRenderer),
+        column("Kategori", String.class, 1, plainRenderer),
+        column("Jumlah Terjual", Long.class, 2, plainRenderer),
+        column("Total Pendapatan", Money.class, 3, rupiahRenderer));
+    private final List<RowTableModel.Column<Object[]>> statusColumns = Arrays.asList(
+        column("Status", String.class, 0, plainRenderer),
+        column("Jumlah Order", Long.class, 1, plainRenderer),
+        column("Total Pendapatan", Money.class, 2, rupiahRenderer),
+        column("Persentase", Double.class, 3, percentRenderer));
+
     public ReportPanel() {
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -33,6 +64,7 @@ public class ReportPanel extends JPanel {
             "Menu Populer", 
             "Ringkasan Status Order"
         });
+        reportTypeCombo.addActionListener(e -> generateReport());
         filterPanel.add(reportTypeCombo);
 
         // Date filter
@@ -40,12 +72,21 @@ public class ReportPanel extends JPanel {
         dateFromChooser = new JDateChooser();
         dateFromChooser.setDateFormatString("dd-MM-yyyy");
         dateFromChooser.setDate(new Date());
+        dateFromChooser.addPropertyChangeListener("date", e -> generateReport());
         filterPanel.add(dateFromChooser);
 
+        filterPanel.add(new JLabel("Sampai Tanggal:"));
+        dateToChooser = new JDateChooser();
+        dateToChooser.setDateFormatString("dd-MM-yyyy");
+        dateToChooser.setDate(new Date());
+        dateToChooser.addPropertyChangeListener("date", e -> generateReport());
+        filterPanel.add(dateToChooser);
+
         // Show all checkbox
         showAllCheckBox = new JCheckBox("Tampilkan Semua");
         showAllCheckBox.addActionListener(e -> {
             dateFromChooser.setEnabled(!showAllCheckBox.isSelected());
+            dateToChooser.setEnabled(!showAllCheckBox.isSelected());
             generateReport();
         });
         filterPanel.add(showAllCheckBox);
@@ -54,15 +95,31 @@ public class ReportPanel extends JPanel {
         generateBtn.addActionListener(e -> generateReport());
         filterPanel.add(generateBtn);
 
-        // Table setup
-        String[] columns = {"Periode", "Jumlah Order", "Total Pendapatan", "Rata-rata per Order"};
-        tableModel = new DefaultTableModel(columns, 0) {
+        // Filter dan sort di sisi tabel, tanpa query ulang
+        filterPanel.add(new JLabel("Cari:"));
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+            public void insertUpdate(DocumentEvent e) { applyFilter(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { applyFilter(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { applyFilter(); }
+        });
+        filterPanel.add(searchField);
+
+        JButton exportBtn = new JButton("Export...");
+        exportBtn.addActionListener(e -> exportReport());
+        filterPanel.add(exportBtn);
+        filterPanel.add(loadingIndicator);
+
+        // Table setup
+        tableModel = new RowTableModel<>(salesColumns);
         reportTable = new JTable(tableModel);
+        sorter = tableModel.createSorter();
+        reportTable.setRowSorter(sorter);
+        tableModel.installRenderers(reportTable.getColumnModel());
 
         // Center header kolom
         ((DefaultTableCellRenderer) reportTable.getTableHeader().getDefaultRenderer())
@@ -77,176 +134,163 @@ public class ReportPanel extends JPanel {
     }
 
     private void generateReport() {
-        try {
-            String reportType = (String) reportTypeCombo.getSelectedItem();
-            tableModel.setRowCount(0);
-
-            LocalDate fromDate = null;
-            if (!showAllCheckBox.isSelected() && dateFromChooser.getDate() != null) {
-                fromDate = dateFromChooser.getDate().toInstant()
-                        .atZone(ZoneId.systemDefault())
-                        .toLocalDate();
-            }
-
-            switch (reportType) {
-                case "Ringkasan Penjualan":
-                    generateSalesSummary(fromDate);
-                    break;
-                case "Menu Populer":
-                    generatePopularItems(fromDate);
-                    break;
-                case "Ringkasan Status Order":
-                    generateStatusSummary(fromDate);
-                    break;
-            }
-
-            centerTableContent();
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error generating report: " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+        String reportType = (String) reportTypeCombo.getSelectedItem();
+        LocalDate fromDate = selectedFromDate();
+        LocalDate toDate = selectedToDate();
+
+        switch (reportType) {
+            case "Ringkasan Penjualan":
+                reportQuery.submit(reportDAO.getSalesSummaryAsync(fromDate, toDate),
+                    timed(reportType, this::showSalesSummary),
+                    e -> showError("Error generating sales summary: ", e));
+                break;
+            case "Menu Populer":
+                reportQuery.submit(reportDAO.getPopularItemsAsync(fromDate, toDate),
+                    timed(reportType, this::showPopularItems),
+                    e -> showError("Error generating popular items report: ", e));
+                break;
+            case "Ringkasan Status Order":
+                reportQuery.submit(reportDAO.getStatusSummaryAsync(fromDate, toDate),
+                    timed(reportType, this::showStatusSummary),
+                    e -> showError("Error generating status summary: ", e));
+                break;
         }
     }
 
-    private void generateSalesSummary(LocalDate fromDate) {
-        tableModel.setColumnIdentifiers(new String[]{"Tanggal", "Tipe Order", "Pembayaran", "Jumlah Order", "Total Pendapatan"});
-
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
-            String hql = "SELECT CAST(o.createdAt AS date), " +
-                       "o.orderType, o.paymentMethod, COUNT(o.id), SUM(o.total) FROM Order o ";
-
-            if (fromDate != null) {
-                hql += "WHERE CAST(o.createdAt AS date) >= :startDate ";
-            }
-
-            hql += "GROUP BY CAST(o.createdAt AS date), o.orderType, o.paymentMethod " +
-                   "ORDER BY CAST(o.createdAt AS date)";
-
-            Query<Object[]> query = session.createQuery(hql, Object[].class);
-
-            if (fromDate != null) {
-                query.setParameter("startDate", java.sql.Date.valueOf(fromDate));
-            }
-
-            List<Object[]> results = query.list();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-
-            for (Object[] row : results) {
-                java.sql.Date date = (java.sql.Date) row[0];
-                LocalDate reportDate = date.toLocalDate();
-
-                tableModel.addRow(new Object[]{
-                    reportDate.format(formatter),
-                    row[1].equals("DINE_IN") ? "Makan di Tempat" : "Bawa Pulang",
-                    row[2].equals("CASH") ? "Tunai" : "BCA",
-                    row[3],
-                    String.format("Rp%,.2f", row[4])
-                });
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error generating sales summary: " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+    // Timer "ReportPanel.<jenis laporan>" di tab Diagnostics: dari permintaan dikirim
+    // sampai hasil tampil di tabel, termasuk antre di DbExecutor
+    private Consumer<List<Object[]>> timed(String reportType, Consumer<List<Object[]>> show) {
+        long start = System.nanoTime();
+        return results -> {
+            show.accept(results);
+            Metrics.record("ReportPanel." + reportType, System.nanoTime() - start);
+        };
     }
 
-    private void generatePopularItems(LocalDate fromDate) {
-        tableModel.setColumnIdentifiers(new String[]{"Menu", "Kategori", "Jumlah Terjual", "Total Pendapatan"});
-
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
-            String hql = "SELECT m.name, m.category, SUM(oi.quantity), SUM(oi.priceAtOrder * oi.quantity) " +
-                       "FROM OrderItem oi JOIN oi.menuItem m JOIN oi.order o ";
+    // Export laporan yang sedang dipilih dengan filter tanggal yang sama, langsung dari
+    // database ke file (lihat ExportTask), bukan dari isi tabel
+    private void exportReport() {
+        String reportType = (String) reportTypeCombo.getSelectedItem();
+        LocalDate fromDate = selectedFromDate();
+        LocalDate toDate = selectedToDate();
+        ExportTask task;
+
+        switch (reportType) {
+            case "Ringkasan Penjualan":
+                task = new ExportTask(
+                    new String[]{"Tanggal", "Tipe Order", "Pembayaran", "Jumlah Order", "Total Pendapatan"},
+                    handler -> reportDAO.exportSalesSummary(fromDate, toDate, row -> handler.handle(new Object[]{
+                        row[0],
+                        "DINE_IN".equals(row[1]) ? "Makan di Tempat" : "Bawa Pulang",
+                        "CASH".equals(row[2]) ? "Tunai" : "BCA",
+                        row[3],
+                        Money.ofCents((Long) row[4])
+                    })));
+                break;
+            case "Menu Populer":
+                task = new ExportTask(
+                    new String[]{"Menu", "Kategori", "Jumlah Terjual", "Total Pendapatan"},
+                    handler -> reportDAO.exportPopularItems(fromDate, toDate, row -> handler.handle(new Object[]{
+                        row[0], row[1], row[2], Money.ofCents((Long) row[3])
+                    })));
+                break;
+            default:
+                task = new ExportTask(
+                    new String[]{"Status", "Jumlah Order", "Total Pendapatan"},
+                    handler -> reportDAO.exportStatusSummary(fromDate, toDate, row -> handler.handle(new Object[]{
+                        capitalize((String) row[0]), row[1], Money.ofCents((Long) row[2])
+                    })));
+                break;
+        }
 
-            if (fromDate != null) {
-                hql += "WHERE CAST(o.createdAt AS date) >= :startDate ";
-            }
+        String fileName = reportType.toLowerCase().replace(' ', '-') +
+            (fromDate != null ? "_" + fromDate : "") + (toDate != null ? "_" + toDate.minusDays(1) : "");
+        ExportDialog.export(this, "Export " + reportType, fileName, task);
+    }
 
-            hql += "GROUP BY m.name, m.category ORDER BY SUM(oi.quantity) DESC";
+    private LocalDate selectedFromDate() {
+        return showAllCheckBox.isSelected() ? null : toLocalDate(dateFromChooser.getDate());
+    }
 
-            Query<Object[]> query = session.createQuery(hql, Object[].class);
+    // "Sampai Tanggal" inklusif, DAO memakai batas atas eksklusif
+    private LocalDate selectedToDate() {
+        LocalDate lastDate = showAllCheckBox.isSelected() ? null : toLocalDate(dateToChooser.getDate());
+        return lastDate != null ? lastDate.plusDays(1) : null;
+    }
 
-            if (fromDate != null) {
-                query.setParameter("startDate", java.sql.Date.valueOf(fromDate));
-            }
+    private LocalDate toLocalDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date.toInstant()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDate();
+    }
 
-            List<Object[]> results = query.list();
+    private void showSalesSummary(List<Object[]> results) {
+        List<Object[]> rows = new ArrayList<>(results.size());
+        for (Object[] row : results) {
+            rows.add(new Object[]{
+                row[0],
+                "DINE_IN".equals(row[1]) ? "Makan di Tempat" : "Bawa Pulang",
+                "CASH".equals(row[2]) ? "Tunai" : "BCA",
+                row[3],
+                Money.ofCents((Long) row[4])
+            });
+        }
+        showRows(rows, salesColumns);
+    }
 
-            for (Object[] row : results) {
-                tableModel.addRow(new Object[]{
-                    row[0], row[1], row[2], String.format("Rp%,.2f", row[3])
-                });
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error generating popular items report: " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+    private void showPopularItems(List<Object[]> results) {
+        List<Object[]> rows = new ArrayList<>(results.size());
+        for (Object[] row : results) {
+            rows.add(new Object[]{row[0], row[1], row[2], Money.ofCents((Long) row[3])});
         }
+        showRows(rows, popularColumns);
     }
 
-    private void generateStatusSummary(LocalDate fromDate) {
-        tableModel.setColumnIdentifiers(new String[]{"Status", "Jumlah Order", "Total Pendapatan", "Persentase"});
-
-        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
-            String hqlTotal = "SELECT COUNT(o.id), SUM(o.total) FROM Order o ";
-            if (fromDate != null) {
-                hqlTotal += "WHERE CAST(o.createdAt AS date) >= :startDate ";
-            }
-
-            Query<Object[]> totalQuery = session.createQuery(hqlTotal, Object[].class);
-            if (fromDate != null) {
-                totalQuery.setParameter("startDate", java.sql.Date.valueOf(fromDate));
-            }
-
-            Object[] totalResult = totalQuery.uniqueResult();
-            Long totalCount = (totalResult[0] != null) ? (Long) totalResult[0] : 0L;
-            if (totalCount == 0) totalCount = 1L;
-
-            String hql = "SELECT o.status, COUNT(o.id), SUM(o.total) FROM Order o ";
-            if (fromDate != null) {
-                hql += "WHERE CAST(o.createdAt AS date) >= :startDate ";
-            }
-            hql += "GROUP BY o.status";
-
-            Query<Object[]> query = session.createQuery(hql, Object[].class);
-            if (fromDate != null) {
-                query.setParameter("startDate", java.sql.Date.valueOf(fromDate));
-            }
-
-            List<Object[]> results = query.list();
-
-            for (Object[] row : results) {
-                double percentage = ((Long)row[1]).doubleValue() / totalCount * 100;
-                tableModel.addRow(new Object[]{
-                    capitalize((String)row[0]),
-                    row[1],
-                    String.format("Rp%,.2f", row[2]),
-                    String.format("%.1f%%", percentage)
-                });
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error generating status summary: " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+    private void showStatusSummary(List<Object[]> results) {
+        long totalCount = 0;
+        for (Object[] row : results) {
+            totalCount += (Long) row[1];
         }
+        if (totalCount == 0) totalCount = 1L;
+
+        List<Object[]> rows = new ArrayList<>(results.size());
+        for (Object[] row : results) {
+            double percentage = ((Long) row[1]).doubleValue() / totalCount * 100;
+            rows.add(new Object[]{capitalize((String) row[0]), row[1], Money.ofCents((Long) row[2]), percentage});
+        }
+        showRows(rows, statusColumns);
     }
 
-    private void centerTableContent() {
-        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
-        centerRenderer.setHorizontalAlignment(JLabel.CENTER);
-        for (int i = 0; i < reportTable.getColumnCount(); i++) {
-            reportTable.getColumnModel().getColumn(i).setCellRenderer(centerRenderer);
+    // Kolom dibuat ulang oleh JTable hanya bila jenis laporan berganti
+    private void showRows(List<Object[]> rows, List<RowTableModel.Column<Object[]>> columns) {
+        if (tableModel.getColumn(0) == columns.get(0) && tableModel.getColumnCount() == columns.size()) {
+            tableModel.setRows(rows);
+        } else {
+            tableModel.setRows(rows, columns);
+            tableModel.installRenderers(reportTable.getColumnModel());
         }
     }
 
+    private void applyFilter() {
+        sorter.setRowFilter(RowTableModel.containsFilter(searchField.getText()));
+    }
+
+    private static <T> RowTableModel.Column<Object[]> column(String name, Class<T> type, int index,
+                                                             FormattingRenderer renderer) {
+        return RowTableModel.Column.<Object[], T>of(name, type, row -> type.cast(row[index])).renderer(renderer);
+    }
+
+    private void showError(String message, Throwable e) {
+        JOptionPane.showMessageDialog(this, 
+            message + e.getMessage(), 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE);
+        e.printStackTrace();
+    }
+
     private String capitalize(String str) {
         if (str == null || str.isEmpty()) return str;
         return str.substring(0, 1).toUpperCase() + str.substring(1);
@@ -0,0 +1,32 @@
+package com.restaurant;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+
+import java.io.IOException;
+
+// Membaca hasil query baris demi baris lewat cursor forward-only tanpa menampung
+// seluruh hasil di memori. Di MySQL ini butuh useCursorFetch=true di URL koneksi
+// (hibernate.cfg.xml); tanpa itu driver tetap membaca semua baris walau fetchSize diisi.
+public final class RowStream {
+    public interface Handler {
+        void handle(Object[] row) throws IOException;
+    }
+
+    private RowStream() {
+    }
+
+    // Mengembalikan jumlah baris yang dikirim ke handler
+    static long scroll(Query<?> query, Handler handler) throws IOException {
+        query.setFetchSize(KoneksiDB.getIntSetting("export.fetchSize", 1000));
+        long rows = 0;
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                handler.handle(results.get());
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,191 @@
+package com.restaurant;
+
+import javax.swing.RowFilter;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumnModel;
+import javax.swing.table.TableRowSorter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+// TableModel berkolom tetap di atas daftar baris bertipe R. Nilai sel diambil dari
+// baris apa adanya (Long, Money, LocalDate, ...) lewat Column; format tampilan diurus
+// renderer kolom (lihat FormattingRenderer) sehingga hanya sel yang terlihat yang
+// diformat. Sorter dari createSorter() membandingkan nilai mentah tersebut, bukan
+// teks hasil format, dan filter hanya memeriksa kolom String.
+public class RowTableModel<R> extends AbstractTableModel {
+    private List<Column<R>> columns;
+    private List<R> rows = new ArrayList<>();
+
+    public RowTableModel(List<Column<R>> columns) {
+        this.columns = columns;
+    }
+
+    // Ganti susunan kolom (mis. jenis laporan lain); renderer dipasang lagi lewat installRenderers
+    public void setColumns(List<Column<R>> columns) {
+        this.columns = columns;
+        fireTableStructureChanged();
+    }
+
+    // Daftar dipakai langsung tanpa disalin; jangan diubah lagi oleh pemanggil
+    public void setRows(List<R> rows) {
+        this.rows = rows;
+        fireTableDataChanged();
+    }
+
+    // Baris dan kolom sekaligus, dengan satu event perubahan struktur
+    public void setRows(List<R> rows, List<Column<R>> columns) {
+        this.rows = rows;
+        setColumns(columns);
+    }
+
+    public R getRow(int rowIndex) {
+        return rows.get(rowIndex);
+    }
+
+    public List<R> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    public Column<R> getColumn(int column) {
+        return columns.get(column);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).name;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns.get(column).type;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return columns.get(column).editable;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return columns.get(columnIndex).value.apply(rows.get(rowIndex));
+    }
+
+    // Renderer disimpan di Column, jadi instance yang sama dipakai ulang setiap kali
+    // kolom dibuat ulang oleh JTable
+    public void installRenderers(TableColumnModel columnModel) {
+        for (int i = 0; i < columnModel.getColumnCount() && i < columns.size(); i++) {
+            TableCellRenderer renderer = columns.get(i).renderer;
+            if (renderer != null) {
+                columnModel.getColumn(i).setCellRenderer(renderer);
+            }
+        }
+    }
+
+    // Comparator diambil dari Column setiap kali diminta, jadi tetap berlaku setelah
+    // setColumns (TableRowSorter membuang comparator yang di-set saat struktur berubah)
+    public TableRowSorter<RowTableModel<R>> createSorter() {
+        TableRowSorter<RowTableModel<R>> sorter = new TableRowSorter<RowTableModel<R>>(this) {
+            @Override
+            public Comparator<?> getComparator(int column) {
+                Comparator<?> comparator = columns.get(column).comparator;
+                return comparator != null ? comparator : super.getComparator(column);
+            }
+        };
+        sorter.setSortsOnUpdates(true);
+        return sorter;
+    }
+
+    // Baris yang salah satu kolom String-nya mengandung text (tanpa membedakan huruf besar)
+    public static <R> RowFilter<RowTableModel<R>, Integer> containsFilter(String text) {
+        String needle = text.trim();
+        if (needle.isEmpty()) {
+            return null;
+        }
+        return new RowFilter<RowTableModel<R>, Integer>() {
+            @Override
+            public boolean include(Entry<? extends RowTableModel<R>, ? extends Integer> entry) {
+                RowTableModel<R> model = entry.getModel();
+                R row = model.getRow(entry.getIdentifier());
+                for (Column<R> column : model.columns) {
+                    if (column.type == String.class && containsIgnoreCase((String) column.value.apply(row), needle)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    static boolean containsIgnoreCase(String text, String needle) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0, last = text.length() - needle.length(); i <= last; i++) {
+            if (text.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static final class Column<R> {
+        private final String name;
+        private final Class<?> type;
+        private final Function<? super R, ?> value;
+        private Comparator<?> comparator;
+        private TableCellRenderer renderer;
+        private boolean editable;
+
+        private Column(String name, Class<?> type, Function<? super R, ?> value) {
+            this.name = name;
+            this.type = type;
+            this.value = value;
+        }
+
+        // Kolom Comparable diurutkan dengan urutan alaminya (angka, tanggal, Money). String
+        // tanpa membedakan huruf besar, bukan Collator bawaan TableRowSorter yang puluhan
+        // kali lebih lambat untuk ratusan ribu baris.
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public static <R, T> Column<R> of(String name, Class<T> type, Function<? super R, ? extends T> value) {
+            Column<R> column = new Column<>(name, type, value);
+            if (type == String.class) {
+                column.comparator = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+            } else if (Comparable.class.isAssignableFrom(type)) {
+                column.comparator = Comparator.nullsFirst((Comparator) Comparator.naturalOrder());
+            }
+            return column;
+        }
+
+        public Column<R> comparator(Comparator<?> comparator) {
+            this.comparator = comparator;
+            return this;
+        }
+
+        public Column<R> renderer(TableCellRenderer renderer) {
+            this.renderer = renderer;
+            return this;
+        }
+
+        public Column<R> editable() {
+            this.editable = true;
+            return this;
+        }
+
+        public String getName() { return name; }
+        public Class<?> getType() { return type; }
+    }
+}
@@ -0,0 +1,289 @@
+package com.restaurant;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.NativeQuery;
+import javax.transaction.Synchronization;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Memelihara tabel daily_sales_rollup. Satu hari selalu dihitung ulang utuh dari
+// tabel orders/order_items, jadi hasilnya benar untuk order baru maupun perubahan status.
+// Order yang sudah diarsipkan (OrderArchiveJob) ikut dihitung lewat UNION ALL dengan
+// orders_archive/order_items_archive; untuk hari yang belum pernah diarsipkan cabang
+// arsip hanya satu pencarian kosong di index created_at.
+// Kolom uang decimal(10,2) dikali 100 sehingga pendapatan disimpan eksak dalam sen.
+// Hitung ulang tidak pernah ikut transaksi order (lihat SalesRollupJob): DELETE rentang
+// lalu INSERT ... SELECT per hari mengunci rentang rollup dan baris orders yang dibaca.
+public class SalesRollupDAO {
+    private static final String TABLE = "daily_sales_rollup";
+    private static final int MAX_IN_LIST = 1000;
+
+    private static final String DELETE_RANGE =
+        "DELETE FROM daily_sales_rollup WHERE sales_date >= :fromDate AND sales_date < :toDate";
+
+    // Tanda hitung ulang per hari (V13) untuk ReportCache di terminal lain
+    private static final String DELETE_REBUILT_RANGE =
+        "DELETE FROM daily_sales_rollup_rebuilt WHERE sales_date >= :fromDate AND sales_date < :toDate";
+
+    private static final String INSERT_ORDER_LEVEL =
+        "INSERT INTO daily_sales_rollup (sales_date, order_type, payment_method, status, menu_item_id, " +
+        "order_count, item_quantity, revenue_cents) " +
+        "SELECT CAST(o.created_at AS DATE), o.order_type, o.payment_method, o.status, 0, " +
+        "COUNT(*), 0, COALESCE(SUM(o.total * 100), 0) " +
+        "FROM (" + orderRows("orders") + " UNION ALL " + orderRows("orders_archive") + ") o " +
+        "GROUP BY CAST(o.created_at AS DATE), o.order_type, o.payment_method, o.status";
+
+    private static final String INSERT_ITEM_LEVEL =
+        "INSERT INTO daily_sales_rollup (sales_date, order_type, payment_method, status, menu_item_id, " +
+        "order_count, item_quantity, revenue_cents) " +
+        "SELECT CAST(o.created_at AS DATE), o.order_type, o.payment_method, o.status, o.menu_item_id, " +
+        "COUNT(DISTINCT o.id), SUM(o.quantity), COALESCE(SUM(o.price_at_order * o.quantity * 100), 0) " +
+        "FROM (" + itemRows("orders", "order_items") + " UNION ALL " +
+        itemRows("orders_archive", "order_items_archive") + ") o " +
+        "GROUP BY CAST(o.created_at AS DATE), o.order_type, o.payment_method, o.status, o.menu_item_id";
+
+    private static String orderRows(String orders) {
+        return "SELECT created_at, order_type, payment_method, status, total FROM " + orders + " " +
+               "WHERE created_at >= :fromDate AND created_at < :toDate";
+    }
+
+    private static String itemRows(String orders, String items) {
+        return "SELECT o.id, o.created_at, o.order_type, o.payment_method, o.status, " +
+               "oi.menu_item_id, oi.quantity, oi.price_at_order " +
+               "FROM " + items + " oi JOIN " + orders + " o ON o.id = oi.order_id " +
+               "WHERE o.created_at >= :fromDate AND o.created_at < :toDate";
+    }
+
+    // Hitung ulang semua hari di [fromDate, toDate) di dalam transaksi milik pemanggil.
+    // Hari-hari itu dibuang dari ReportCache setelah transaksi selesai, bukan sebelumnya,
+    // supaya laporan yang dimuat di antaranya tidak tersimpan dengan data lama.
+    public void rebuildRange(Session session, LocalDate fromDate, LocalDate toDate) {
+        for (String sql : new String[]{DELETE_RANGE, INSERT_ORDER_LEVEL, INSERT_ITEM_LEVEL, DELETE_REBUILT_RANGE}) {
+            session.createNativeQuery(sql)
+                .addSynchronizedQuerySpace(TABLE)
+                .setParameter("fromDate", java.sql.Date.valueOf(fromDate))
+                .setParameter("toDate", java.sql.Date.valueOf(toDate))
+                .executeUpdate();
+        }
+        // Setiap hari ditandai, juga yang kini tanpa order, supaya laporan yang menampilkan
+        // hari itu di terminal lain tidak tertinggal
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO daily_sales_rollup_rebuilt (sales_date, rebuilt_at) VALUES (?, LOCALTIMESTAMP(3))")) {
+                for (LocalDate day = fromDate; day.isBefore(toDate); day = day.plusDays(1)) {
+                    ps.setDate(1, java.sql.Date.valueOf(day));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // Sesudah order berubah, laporan dibaca ulang dari primary dulu supaya
+                // hari yang di-invalidate tidak di-cache lagi dari replika yang tertinggal
+                KoneksiDB.markWrite();
+                ReportCache.invalidate(fromDate, toDate);
+            }
+        });
+    }
+
+    // Transaksi sendiri dengan READ COMMITTED, supaya INSERT ... SELECT membaca orders
+    // tanpa mengunci baris yang sedang ditulis terminal lain (pool mengembalikan isolasi
+    // koneksi setelah dipakai)
+    public void rebuildRange(LocalDate fromDate, LocalDate toDate) {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            session.doWork(connection -> connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED));
+            Transaction transaction = session.beginTransaction();
+            try {
+                rebuildRange(session, fromDate, toDate);
+                transaction.commit();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // Hitung ulang hari-hari tempat order tersebut dibuat, satu transaksi per hari.
+    // Dipanggil setelah transaksi order commit, bukan di dalamnya.
+    public void refreshOrders(Collection<Integer> orderIds) {
+        for (LocalDate day : getOrderDays(orderIds)) {
+            rebuildRange(day, day.plusDays(1));
+        }
+    }
+
+    private SortedSet<LocalDate> getOrderDays(Collection<Integer> orderIds) {
+        List<Integer> ids = new ArrayList<>(orderIds);
+        TreeSet<LocalDate> sorted = new TreeSet<>();
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            // Daftar IN dipotong agar impor besar tidak membuat satu query raksasa
+            for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+                NativeQuery<?> query = session.createNativeQuery(
+                    "SELECT DISTINCT CAST(created_at AS DATE) FROM orders WHERE id IN (:ids)");
+                List<?> days = query
+                    .addSynchronizedQuerySpace("orders")
+                    .setParameterList("ids", ids.subList(from, Math.min(from + MAX_IN_LIST, ids.size())))
+                    .list();
+                for (Object day : days) {
+                    if (day != null) {
+                        sorted.add(((java.sql.Date) day).toLocalDate());
+                    }
+                }
+            }
+        }
+        return sorted;
+    }
+
+    // Hari order yang updated_at-nya setelah since, beserta updated_at terbaru per hari.
+    // Memakai index orders.updated_at (V5), jadi murah dipanggil berkala.
+    public TreeMap<LocalDate, LocalDateTime> getChangedDays(LocalDateTime since) {
+        TreeMap<LocalDate, LocalDateTime> changed = new TreeMap<>();
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            List<?> rows = session.createNativeQuery(
+                    "SELECT CAST(created_at AS DATE), MAX(updated_at) FROM orders " +
+                    "WHERE updated_at > :since GROUP BY CAST(created_at AS DATE)")
+                .addSynchronizedQuerySpace("orders")
+                .setParameter("since", Timestamp.valueOf(since))
+                .list();
+            for (Object row : rows) {
+                Object[] columns = (Object[]) row;
+                if (columns[0] != null) {
+                    changed.put(((java.sql.Date) columns[0]).toLocalDate(),
+                        ((Timestamp) columns[1]).toLocalDateTime());
+                }
+            }
+        }
+        return changed;
+    }
+
+    // Hari yang jumlah ordernya per status (live + arsip) berbeda dengan rollup: hari tanpa
+    // rollup sama sekali, rollup yang tertinggal, dan rollup hari yang ordernya sudah hilang.
+    // Membaca seluruh orders dan orders_archive, jadi hanya untuk pemeriksaan sesekali.
+    public SortedSet<LocalDate> getMismatchedDays() {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Map<String, Long> orders = countsByDayAndStatus(session,
+                "SELECT CAST(created_at AS DATE), status, COUNT(*) FROM (" +
+                "SELECT created_at, status FROM orders UNION ALL " +
+                "SELECT created_at, status FROM orders_archive) o " +
+                "GROUP BY CAST(created_at AS DATE), status", "orders");
+            Map<String, Long> rollup = countsByDayAndStatus(session,
+                "SELECT sales_date, status, SUM(order_count) FROM daily_sales_rollup " +
+                "WHERE menu_item_id = 0 GROUP BY sales_date, status", TABLE);
+
+            TreeSet<LocalDate> mismatched = new TreeSet<>();
+            for (Map.Entry<String, Long> entry : orders.entrySet()) {
+                if (!entry.getValue().equals(rollup.remove(entry.getKey()))) {
+                    mismatched.add(LocalDate.parse(entry.getKey().substring(0, 10)));
+                }
+            }
+            for (String key : rollup.keySet()) {
+                mismatched.add(LocalDate.parse(key.substring(0, 10)));
+            }
+            return mismatched;
+        }
+    }
+
+    // Kunci "yyyy-MM-dd|status"; order tanpa created_at tidak masuk rollup, jadi dilewati
+    private static Map<String, Long> countsByDayAndStatus(Session session, String sql, String querySpace) {
+        Map<String, Long> counts = new HashMap<>();
+        List<?> rows = session.createNativeQuery(sql)
+            .addSynchronizedQuerySpace(querySpace)
+            .list();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            if (columns[0] != null) {
+                counts.put(((java.sql.Date) columns[0]).toLocalDate() + "|" + Objects.toString(columns[1]),
+                    ((Number) columns[2]).longValue());
+            }
+        }
+        return counts;
+    }
+
+    // updated_at terbaru di tabel orders, atau null bila belum ada order
+    public LocalDateTime getLatestUpdate() {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Object result = session.createNativeQuery("SELECT MAX(updated_at) FROM orders")
+                .addSynchronizedQuerySpace("orders")
+                .uniqueResult();
+            return result != null ? ((Timestamp) result).toLocalDateTime() : null;
+        }
+    }
+
+    // Hari yang rollup-nya dihitung ulang setelah since (jam database), beserta waktunya
+    public Map<LocalDate, LocalDateTime> getRebuiltDays(LocalDateTime since) {
+        Map<LocalDate, LocalDateTime> rebuilt = new HashMap<>();
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            List<?> rows = session.createNativeQuery(
+                    "SELECT sales_date, rebuilt_at FROM daily_sales_rollup_rebuilt WHERE rebuilt_at > :since")
+                .addSynchronizedQuerySpace(TABLE)
+                .setParameter("since", Timestamp.valueOf(since))
+                .list();
+            for (Object row : rows) {
+                Object[] columns = (Object[]) row;
+                rebuilt.put(((java.sql.Date) columns[0]).toLocalDate(), ((Timestamp) columns[1]).toLocalDateTime());
+            }
+        }
+        return rebuilt;
+    }
+
+    // Hitung ulang rollup terbaru di terminal mana pun, atau null bila belum pernah
+    public LocalDateTime getLatestRebuild() {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Object result = session.createNativeQuery("SELECT MAX(rebuilt_at) FROM daily_sales_rollup_rebuilt")
+                .addSynchronizedQuerySpace(TABLE)
+                .uniqueResult();
+            return result != null ? ((Timestamp) result).toLocalDateTime() : null;
+        }
+    }
+
+    // Tanggal rollup paling awal, atau null bila rollup masih kosong
+    public LocalDate getFirstRollupDate() {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Object result = session.createNativeQuery("SELECT MIN(sales_date) FROM daily_sales_rollup")
+                .addSynchronizedQuerySpace(TABLE)
+                .uniqueResult();
+            return result != null ? ((java.sql.Date) result).toLocalDate() : null;
+        }
+    }
+
+    // Hari-hari berurutan digabung menjadi rentang [awal, akhir) paling banyak daysPerChunk
+    // hari, supaya riwayat panjang dihitung ulang per potongan, bukan per hari
+    public static List<LocalDate[]> ranges(SortedSet<LocalDate> days, int daysPerChunk) {
+        List<LocalDate[]> result = new ArrayList<>();
+        LocalDate start = null;
+        LocalDate end = null;
+        for (LocalDate day : days) {
+            if (start != null && day.equals(end) && end.isBefore(start.plusDays(daysPerChunk))) {
+                end = day.plusDays(1);
+                continue;
+            }
+            if (start != null) {
+                result.add(new LocalDate[]{start, end});
+            }
+            start = day;
+            end = day.plusDays(1);
+        }
+        if (start != null) {
+            result.add(new LocalDate[]{start, end});
+        }
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+package com.restaurant;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Job latar belakang untuk daily_sales_rollup. Transaksi order tidak menyentuh rollup;
+// OrderDAO hanya memanggil ordersChanged setelah commit, dan hitung ulang terjadi di sini:
+// - putaran pertama: hari yang jumlah order per status-nya (live + arsip) berbeda dengan
+//   rollup dihitung ulang, termasuk hari yang belum punya rollup sama sekali (riwayat lama,
+//   order dari kiosk selagi aplikasi mati, hitung ulang yang dulu gagal)
+// - berikutnya, berkala dan segera setelah ordersChanged: hari dari order yang updated_at-nya
+//   lebih baru dari tanda terakhir, termasuk order yang ditulis langsung oleh kiosk. Tanda
+//   dimundurkan rollup.changeOverlapSeconds supaya transaksi yang commit terlambat atau jam
+//   terminal yang sedikit berbeda tidak terlewat. Tanda hanya maju setelah hitung ulang
+//   berhasil, jadi yang gagal diulang di putaran berikutnya.
+// Setiap putaran memegang JobLock, jadi hanya satu terminal yang menghitung ulang pada satu
+// waktu dan rollup tidak saling mengunci antar terminal; terminal lain melewati putarannya.
+public class SalesRollupJob {
+    private static final Logger logger = Logger.getLogger(SalesRollupJob.class.getName());
+    private static final String LOCK = "sales_rollup";
+    private static final int REBUILD_CHUNK_DAYS = 31;
+    private static final LocalDateTime NO_ORDERS = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Object DIRECT_REFRESH = new Object();
+    private static volatile SalesRollupJob current;
+
+    private final SalesRollupDAO rollupDAO = new SalesRollupDAO();
+    private final int reconcileIntervalSeconds;
+    private final int changeOverlapSeconds;
+    private final AtomicBoolean runRequested = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+    // null sampai pemeriksaan penuh pertama berhasil
+    private LocalDateTime changedSince;
+
+    public SalesRollupJob() {
+        this.reconcileIntervalSeconds = KoneksiDB.getIntSetting("rollup.reconcileIntervalSeconds", 60);
+        this.changeOverlapSeconds = KoneksiDB.getIntSetting("rollup.changeOverlapSeconds", 300);
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sales-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::run, 0, reconcileIntervalSeconds, TimeUnit.SECONDS);
+        current = this;
+    }
+
+    public synchronized void stop() {
+        if (current == this) {
+            current = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // Dipanggil OrderDAO setelah transaksi order commit. Dengan job berjalan, putaran
+    // dijadwalkan segera di thread sales-rollup; tanpa job (CLI, test) hari order itu
+    // langsung dihitung ulang di sini, satu per satu supaya dua hitung ulang hari yang sama
+    // tidak bertabrakan di unique key rollup. Gagal hanya dicatat: order sudah tersimpan,
+    // dan rollup dibetulkan oleh job berikutnya.
+    static void ordersChanged(Collection<Integer> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        SalesRollupJob job = current;
+        if (job != null) {
+            job.requestRun();
+            return;
+        }
+        synchronized (DIRECT_REFRESH) {
+            try {
+                new SalesRollupDAO().refreshOrders(orderIds);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Gagal menghitung ulang rollup penjualan", e);
+            }
+        }
+    }
+
+    // Permintaan yang datang selagi putaran menunggu digabung menjadi satu
+    private synchronized void requestRun() {
+        if (scheduler != null && runRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                runRequested.set(false);
+                run();
+            });
+        }
+    }
+
+    void run() {
+        try {
+            if (!JobLock.runExclusive(LOCK, this::refresh)) {
+                logger.fine("Rollup sedang dihitung ulang terminal lain, putaran dilewati");
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Gagal memperbarui rollup penjualan", e);
+        }
+    }
+
+    private void refresh() {
+        if (changedSince == null) {
+            // Tanda diambil sebelum memeriksa: order yang berubah selama pemeriksaan ikut putaran berikutnya
+            LocalDateTime latest = rollupDAO.getLatestUpdate();
+            rebuild(rollupDAO.getMismatchedDays(), "tidak cocok dengan order", Level.INFO);
+            changedSince = latest != null ? latest : NO_ORDERS;
+            return;
+        }
+        TreeMap<LocalDate, LocalDateTime> changed =
+            rollupDAO.getChangedDays(changedSince.minusSeconds(changeOverlapSeconds));
+        rebuild(changed.navigableKeySet(), "berubah", Level.FINE);
+        for (LocalDateTime updatedAt : changed.values()) {
+            if (updatedAt != null && updatedAt.isAfter(changedSince)) {
+                changedSince = updatedAt;
+            }
+        }
+    }
+
+    private void rebuild(SortedSet<LocalDate> days, String reason, Level level) {
+        if (days.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (LocalDate[] range : SalesRollupDAO.ranges(days, REBUILD_CHUNK_DAYS)) {
+            rollupDAO.rebuildRange(range[0], range[1]);
+        }
+        logger.log(level, String.format("Rollup %d hari yang %s (%s s/d %s) dihitung ulang dalam %d ms",
+            days.size(), reason, days.first(), days.last(), (System.nanoTime() - start) / 1_000_000));
+    }
+}
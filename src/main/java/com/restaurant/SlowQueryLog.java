@@ -0,0 +1,259 @@
+package com.restaurant;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.regex.Pattern;
+
+// Log query lambat di level JDBC, pengganti show_sql. Setiap statement yang lewat
+// TimedConnection dicatat ke agregat per bentuk SQL (literal dan daftar IN diganti ?);
+// hanya yang lebih lama dari slowlog.thresholdMs, ditambah sampel slowlog.sampleRate
+// dari sisanya, yang ditulis ke file. Penulisan file dilakukan thread "slow-query-log",
+// jadi thread pemanggil (termasuk EDT) hanya memasukkan record ke antrean.
+public class SlowQueryLog {
+    private static final Logger logger = Logger.getLogger(SlowQueryLog.class.getName());
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int MAX_SHAPES = 1000;
+    private static final int MAX_LOGGED_SQL = 4000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Log yang sedang aktif, dibaca tab Diagnostics; null bila slowlog.enabled=false
+    private static volatile SlowQueryLog current;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final BlockingQueue<LogRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private final Handler handler;
+    private final Thread writer;
+    private int references;
+
+    public SlowQueryLog(long thresholdMs, double sampleRate, Handler handler) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.sampleRate = sampleRate;
+        this.handler = handler;
+        writer = new Thread(this::writeLoop, "slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // slowlog.file memakai pola FileHandler: %g nomor file rotasi, %h home, %t temp
+    static SlowQueryLog create(Map<?, ?> settings) throws IOException {
+        String pattern = setting(settings, "slowlog.file", "logs/slow-query.%g.log");
+        Path parent = Paths.get(pattern).toAbsolutePath().getParent();
+        if (parent != null && !pattern.startsWith("%")) {
+            Files.createDirectories(parent);
+        }
+        FileHandler fileHandler = new FileHandler(pattern,
+            Integer.parseInt(setting(settings, "slowlog.fileSizeKb", "1024")) * 1024,
+            Integer.parseInt(setting(settings, "slowlog.fileCount", "5")),
+            true);
+        fileHandler.setFormatter(new SimpleFormatter());
+        SlowQueryLog log = new SlowQueryLog(
+            Long.parseLong(setting(settings, "slowlog.thresholdMs", "200")),
+            Double.parseDouble(setting(settings, "slowlog.sampleRate", "0.01")),
+            fileHandler);
+        current = log;
+        return log;
+    }
+
+    private static String setting(Map<?, ?> settings, String key, String defaultValue) {
+        Object value = settings.get(key);
+        return value != null ? value.toString().trim() : defaultValue;
+    }
+
+    // Dipakai bersama oleh semua pool (primary dan replika): satu file dan satu agregat.
+    // Log ditutup setelah pool terakhir memanggil release().
+    static synchronized SlowQueryLog acquire(Map<?, ?> settings) throws IOException {
+        SlowQueryLog log = current;
+        if (log == null) {
+            log = create(settings);
+        }
+        log.references++;
+        return log;
+    }
+
+    void release() {
+        synchronized (SlowQueryLog.class) {
+            if (--references > 0) {
+                return;
+            }
+        }
+        close();
+    }
+
+    public static SlowQueryLog getCurrent() {
+        return current;
+    }
+
+    // Dipanggil TimedConnection setelah statement selesai (query: setelah ResultSet ditutup)
+    public void record(String sql, long nanos, int parameters, long rows, int batchSize) {
+        String shape = shapeOf(sql);
+        ShapeStats stats = shapes.computeIfAbsent(shape, key -> new ShapeStats());
+        stats.add(nanos, rows);
+
+        boolean slow = nanos >= thresholdNanos;
+        if (slow || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            if (slow) {
+                stats.slow.increment();
+            }
+            LogRecord record = new LogRecord(slow ? Level.WARNING : Level.INFO, String.format(
+                "%s %.1f ms | rows=%d | params=%d%s | thread=%s | %s",
+                slow ? "SLOW" : "sample", nanos / 1_000_000.0, rows, parameters,
+                batchSize > 0 ? " | batch=" + batchSize : "",
+                Thread.currentThread().getName(),
+                oneLine(sql)));
+            record.setLoggerName(logger.getName());
+            if (!queue.offer(record)) {
+                dropped.increment();
+            }
+        }
+    }
+
+    private static String oneLine(String sql) {
+        String line = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        return line.length() > MAX_LOGGED_SQL ? line.substring(0, MAX_LOGGED_SQL) + "..." : line;
+    }
+
+    // SQL Hibernate sudah berparameter, jadi bentuknya di-cache per string SQL
+    String shapeOf(String sql) {
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            shape = normalize(sql);
+            if (shapeCache.size() >= MAX_SHAPES) {
+                shapeCache.clear();
+            }
+            shapeCache.put(sql, shape);
+        }
+        return shape;
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?, ...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    // Bentuk SQL urut total waktu terbesar dulu
+    public List<ShapeSnapshot> getShapes() {
+        List<ShapeSnapshot> result = new ArrayList<>(shapes.size());
+        for (Map.Entry<String, ShapeStats> entry : shapes.entrySet()) {
+            result.add(new ShapeSnapshot(entry.getKey(), entry.getValue()));
+        }
+        result.sort(Comparator.comparingDouble(ShapeSnapshot::getTotalMillis).reversed());
+        return result;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public void reset() {
+        shapes.clear();
+        dropped.reset();
+    }
+
+    // Menulis ringkasan per bentuk SQL lalu menutup file; dipanggil saat pool dihentikan
+    public void close() {
+        List<ShapeSnapshot> summary = getShapes();
+        for (ShapeSnapshot shape : summary.subList(0, Math.min(20, summary.size()))) {
+            LogRecord record = new LogRecord(Level.INFO, String.format(
+                "summary count=%d total=%.1f ms p95=%.1f ms max=%.1f ms rows=%d slow=%d | %s",
+                shape.getCount(), shape.getTotalMillis(), shape.getP95Millis(), shape.getMaxMillis(),
+                shape.getRows(), shape.getSlowCount(), shape.getSql()));
+            record.setLoggerName(logger.getName());
+            queue.offer(record);
+        }
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        handler.close();
+        if (current == this) {
+            current = null;
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                handler.publish(queue.take());
+                if (queue.isEmpty()) {
+                    handler.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Sisa antrean tetap ditulis sebelum berhenti
+            LogRecord record;
+            while ((record = queue.poll()) != null) {
+                handler.publish(record);
+            }
+            handler.flush();
+        }
+    }
+
+    private static final class ShapeStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder rows = new LongAdder();
+        final LongAdder slow = new LongAdder();
+
+        void add(long nanos, long rowCount) {
+            latency.record(nanos);
+            rows.add(rowCount);
+        }
+    }
+
+    public static final class ShapeSnapshot {
+        private final String sql;
+        private final long count;
+        private final double p95Millis;
+        private final double maxMillis;
+        private final double totalMillis;
+        private final long rows;
+        private final long slowCount;
+
+        ShapeSnapshot(String sql, ShapeStats stats) {
+            this.sql = sql;
+            this.count = stats.latency.getCount();
+            this.p95Millis = stats.latency.getPercentileNanos(95) / 1_000_000.0;
+            this.maxMillis = stats.latency.getMaxNanos() / 1_000_000.0;
+            this.totalMillis = stats.latency.getTotalNanos() / 1_000_000.0;
+            this.rows = stats.rows.sum();
+            this.slowCount = stats.slow.sum();
+        }
+
+        public String getSql() { return sql; }
+        public long getCount() { return count; }
+        public double getP95Millis() { return p95Millis; }
+        public double getMaxMillis() { return maxMillis; }
+        public double getTotalMillis() { return totalMillis; }
+        public long getRows() { return rows; }
+        public long getSlowCount() { return slowCount; }
+    }
+}
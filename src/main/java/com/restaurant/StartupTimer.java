@@ -0,0 +1,49 @@
+package com.restaurant;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+// Mencatat kapan tiap fase startup selesai, dihitung dari JVM mulai, supaya waktu
+// sampai aplikasi bisa dipakai (time-to-first-interaction) bisa dipantau.
+// Ringkasan ditulis ke log sekali saat finish() dipanggil.
+public final class StartupTimer {
+    private static final Logger logger = Logger.getLogger(StartupTimer.class.getName());
+    private static final long START_NANOS = System.nanoTime();
+    private static final long UPTIME_AT_START_MS = ManagementFactory.getRuntimeMXBean().getUptime();
+
+    private static final Map<String, Long> phases = new LinkedHashMap<>();
+    private static boolean finished;
+
+    private StartupTimer() {
+    }
+
+    // Fase yang sama hanya dicatat pertama kali
+    public static synchronized void mark(String phase) {
+        phases.putIfAbsent(phase, elapsedMillis());
+    }
+
+    public static synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    public static synchronized void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        StringBuilder summary = new StringBuilder("Startup:");
+        long previous = 0;
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            summary.append(String.format(" %s %d ms (+%d),", phase.getKey(), phase.getValue(), phase.getValue() - previous));
+            previous = phase.getValue();
+        }
+        summary.setLength(summary.length() - 1);
+        logger.info(summary.toString());
+    }
+
+    private static long elapsedMillis() {
+        return UPTIME_AT_START_MS + (System.nanoTime() - START_NANOS) / 1_000_000;
+    }
+}
@@ -0,0 +1,59 @@
+package com.restaurant;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import javax.swing.*;
+import java.awt.*;
+
+// Baris status di bawah jendela utama, diperbarui berkala dari statistik pool dan cache
+public class StatusBar extends JPanel {
+    private static final int REFRESH_INTERVAL_MS = 2000;
+
+    private final JLabel poolLabel = new JLabel(" ");
+    private final JLabel cacheLabel = new JLabel(" ");
+
+    public StatusBar() {
+        setLayout(new FlowLayout(FlowLayout.LEFT, 10, 2));
+        setBorder(BorderFactory.createMatteBorder(1, 0, 0, 0, Color.LIGHT_GRAY));
+        poolLabel.setFont(poolLabel.getFont().deriveFont(11f));
+        cacheLabel.setFont(poolLabel.getFont());
+        add(poolLabel);
+        add(new JSeparator(SwingConstants.VERTICAL));
+        add(cacheLabel);
+
+        Timer timer = new Timer(REFRESH_INTERVAL_MS, e -> refresh());
+        timer.start();
+        refresh();
+    }
+
+    private void refresh() {
+        PoolMetrics metrics = KoneksiDB.getPoolMetrics();
+        String pool = metrics != null ? metrics.toString() : "Pool: tidak tersedia";
+        ReplicaRouter replica = KoneksiDB.getReplicaRouter();
+        if (replica != null) {
+            pool += " | " + replica.getStatusText();
+        }
+        OrderWriteBehind writeBehind = OrderWriteBehind.getCurrent();
+        int journaled = writeBehind != null ? writeBehind.getPendingCount() : 0;
+        String journalProblem = writeBehind != null ? writeBehind.getProblem() : null;
+        if (journalProblem != null) {
+            pool += " | Jurnal macet (" + journalProblem + "): " + journaled + " order belum terkirim";
+        } else if (journaled > 0) {
+            pool += " | Jurnal: " + journaled + " order belum terkirim";
+        }
+        poolLabel.setText(pool);
+        poolLabel.setForeground(journalProblem != null ? Color.RED : UIManager.getColor("Label.foreground"));
+
+        if (!KoneksiDB.isReady()) {
+            return;
+        }
+        Statistics stats = KoneksiDB.getSessionFactory().getStatistics();
+        if (stats.isStatisticsEnabled()) {
+            CacheRegionStatistics menu = stats.getDomainDataRegionStatistics(MenuItem.CACHE_REGION);
+            CacheRegionStatistics query = stats.getQueryRegionStatistics(MenuItem.QUERY_CACHE_REGION);
+            cacheLabel.setText(String.format("Cache menu: %d hit, %d miss | query: %d hit, %d miss",
+                menu.getHitCount(), menu.getMissCount(),
+                query != null ? query.getHitCount() : 0, query != null ? query.getMissCount() : 0));
+        }
+    }
+}
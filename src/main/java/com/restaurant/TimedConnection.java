@@ -0,0 +1,193 @@
+package com.restaurant;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Proxy JDBC untuk SlowQueryLog: mengukur waktu execute*, menghitung parameter yang
+// di-bind dan baris yang dibaca/diubah. Query dicatat saat ResultSet-nya ditutup
+// (atau statement ditutup), supaya jumlah baris ikut tercatat; waktunya tetap waktu execute.
+// Hanya dipasang bila slowlog.enabled=true (lihat HikariConnectionProvider).
+final class TimedConnection {
+    private TimedConnection() {
+    }
+
+    static Connection wrap(Connection connection, SlowQueryLog log) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = delegate(connection, method, args);
+            String name = method.getName();
+            if (name.equals("prepareCall")) {
+                return proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0], log));
+            }
+            if (name.equals("prepareStatement")) {
+                return proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0], log));
+            }
+            if (name.equals("createStatement")) {
+                return proxy(Statement.class, new StatementHandler((Statement) result, null, log));
+            }
+            return result;
+        });
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final SlowQueryLog log;
+        private String batchSql;
+        private int parameters;
+        private int batchSize;
+
+        // Query yang ResultSet-nya belum selesai dibaca
+        private String pendingSql;
+        private long pendingNanos;
+        private int pendingParameters;
+        private long pendingRows;
+
+        StatementHandler(Statement target, String preparedSql, SlowQueryLog log) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.log = log;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && method.getParameterTypes()[0] == int.class) {
+                parameters = Math.max(parameters, (Integer) args[0]);
+                return delegate(target, method, args);
+            }
+            switch (name) {
+                case "clearParameters":
+                    parameters = 0;
+                    return delegate(target, method, args);
+                case "addBatch":
+                    batchSize++;
+                    if (args != null && args.length == 1 && batchSql == null) {
+                        batchSql = (String) args[0];
+                    }
+                    return delegate(target, method, args);
+                case "clearBatch":
+                    batchSize = 0;
+                    batchSql = null;
+                    return delegate(target, method, args);
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return executeBatch(method, args);
+                case "executeQuery":
+                case "execute":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    return execute(method, args);
+                case "getResultSet":
+                    Object resultSet = delegate(target, method, args);
+                    return resultSet != null && pendingSql != null ? wrapResultSet((ResultSet) resultSet) : resultSet;
+                case "close":
+                    flushPending();
+                    return delegate(target, method, args);
+                default:
+                    return delegate(target, method, args);
+            }
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            flushPending();
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = delegate(target, method, args);
+            } finally {
+                pendingSql = sql;
+                pendingNanos = System.nanoTime() - start;
+                pendingParameters = parameters;
+                pendingRows = 0;
+            }
+            if (result instanceof ResultSet) {
+                return wrapResultSet((ResultSet) result);
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                pendingRows = ((Number) result).longValue();
+                flushPending();
+            } else if (Boolean.FALSE.equals(result)) {
+                pendingRows = Math.max(0, target.getUpdateCount());
+                flushPending();
+            }
+            return result;
+        }
+
+        private Object executeBatch(Method method, Object[] args) throws Throwable {
+            flushPending();
+            String sql = preparedSql != null ? preparedSql : batchSql;
+            int size = batchSize;
+            batchSize = 0;
+            batchSql = null;
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = delegate(target, method, args);
+                return result;
+            } finally {
+                long rows = 0;
+                if (result instanceof int[]) {
+                    for (int count : (int[]) result) rows += Math.max(0, count);
+                } else if (result instanceof long[]) {
+                    for (long count : (long[]) result) rows += Math.max(0, count);
+                }
+                if (sql != null) {
+                    log.record(sql, System.nanoTime() - start, parameters, rows, size);
+                }
+            }
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet) {
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = delegate(resultSet, method, args);
+                String name = method.getName();
+                if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                    pendingRows++;
+                } else if (name.equals("close")) {
+                    flushPending();
+                }
+                return result;
+            });
+        }
+
+        private void flushPending() {
+            if (pendingSql != null) {
+                String sql = pendingSql;
+                pendingSql = null;
+                log.record(sql, pendingNanos, pendingParameters, pendingRows, 0);
+            }
+        }
+    }
+
+    // equals/hashCode berbasis identitas proxy, karena Hibernate menyimpan statement
+    // dan ResultSet sebagai key map
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TimedConnection.class.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> {
+                if (method.getName().equals("equals") && args != null && args.length == 1) {
+                    return proxy == args[0];
+                }
+                if (method.getName().equals("hashCode") && args == null) {
+                    return System.identityHashCode(proxy);
+                }
+                return handler.invoke(proxy, method, args);
+            }));
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
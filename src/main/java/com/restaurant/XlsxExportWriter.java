@@ -0,0 +1,217 @@
+package com.restaurant;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Menulis .xlsx (SpreadsheetML) secara streaming: baris langsung ditulis ke entry zip
+// sheet yang sedang terbuka dan teks memakai inline string, jadi tidak ada shared string
+// table atau sheet yang ditampung di memori. Bagian workbook ditulis saat close, setelah
+// jumlah sheet diketahui. Excel membatasi 1.048.576 baris per sheet; setelah itu sheet
+// baru dibuka dengan header yang sama.
+public class XlsxExportWriter implements ExportWriter {
+    static final int MAX_ROWS = 1_048_576;
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final long EXCEL_EPOCH_DAY = LocalDate.of(1899, 12, 30).toEpochDay();
+
+    // Indeks cellXfs di styles.xml
+    private static final int STYLE_HEADER = 1;
+    private static final int STYLE_DATE = 2;
+    private static final int STYLE_DATE_TIME = 3;
+    private static final int STYLE_MONEY = 4;
+
+    private final ZipOutputStream zip;
+    private final Writer xml;
+    private final int maxRows;
+    private String[] header;
+    private int sheets;
+    private int rowsInSheet;
+
+    public XlsxExportWriter(OutputStream out) {
+        this(out, MAX_ROWS);
+    }
+
+    XlsxExportWriter(OutputStream out, int maxRows) {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public void writeHeader(String[] columns) throws IOException {
+        header = columns.clone();
+        if (sheets == 0) {
+            openSheet();
+        }
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        if (sheets == 0 || rowsInSheet >= maxRows) {
+            closeSheet();
+            openSheet();
+        }
+        writeCells(values, false);
+    }
+
+    private void openSheet() throws IOException {
+        sheets++;
+        rowsInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        xml.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        if (header != null) {
+            writeCells(header, true);
+        }
+    }
+
+    private void closeSheet() throws IOException {
+        if (sheets == 0) {
+            return;
+        }
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void writeCells(Object[] values, boolean isHeader) throws IOException {
+        rowsInSheet++;
+        xml.write("<row r=\"");
+        xml.write(Integer.toString(rowsInSheet));
+        xml.write("\">");
+        for (Object value : values) {
+            writeCell(value, isHeader);
+        }
+        xml.write("</row>");
+    }
+
+    private void writeCell(Object value, boolean isHeader) throws IOException {
+        if (value == null) {
+            xml.write("<c/>");
+        } else if (isHeader || value instanceof String) {
+            String text = value.toString();
+            xml.write(isHeader ? "<c s=\"" + STYLE_HEADER + "\" t=\"inlineStr\"><is><t" : "<c t=\"inlineStr\"><is><t");
+            if (!text.equals(text.trim())) {
+                xml.write(" xml:space=\"preserve\"");
+            }
+            xml.write('>');
+            writeEscaped(text);
+            xml.write("</t></is></c>");
+        } else if (value instanceof Money) {
+            writeNumber(value.toString(), STYLE_MONEY);
+        } else if (value instanceof BigDecimal) {
+            writeNumber(((BigDecimal) value).toPlainString(), 0);
+        } else if (value instanceof Number) {
+            writeNumber(value.toString(), 0);
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            double serial = dateTime.toLocalDate().toEpochDay() - EXCEL_EPOCH_DAY
+                + dateTime.toLocalTime().toSecondOfDay() / 86400.0;
+            writeNumber(Double.toString(serial), STYLE_DATE_TIME);
+        } else if (value instanceof LocalDate) {
+            writeNumber(Long.toString(((LocalDate) value).toEpochDay() - EXCEL_EPOCH_DAY), STYLE_DATE);
+        } else {
+            writeCell(value.toString(), false);
+        }
+    }
+
+    private void writeNumber(String number, int style) throws IOException {
+        xml.write(style == 0 ? "<c><v>" : "<c s=\"" + style + "\"><v>");
+        xml.write(number);
+        xml.write("</v></c>");
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&': xml.write("&amp;"); break;
+                case '<': xml.write("&lt;"); break;
+                case '>': xml.write("&gt;"); break;
+                default:
+                    // Karakter kontrol selain tab dan baris baru tidak sah di XML
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sheets == 0) {
+            openSheet();
+        }
+        closeSheet();
+
+        StringBuilder types = new StringBuilder()
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+            .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+            .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+            .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+            .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+            .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        StringBuilder workbook = new StringBuilder()
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+            .append("<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + REL_NS + "\"><sheets>");
+        StringBuilder workbookRels = new StringBuilder()
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+            .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+            .append("<Relationship Id=\"rIdStyles\" Type=\"" + REL_NS + "/styles\" Target=\"styles.xml\"/>");
+        for (int i = 1; i <= sheets; i++) {
+            types.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            workbook.append("<sheet name=\"Data").append(i == 1 ? "" : " " + i)
+                .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+            workbookRels.append("<Relationship Id=\"rId").append(i).append("\" Type=\"" + REL_NS + "/worksheet\" Target=\"worksheets/sheet")
+                .append(i).append(".xml\"/>");
+        }
+        types.append("</Types>");
+        workbook.append("</sheets></workbook>");
+        workbookRels.append("</Relationships>");
+
+        writeEntry("[Content_Types].xml", types.toString());
+        writeEntry("_rels/.rels",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>" +
+            "</Relationships>");
+        writeEntry("xl/workbook.xml", workbook.toString());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRels.toString());
+        writeEntry("xl/styles.xml",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<styleSheet xmlns=\"" + MAIN_NS + "\">" +
+            "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"dd-mm-yyyy hh:mm:ss\"/></numFmts>" +
+            "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>" +
+            "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>" +
+            "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>" +
+            "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>" +
+            "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>" +
+            "<cellXfs count=\"5\">" +
+            "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>" +
+            "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>" +
+            "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+            "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+            "<xf numFmtId=\"4\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+            "</cellXfs>" +
+            "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>" +
+            "</styleSheet>");
+        xml.close();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        xml.write(content);
+        xml.flush();
+        zip.closeEntry();
+    }
+}
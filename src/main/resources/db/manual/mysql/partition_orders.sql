@@ -0,0 +1,47 @@
+-- Partisi tabel orders per tahun berdasarkan created_at (hanya MySQL, opsional).
+-- Query laporan, rollup dan pengarsipan selalu memakai rentang created_at, jadi
+-- MySQL hanya membuka partisi tahun yang tersentuh; data lama bisa dibuang per partisi.
+--
+-- Bukan migrasi versi: ALTER di bawah membangun ulang dan mengunci tabel orders, jadi
+-- tidak boleh jalan otomatis saat terminal start. Jalankan sekali lewat CLI di luar jam
+-- buka (lihat catatan.txt); migrasi biasa dijalankan lebih dulu oleh perintah yang sama:
+--   java -cp restaurant_pos_admin-1.0-SNAPSHOT-jar-with-dependencies.jar com.restaurant.MigrationRunner partition-orders
+--
+-- Syarat partisi di InnoDB:
+-- - kolom partisi harus ada di setiap unique key, jadi primary key menjadi (id, created_at)
+--   dan database tidak lagi menolak id ganda dengan sendirinya. Karena itu perintah CLI
+--   menolak jalan selama orders.id masih AUTO_INCREMENT (lihat V12, id hanya dari
+--   id_generator), dan trigger di bawah menolak insert dengan id yang sudah ada
+-- - tabel berpartisi tidak boleh dirujuk foreign key, jadi FK order_items -> orders
+--   dilepas; item tetap dihapus bersama ordernya lewat cascade Order.items
+
+-- Semua FK yang merujuk orders, apa pun namanya (dump lama: order_items_ibfk_1, hbm2ddl: FK...)
+SET @drop_fk = (SELECT CONCAT('ALTER TABLE order_items ',
+                              GROUP_CONCAT(CONCAT('DROP FOREIGN KEY ', CONSTRAINT_NAME) SEPARATOR ', '))
+                FROM information_schema.REFERENTIAL_CONSTRAINTS
+                WHERE CONSTRAINT_SCHEMA = DATABASE() AND REFERENCED_TABLE_NAME = 'orders');
+SET @drop_fk = IFNULL(@drop_fk, 'DO 0');
+PREPARE drop_fk FROM @drop_fk;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+-- Kolom primary key tidak boleh NULL
+UPDATE orders SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+ALTER TABLE orders MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE orders DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+-- TIMESTAMP hanya bisa dipartisi lewat UNIX_TIMESTAMP. Partisi tahun berikutnya
+-- ditambahkan dengan REORGANIZE PARTITION pmax sebelum tahunnya tiba.
+ALTER TABLE orders PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+  PARTITION p2024 VALUES LESS THAN (UNIX_TIMESTAMP('2025-01-01 00:00:00')),
+  PARTITION p2025 VALUES LESS THAN (UNIX_TIMESTAMP('2026-01-01 00:00:00')),
+  PARTITION p2026 VALUES LESS THAN (UNIX_TIMESTAMP('2027-01-01 00:00:00')),
+  PARTITION p2027 VALUES LESS THAN (UNIX_TIMESTAMP('2028-01-01 00:00:00')),
+  PARTITION pmax VALUES LESS THAN MAXVALUE
+);
+
+-- Pengganti keunikan primary key lama: insert dengan id yang sudah dipakai ditolak.
+-- Pencarian memakai awalan primary key (id, created_at) di setiap partisi.
+DROP TRIGGER IF EXISTS orders_unique_id;
+CREATE TRIGGER orders_unique_id BEFORE INSERT ON orders FOR EACH ROW IF EXISTS (SELECT 1 FROM orders WHERE id = NEW.id) THEN SIGNAL SQLSTATE '23000' SET MESSAGE_TEXT = 'Duplicate orders.id, ambil id dari id_generator'; END IF;
@@ -0,0 +1,10 @@
+-- Detak untuk mengukur lag replika baca (ReplicaRouter): setiap terminal menulis
+-- LOCALTIMESTAMP(3) primary ke baris id = 1, lalu membaca baris yang sama dari replika.
+-- Selisihnya dengan jam replika adalah seberapa tertinggal replika tersebut.
+-- if-not-exists: table replica_heartbeat
+CREATE TABLE replica_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_at TIMESTAMP(3) NOT NULL
+);
+
+INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, LOCALTIMESTAMP(3));
@@ -0,0 +1,43 @@
+-- Arsip order lama (OrderArchiveJob): order completed/cancelled yang lebih tua dari
+-- archive.afterDays dipindah dari orders/order_items ke tabel di bawah per potongan
+-- transaksi, supaya tabel yang dipakai sehari-hari tetap kecil. Kolom sama dengan tabel
+-- asal. Laporan tetap lengkap karena rollup harian dihitung dari tabel live dan arsip
+-- (SalesRollupDAO), export riwayat order juga membaca keduanya.
+-- if-not-exists: table orders_archive
+CREATE TABLE orders_archive (
+  id INT NOT NULL,
+  total DECIMAL(10,2) NOT NULL,
+  status VARCHAR(20) DEFAULT NULL,
+  order_type VARCHAR(20) DEFAULT NULL,
+  payment_method VARCHAR(20) DEFAULT NULL,
+  admin_fee DECIMAL(10,2) DEFAULT 0,
+  created_at TIMESTAMP NOT NULL,
+  updated_at TIMESTAMP NULL,
+  version INT NOT NULL DEFAULT 0,
+  client_ref VARCHAR(36) NULL,
+  archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id)
+);
+
+-- Rentang created_at (rollup) dan filter status (export), sama seperti index orders di V3
+-- if-not-exists: index orders_archive.idx_orders_archive_created
+CREATE INDEX idx_orders_archive_created ON orders_archive (created_at);
+
+-- if-not-exists: index orders_archive.idx_orders_archive_status_created
+CREATE INDEX idx_orders_archive_status_created ON orders_archive (status, created_at);
+
+-- Menu yang masih dirujuk arsip tetap tidak bisa dihapus, sama seperti order_items
+-- if-not-exists: table order_items_archive
+CREATE TABLE order_items_archive (
+  id INT NOT NULL,
+  order_id INT NOT NULL,
+  menu_item_id INT NOT NULL,
+  quantity INT NOT NULL DEFAULT 1,
+  price_at_order DECIMAL(10,2) NOT NULL,
+  created_at TIMESTAMP NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT fk_order_items_archive_menu FOREIGN KEY (menu_item_id) REFERENCES menu_items (id)
+);
+
+-- if-not-exists: index order_items_archive.idx_order_items_archive_order
+CREATE INDEX idx_order_items_archive_order ON order_items_archive (order_id);
@@ -0,0 +1,14 @@
+-- Id orders dan order_items hanya boleh diambil dari id_generator (V4). AUTO_INCREMENT
+-- dilepas, jadi penulis lain (kiosk, tablet) tidak bisa lagi mendapat id yang bertabrakan
+-- dengan blok yang sudah diambil aplikasi: insert tanpa id sekarang ditolak.
+-- Penulis lain mengambil id dengan menaikkan next_val, mis. di MySQL:
+--   UPDATE id_generator SET next_val = LAST_INSERT_ID(next_val + 1) WHERE sequence_name = 'orders';
+--   INSERT INTO orders (id, ...) VALUES (LAST_INSERT_ID() - 1, ...);
+-- MySQL menolak MODIFY kolom yang dirujuk foreign key selama pengecekan FK aktif.
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE orders MODIFY id INT NOT NULL;
+
+ALTER TABLE order_items MODIFY id INT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,11 @@
+-- Kapan rollup tiap hari terakhir dihitung ulang (jam database). ReportCache di setiap
+-- terminal membaca baris yang berubah sejak pemeriksaan sebelumnya, jadi hari lewat yang
+-- dihitung ulang terminal lain ikut dibuang dari cache.
+-- if-not-exists: table daily_sales_rollup_rebuilt
+CREATE TABLE daily_sales_rollup_rebuilt (
+    sales_date DATE NOT NULL PRIMARY KEY,
+    rebuilt_at TIMESTAMP(3) NOT NULL
+);
+
+-- if-not-exists: index daily_sales_rollup_rebuilt.idx_rollup_rebuilt_at
+CREATE INDEX idx_rollup_rebuilt_at ON daily_sales_rollup_rebuilt (rebuilt_at);
@@ -0,0 +1,62 @@
+-- Skema dasar restaurant_pos. Bisa dijalankan di database kosong maupun database lama
+-- (dump restaurant_pos.sql atau hasil hbm2ddl update): tabel dibuat bila belum ada,
+-- kolom yang belum ada ditambahkan, dan tipe kolom disamakan dengan entity agar
+-- lolos hbm2ddl validate.
+CREATE TABLE IF NOT EXISTS menu_items (
+  id INT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(100) NOT NULL,
+  description VARCHAR(1000) DEFAULT NULL,
+  price DECIMAL(10,2) NOT NULL,
+  category VARCHAR(50) DEFAULT NULL,
+  is_available BOOLEAN DEFAULT TRUE,
+  image_path VARCHAR(255) DEFAULT NULL,
+  created_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+  id INT NOT NULL AUTO_INCREMENT,
+  total DECIMAL(10,2) NOT NULL,
+  status VARCHAR(20) DEFAULT 'pending',
+  order_type VARCHAR(20) DEFAULT NULL,
+  payment_method VARCHAR(20) DEFAULT NULL,
+  admin_fee DECIMAL(10,2) DEFAULT 0,
+  created_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+  id INT NOT NULL AUTO_INCREMENT,
+  order_id INT NOT NULL,
+  menu_item_id INT NOT NULL,
+  quantity INT NOT NULL DEFAULT 1,
+  price_at_order DECIMAL(10,2) NOT NULL,
+  created_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id),
+  KEY order_id (order_id),
+  KEY menu_item_id (menu_item_id),
+  CONSTRAINT order_items_ibfk_1 FOREIGN KEY (order_id) REFERENCES orders (id) ON DELETE CASCADE,
+  CONSTRAINT order_items_ibfk_2 FOREIGN KEY (menu_item_id) REFERENCES menu_items (id)
+);
+
+-- Kolom yang dulu hanya ditambahkan oleh hbm2ddl update
+-- if-not-exists: column menu_items.updated_at
+ALTER TABLE menu_items ADD COLUMN updated_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- if-not-exists: column orders.order_type
+ALTER TABLE orders ADD COLUMN order_type VARCHAR(20) DEFAULT NULL;
+
+-- if-not-exists: column orders.payment_method
+ALTER TABLE orders ADD COLUMN payment_method VARCHAR(20) DEFAULT NULL;
+
+-- if-not-exists: column orders.admin_fee
+ALTER TABLE orders ADD COLUMN admin_fee DECIMAL(10,2) DEFAULT 0;
+
+-- if-not-exists: column order_items.created_at
+ALTER TABLE order_items ADD COLUMN created_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Dump lama memakai ENUM untuk status dan TEXT untuk deskripsi
+ALTER TABLE orders MODIFY status VARCHAR(20) DEFAULT 'pending';
+ALTER TABLE menu_items MODIFY description VARCHAR(1000) DEFAULT NULL;
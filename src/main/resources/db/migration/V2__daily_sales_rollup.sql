@@ -0,0 +1,16 @@
+-- Rollup penjualan harian untuk ReportPanel.
+-- menu_item_id = 0 berisi agregat per order, selain itu agregat per menu.
+-- Isi tabel dibangun ulang oleh SalesRollupJob, jadi aman dibuat kosong.
+CREATE TABLE IF NOT EXISTS daily_sales_rollup (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  sales_date DATE NOT NULL,
+  order_type VARCHAR(255) DEFAULT NULL,
+  payment_method VARCHAR(255) DEFAULT NULL,
+  status VARCHAR(255) DEFAULT NULL,
+  menu_item_id INT NOT NULL,
+  order_count BIGINT NOT NULL,
+  item_quantity BIGINT NOT NULL,
+  revenue DECIMAL(12,2) NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_daily_sales_rollup UNIQUE (sales_date, order_type, payment_method, status, menu_item_id)
+);
@@ -0,0 +1,8 @@
+-- Index pendukung query order:
+-- - filter status + urutan created_at (getOrdersByStatus, tabel order per status)
+-- - rentang created_at dengan grouping tipe order / pembayaran (rollup, laporan, tabel order)
+-- if-not-exists: index orders.idx_orders_status_created
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
+
+-- if-not-exists: index orders.idx_orders_created_type_payment
+CREATE INDEX idx_orders_created_type_payment ON orders (created_at, order_type, payment_method);
@@ -0,0 +1,26 @@
+-- Tabel id untuk Order dan OrderItem (@TableGenerator, optimizer pooled-lo).
+-- next_val adalah id pertama dari blok berikutnya; Hibernate mengambil blok 50 id
+-- sekaligus sehingga insert bisa di-batch JDBC.
+-- Kolom id tetap AUTO_INCREMENT untuk penulis lain (kiosk), tetapi id dari
+-- AUTO_INCREMENT bisa bertabrakan dengan blok yang sudah diambil aplikasi;
+-- penulis lain sebaiknya juga mengambil id lewat tabel ini.
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'orders', COALESCE(MAX(id), 0) + 1 FROM orders
+WHERE NOT EXISTS (SELECT 1 FROM id_generator WHERE sequence_name = 'orders');
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'order_items', COALESCE(MAX(id), 0) + 1 FROM order_items
+WHERE NOT EXISTS (SELECT 1 FROM id_generator WHERE sequence_name = 'order_items');
+
+-- Aman dijalankan ulang: next_val tidak pernah mundur di bawah id yang sudah ada
+UPDATE id_generator SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM orders))
+WHERE sequence_name = 'orders';
+
+UPDATE id_generator SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM order_items))
+WHERE sequence_name = 'order_items';
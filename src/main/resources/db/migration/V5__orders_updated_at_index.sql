@@ -0,0 +1,3 @@
+-- Polling mode live tabel order: WHERE updated_at > ? ORDER BY updated_at
+-- if-not-exists: index orders.idx_orders_updated_at
+CREATE INDEX idx_orders_updated_at ON orders (updated_at);
@@ -0,0 +1,9 @@
+-- Pendapatan rollup disimpan dalam sen (BIGINT) agar laporan dijumlahkan eksak
+-- if-not-exists: column daily_sales_rollup.revenue_cents
+ALTER TABLE daily_sales_rollup ADD COLUMN revenue_cents BIGINT NOT NULL DEFAULT 0;
+
+-- if-exists: column daily_sales_rollup.revenue
+UPDATE daily_sales_rollup SET revenue_cents = ROUND(revenue * 100);
+
+-- if-exists: column daily_sales_rollup.revenue
+ALTER TABLE daily_sales_rollup DROP COLUMN revenue;
@@ -0,0 +1,4 @@
+-- Versi baris untuk optimistic locking (Order.version): setiap update status atau
+-- simpan order menaikkan versi, update dengan versi lama ditolak
+-- if-not-exists: column orders.version
+ALTER TABLE orders ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Id order dari terminal (UUID), diisi OrderWriteBehind sebelum order ditulis ke jurnal
+-- lokal. Jurnal bisa mengirim order yang sama lebih dari sekali (crash setelah commit,
+-- sebelum checkpoint); OrderDAO.replayJournal melewati client_ref yang sudah ada.
+-- created_at ikut di unique key karena orders bisa dipartisi per created_at di MySQL
+-- (skrip manual db/manual/mysql/partition_orders.sql).
+-- if-not-exists: column orders.client_ref
+ALTER TABLE orders ADD COLUMN client_ref VARCHAR(36) NULL;
+
+-- if-not-exists: index orders.uq_orders_client_ref
+CREATE UNIQUE INDEX uq_orders_client_ref ON orders (client_ref, created_at);
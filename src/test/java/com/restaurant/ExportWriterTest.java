@@ -0,0 +1,86 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.Test;
+
+/**
+ * Checks the CSV and streaming XLSX writers used by the export feature.
+ */
+public class ExportWriterTest
+{
+    @Test
+    public void csvQuotesAndFormatsValues() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = new CsvExportWriter(out)) {
+            writer.writeHeader(new String[]{"Menu", "Harga", "Tanggal"});
+            writer.writeRow(new Object[]{"Nasi \"Spesial\", pedas", Money.parse("12.50"), LocalDateTime.of(2025, 4, 23, 6, 14, 30)});
+            writer.writeRow(new Object[]{"=1+1", Money.parse("-0.05"), null});
+        }
+
+        String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals("\uFEFFMenu,Harga,Tanggal\r\n" +
+                     "\"Nasi \"\"Spesial\"\", pedas\",12.50,2025-04-23 06:14:30\r\n" +
+                     "'=1+1,-0.05,\r\n", csv);
+    }
+
+    @Test
+    public void xlsxStartsNewSheetAtRowLimit() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = new XlsxExportWriter(out, 3)) {
+            writer.writeHeader(new String[]{"ID", "Menu & Minum"});
+            for (int i = 1; i <= 5; i++) {
+                writer.writeRow(new Object[]{i, "Teh <" + i + ">"});
+            }
+        }
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertTrue(entries.keySet().toString(), entries.containsKey("[Content_Types].xml"));
+        assertTrue(entries.containsKey("xl/styles.xml"));
+        // Header + 2 baris per sheet, jadi 5 baris butuh 3 sheet
+        assertTrue(entries.containsKey("xl/worksheets/sheet3.xml"));
+        assertTrue(entries.get("xl/workbook.xml").contains("<sheet name=\"Data 3\" sheetId=\"3\" r:id=\"rId3\"/>"));
+
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet, sheet.contains("<t>Menu &amp; Minum</t>"));
+        assertTrue(sheet, sheet.contains("<row r=\"3\"><c><v>2</v></c><c t=\"inlineStr\"><is><t>Teh &lt;2&gt;</t></is></c></row>"));
+        assertTrue(entries.get("xl/worksheets/sheet3.xml").contains("<t>Teh &lt;5&gt;</t>"));
+    }
+
+    @Test
+    public void xlsxWritesDatesAsSerialNumbers() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = new XlsxExportWriter(out)) {
+            writer.writeRow(new Object[]{LocalDate.of(2025, 1, 1), LocalDateTime.of(2025, 1, 1, 18, 0), Money.parse("8.99")});
+        }
+
+        String sheet = unzip(out.toByteArray()).get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet, sheet.contains("<c s=\"2\"><v>45658</v></c><c s=\"3\"><v>45658.75</v></c><c s=\"4\"><v>8.99</v></c>"));
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws IOException
+    {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,82 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hibernate.stat.Statistics;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that the list screens read DTO rows without loading any entity, and
+ * that the order page seeked from the oldest end lines up with the newest-first order.
+ */
+public class ListProjectionTest
+{
+    private static MenuItem menuItem;
+
+    @BeforeClass
+    public static void createData()
+    {
+        menuItem = new MenuItem("Es Teh", Money.parse("0.75"), "Drink");
+        assertTrue(new MenuItemDAO().saveMenuItem(menuItem));
+
+        Order order = new Order();
+        order.setOrderType("TAKE_AWAY");
+        order.setPaymentMethod("BCA");
+        order.addItem(new OrderItem(menuItem, 4));
+        assertTrue(new OrderDAO().saveOrder(order));
+    }
+
+    @Test
+    public void orderSummariesLoadNoEntities()
+    {
+        Statistics statistics = KoneksiDB.getSessionFactory().getStatistics();
+        statistics.clear();
+
+        List<OrderSummaryRow> rows = new OrderDAO().getOrderPage(null, null, 0, 50);
+
+        assertTrue(rows.size() > 0);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    public void pageFromEndMatchesTailOfNewestFirstOrder()
+    {
+        OrderDAO orderDAO = new OrderDAO();
+        List<OrderSummaryRow> all = orderDAO.getOrderSummaries(null);
+        assertTrue(all.size() >= 2);
+        Statistics statistics = KoneksiDB.getSessionFactory().getStatistics();
+        statistics.clear();
+
+        List<OrderSummaryRow> tail = orderDAO.getOrderPageFromEnd(null, null, 0, 2);
+        List<OrderSummaryRow> beforeLast = orderDAO.getOrderPageFromEnd(null, all.get(all.size() - 1), 0, 1);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(ids(all.subList(all.size() - 2, all.size())), ids(tail));
+        assertEquals(all.get(all.size() - 2).getId(), beforeLast.get(0).getId());
+    }
+
+    @Test
+    public void menuRowsLoadNoEntities()
+    {
+        Statistics statistics = KoneksiDB.getSessionFactory().getStatistics();
+        statistics.clear();
+
+        List<MenuRow> rows = new MenuItemDAO().getMenuRows(false);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        MenuRow row = rows.stream().filter(r -> r.getId() == menuItem.getId()).findFirst().orElseThrow();
+        assertEquals("Es Teh", row.getName());
+        assertEquals(Money.ofCents(75), row.getPrice());
+        assertTrue(row.isAvailable());
+    }
+
+    private static List<Integer> ids(List<OrderSummaryRow> rows)
+    {
+        return rows.stream().map(OrderSummaryRow::getId).collect(Collectors.toList());
+    }
+}
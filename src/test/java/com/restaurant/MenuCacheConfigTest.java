@@ -0,0 +1,30 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.ConfigFactory;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * The menu cache regions in application.conf expire after write, because the
+ * cache is per terminal and menu edits made elsewhere never evict it.
+ */
+public class MenuCacheConfigTest
+{
+    @Test
+    public void menuRegionsExpireAfterWrite()
+    {
+        for (String region : new String[] { MenuItem.CACHE_REGION, MenuItem.QUERY_CACHE_REGION }) {
+            CaffeineConfiguration<Object, Object> config =
+                TypesafeConfigurator.<Object, Object>from(ConfigFactory.load(), region).get();
+            OptionalLong expiry = config.getExpireAfterWrite();
+            assertTrue(region, expiry.isPresent());
+            assertEquals(region, TimeUnit.SECONDS.toNanos(60), expiry.getAsLong());
+        }
+    }
+}
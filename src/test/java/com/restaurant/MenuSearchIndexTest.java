@@ -0,0 +1,104 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Matching, ranking and incremental updates of the in-memory menu search index.
+ */
+public class MenuSearchIndexTest
+{
+    private MenuSearchIndex index;
+
+    @Before
+    public void buildIndex()
+    {
+        index = new MenuSearchIndex();
+        index.replaceAll(Arrays.asList(
+            row(1, "Nasi Goreng Spesial", "Main", "Dengan telur dan kerupuk"),
+            row(2, "Crème Brûlée", "Dessert", "Vanila"),
+            row(3, "Es Teh Manis", "Drink", null),
+            row(4, "Ayam Bakar", "Main", "Disajikan dengan nasi putih"),
+            row(5, "Café Latte", "Drink", "Kopi susu")));
+    }
+
+    @Test
+    public void matchingIgnoresCaseAndAccents()
+    {
+        assertEquals(Arrays.asList(2), ids(index.search("creme brulee")));
+        assertEquals(Arrays.asList(2), ids(index.search("CRÈME")));
+        assertEquals(Arrays.asList(5), ids(index.search("cafe")));
+        assertEquals("creme brulee", MenuSearchIndex.normalize("  Crème-Brûlée! "));
+    }
+
+    @Test
+    public void termsMatchPrefixesAndInfixes()
+    {
+        assertEquals(Arrays.asList(1, 5), ids(index.search("s")));
+        assertEquals(Arrays.asList(1), ids(index.search("oreng")));
+        assertEquals(Arrays.asList(1), ids(index.search("nasi kerupuk")));
+        assertEquals(Arrays.asList(), ids(index.search("nasi latte")));
+        assertEquals(Arrays.asList(), ids(index.search("xyz")));
+        assertEquals(Arrays.asList(2, 5, 3, 4, 1), ids(index.search(" ")));
+    }
+
+    @Test
+    public void nameMatchesRankFirst()
+    {
+        // "nasi" ada di nama menu 1 dan di deskripsi menu 4
+        assertEquals(Arrays.asList(1, 4), ids(index.search("nasi")));
+        assertEquals(Arrays.asList(5, 3), ids(index.search("drink")));
+    }
+
+    @Test
+    public void putAndRemoveUpdateIndex()
+    {
+        index.put(row(1, "Mie Goreng", "Main", null));
+        assertEquals(Arrays.asList(), ids(index.search("nasi goreng")));
+        assertEquals(Arrays.asList(1), ids(index.search("mie")));
+
+        index.put(row(6, "Nasi Uduk", "Main", null));
+        assertEquals(Arrays.asList(6, 4), ids(index.search("nasi")));
+
+        assertTrue(index.remove(4));
+        assertFalse(index.remove(4));
+        assertEquals(Arrays.asList(6), ids(index.search("nasi")));
+        assertEquals(5, index.size());
+
+        // Slot menu yang dihapus dipakai lagi tanpa membawa token lama
+        index.put(row(7, "Soto Betawi", "Main", null));
+        assertEquals(Arrays.asList(), ids(index.search("nasi putih")));
+        assertEquals(Arrays.asList(7), ids(index.search("betawi")));
+    }
+
+    @Test
+    public void replacingWithEmptyMenuClearsResults()
+    {
+        assertEquals(5, index.search("").size());
+        index.replaceAll(new ArrayList<>());
+        assertEquals(0, index.size());
+        assertEquals(Arrays.asList(), ids(index.search("")));
+        assertEquals(Arrays.asList(), ids(index.search("nasi")));
+    }
+
+    private static MenuRow row(int id, String name, String category, String description)
+    {
+        return new MenuRow(id, name, Money.ofCents(1000), category, true, description);
+    }
+
+    private static List<Integer> ids(List<MenuRow> rows)
+    {
+        List<Integer> ids = new ArrayList<>();
+        for (MenuRow row : rows) {
+            ids.add(row.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,114 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Checks the latency histogram, the disabled fast path and that DAO calls
+ * show up in Metrics and through the Diagnostics MBean.
+ */
+public class MetricsTest
+{
+    private final Diagnostics diagnostics = new Diagnostics(KoneksiDB.getSessionFactory());
+
+    @After
+    public void enableMetrics()
+    {
+        diagnostics.setEnabled(true);
+    }
+
+    @Test
+    public void percentilesStayWithinOneBucket()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMaxNanos());
+        assertWithinBucket(5_000_000, histogram.getPercentileNanos(50));
+        assertWithinBucket(9_500_000, histogram.getPercentileNanos(95));
+        assertWithinBucket(9_900_000, histogram.getPercentileNanos(99));
+        assertEquals(10_000_000, histogram.getPercentileNanos(100));
+        assertEquals(0, new LatencyHistogram().getPercentileNanos(50));
+    }
+
+    @Test
+    public void bucketBoundsCoverEveryValue()
+    {
+        for (long value : new long[]{0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value + " <= " + LatencyHistogram.upperBound(bucket), value <= LatencyHistogram.upperBound(bucket));
+            if (bucket > 0) {
+                assertTrue(value + " > " + LatencyHistogram.upperBound(bucket - 1), value > LatencyHistogram.upperBound(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void disabledMetricsRecordNothing()
+    {
+        diagnostics.setEnabled(false);
+        Metrics.Sample first = Metrics.start("MetricsTest.disabled");
+        first.close();
+        Metrics.record("MetricsTest.disabled", 1000);
+        Metrics.increment("MetricsTest.disabled");
+
+        assertTrue(first == Metrics.start("MetricsTest.other"));
+        assertFalse(KoneksiDB.getSessionFactory().getStatistics().isStatisticsEnabled());
+        for (Metrics.TimerSnapshot timer : Metrics.getTimers()) {
+            assertFalse(timer.getName().startsWith("MetricsTest."));
+        }
+        assertFalse(Metrics.getCounters().containsKey("MetricsTest.disabled"));
+    }
+
+    @Test
+    public void daoCallsAreTimedAndExposedOverJmx() throws Exception
+    {
+        long before = count("MenuItemDAO.getMenuRows");
+        new MenuItemDAO().getMenuRows(false);
+        assertEquals(before + 1, count("MenuItemDAO.getMenuRows"));
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Diagnostics.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+
+        boolean found = false;
+        for (CompositeData timer : (CompositeData[]) server.getAttribute(name, "Timers")) {
+            found |= "MenuItemDAO.getMenuRows".equals(timer.get("name"));
+        }
+        assertTrue(found);
+        TabularData statistics = (TabularData) server.getAttribute(name, "HibernateStatistics");
+        assertFalse(statistics.isEmpty());
+        assertNotNull(server.getAttribute(name, "SlowestQueries"));
+    }
+
+    private static long count(String timer)
+    {
+        for (Metrics.TimerSnapshot snapshot : Metrics.getTimers()) {
+            if (snapshot.getName().equals(timer)) {
+                return snapshot.getCount();
+            }
+        }
+        return 0;
+    }
+
+    private static void assertWithinBucket(long expected, long actual)
+    {
+        // Bucket log-linear dengan 8 sub-bucket: paling jauh 1/8 di atas nilai sebenarnya
+        assertTrue(expected + " vs " + actual, actual >= expected && actual <= expected + expected / 8);
+    }
+}
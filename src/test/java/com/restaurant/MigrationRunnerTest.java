@@ -0,0 +1,182 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs the db/migration scripts against fresh and legacy embedded H2 databases,
+ * separate from the database the other tests share.
+ */
+public class MigrationRunnerTest
+{
+    private static int databases;
+
+    private Connection connection;
+
+    @Before
+    public void openDatabase() throws SQLException
+    {
+        connection = DriverManager.getConnection("jdbc:h2:mem:migration_test_" + (++databases) +
+            ";MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+    }
+
+    @After
+    public void closeDatabase() throws SQLException
+    {
+        connection.close();
+    }
+
+    @Test
+    public void freshDatabaseIsMigratedOnce() throws SQLException
+    {
+        MigrationRunner runner = new MigrationRunner(connection);
+        int scripts = runner.findMigrations().size();
+
+        assertEquals(scripts, runner.migrate());
+        assertEquals(0, runner.migrate());
+
+        List<MigrationRunner.MigrationInfo> info = runner.info();
+        assertEquals(scripts, info.size());
+        for (MigrationRunner.MigrationInfo migration : info) {
+            assertEquals(MigrationRunner.State.APPLIED, migration.getState());
+        }
+        assertTrue(MigrationRunner.exists(connection, "index", "orders.idx_orders_updated_at"));
+        assertTrue(MigrationRunner.exists(connection, "column", "daily_sales_rollup.revenue_cents"));
+        assertFalse(MigrationRunner.exists(connection, "column", "daily_sales_rollup.revenue"));
+    }
+
+    @Test
+    public void changedScriptFailsValidation() throws SQLException
+    {
+        MigrationRunner runner = new MigrationRunner(connection);
+        runner.migrate();
+        execute("UPDATE schema_version SET checksum = checksum + 1 WHERE version = 3");
+
+        try {
+            runner.validate();
+            fail("Checksum yang berubah harus ditolak");
+        } catch (MigrationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("V3__order_indexes.sql"));
+        }
+        try {
+            runner.migrate();
+            fail("Migrate tidak boleh jalan bila riwayat tidak cocok");
+        } catch (MigrationException expected) {
+        }
+        assertEquals(MigrationRunner.State.CHANGED, runner.info().get(2).getState());
+    }
+
+    @Test
+    public void commentOnlyChangeKeepsRecordedChecksumValid() throws SQLException
+    {
+        MigrationRunner runner = new MigrationRunner(connection);
+        runner.migrate();
+        // Checksum V9 sebelum komentarnya diperbaiki
+        execute("UPDATE schema_version SET checksum = 1128517648 WHERE version = 9");
+
+        runner.validate();
+        assertEquals(0, runner.migrate());
+        assertEquals(MigrationRunner.State.APPLIED, runner.info().get(8).getState());
+    }
+
+    @Test
+    public void legacyDumpIsUpgraded() throws SQLException
+    {
+        // Bentuk tabel seperti restaurant_pos.sql, sebelum ada kolom tipe order dan pembayaran
+        execute("CREATE TABLE menu_items (id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100) NOT NULL, " +
+                "description TEXT, price DECIMAL(10,2) NOT NULL, category VARCHAR(50), " +
+                "is_available TINYINT(1) DEFAULT '1', image_path VARCHAR(255), " +
+                "created_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP)");
+        execute("CREATE TABLE orders (id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, total DECIMAL(10,2) NOT NULL, " +
+                "status ENUM('pending','completed','cancelled') DEFAULT 'pending', " +
+                "created_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP NULL)");
+        execute("CREATE TABLE order_items (id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, order_id INT NOT NULL, " +
+                "menu_item_id INT NOT NULL, quantity INT NOT NULL DEFAULT '1', price_at_order DECIMAL(10,2) NOT NULL)");
+        execute("INSERT INTO menu_items (id, name, description, price) VALUES (5, 'Nasi Goreng', 'Pedas', 12.99)");
+        execute("INSERT INTO orders (id, total, status) VALUES (41, 38.97, 'completed')");
+        execute("INSERT INTO order_items (id, order_id, menu_item_id, quantity, price_at_order) VALUES (77, 41, 5, 3, 12.99)");
+        connection.commit();
+
+        new MigrationRunner(connection).migrate();
+
+        assertTrue(MigrationRunner.exists(connection, "column", "orders.order_type"));
+        assertTrue(MigrationRunner.exists(connection, "column", "orders.admin_fee"));
+        assertTrue(MigrationRunner.exists(connection, "column", "order_items.created_at"));
+        assertTrue(MigrationRunner.exists(connection, "column", "menu_items.updated_at"));
+        assertEquals("completed", queryString("SELECT status FROM orders WHERE id = 41"));
+        assertEquals("CHARACTER VARYING", queryString(
+            "SELECT UPPER(data_type) FROM information_schema.columns WHERE table_name = 'orders' AND column_name = 'status'"));
+        assertEquals("42", queryString("SELECT next_val FROM id_generator WHERE sequence_name = 'orders'"));
+        assertEquals("78", queryString("SELECT next_val FROM id_generator WHERE sequence_name = 'order_items'"));
+        // Id hanya dari id_generator: insert tanpa id ditolak
+        try {
+            execute("INSERT INTO orders (total, status) VALUES (1.00, 'pending')");
+            fail("orders.id masih AUTO_INCREMENT");
+        } catch (SQLException expected) {
+            connection.rollback();
+        }
+    }
+
+    @Test
+    public void orderPartitioningIsOnlyRunFromCli() throws Exception
+    {
+        MigrationRunner runner = new MigrationRunner(connection);
+        for (MigrationRunner.Migration migration : runner.findMigrations()) {
+            assertFalse(migration.getScript(), migration.getScript().contains("partition"));
+        }
+        try {
+            runner.partitionOrders();
+            fail("Partisi orders hanya untuk MySQL");
+        } catch (MigrationException expected) {
+        }
+
+        List<MigrationRunner.ScriptStatement> statements = MigrationRunner.parse(
+            new String(getClass().getClassLoader()
+                .getResourceAsStream("db/manual/mysql/partition_orders.sql").readAllBytes(), "UTF-8"));
+        assertTrue(statements.get(statements.size() - 1).sql.startsWith("CREATE TRIGGER orders_unique_id"));
+        assertTrue(statements.get(statements.size() - 1).sql.endsWith("END IF"));
+    }
+
+    @Test
+    public void directiveAppliesToNextStatementOnly()
+    {
+        List<MigrationRunner.ScriptStatement> statements = MigrationRunner.parse(
+            "-- komentar biasa\n" +
+            "-- if-not-exists: column orders.note\n" +
+            "ALTER TABLE orders\n  ADD COLUMN note VARCHAR(20);\n" +
+            "\n" +
+            "UPDATE orders SET note = 'a';\n");
+
+        assertEquals(2, statements.size());
+        assertEquals("ALTER TABLE orders\n  ADD COLUMN note VARCHAR(20)", statements.get(0).sql);
+        assertEquals("UPDATE orders SET note = 'a'", statements.get(1).sql);
+    }
+
+    private void execute(String sql) throws SQLException
+    {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String queryString(String sql) throws SQLException
+    {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            assertTrue(sql, rs.next());
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Property checks for Money against BigDecimal on many random inputs.
+ * The seeds are fixed so a failure can be reproduced.
+ */
+public class MoneyTest
+{
+    private static final int RUNS = 10_000;
+
+    @Test
+    public void sumMatchesBigDecimal()
+    {
+        Random random = new Random(11);
+        for (int run = 0; run < RUNS; run++) {
+            Money sum = Money.ZERO;
+            BigDecimal expected = BigDecimal.ZERO.setScale(2);
+            int terms = 1 + random.nextInt(50);
+            for (int i = 0; i < terms; i++) {
+                long cents = random.nextInt(2_000_000) - 1_000_000;
+                sum = sum.plus(Money.ofCents(cents));
+                expected = expected.add(BigDecimal.valueOf(cents, 2));
+            }
+            assertEquals(expected, sum.toBigDecimal());
+        }
+    }
+
+    @Test
+    public void calculateTotalMatchesBigDecimal()
+    {
+        Random random = new Random(23);
+        MenuItem menuItem = new MenuItem("Menu", Money.ZERO, "Main");
+        for (int run = 0; run < RUNS; run++) {
+            Order order = new Order();
+            BigDecimal expected = BigDecimal.ZERO.setScale(2);
+            int lines = random.nextInt(30);
+            for (int i = 0; i < lines; i++) {
+                OrderItem item = new OrderItem(menuItem, 1 + random.nextInt(20));
+                item.setPriceAtOrder(Money.ofCents(random.nextInt(10_000_000)));
+                order.getItems().add(item);
+                expected = expected.add(item.getPriceAtOrder().toBigDecimal()
+                    .multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+            order.calculateTotal();
+            assertEquals(expected, order.getTotal().toBigDecimal());
+        }
+    }
+
+    @Test
+    public void textAndDecimalRoundTrip()
+    {
+        Random random = new Random(37);
+        for (int run = 0; run < RUNS; run++) {
+            long cents = random.nextLong() / 1000;
+            Money money = Money.ofCents(cents);
+            BigDecimal decimal = BigDecimal.valueOf(cents, 2);
+
+            assertEquals(decimal.toPlainString(), money.toString());
+            assertEquals(money, Money.parse(money.toString()));
+            assertEquals(money, Money.of(decimal));
+            assertEquals(Integer.signum(decimal.compareTo(BigDecimal.ZERO)),
+                Integer.signum(money.compareTo(Money.ZERO)));
+        }
+    }
+
+    @Test
+    public void smallNegativeValuesKeepSign()
+    {
+        assertEquals("-0.05", Money.ofCents(-5).toString());
+        assertEquals("-1.50", Money.ofCents(-150).toString());
+        assertEquals("0.00", Money.ZERO.toString());
+    }
+
+    @Test
+    public void doubleDriftDoesNotHappen()
+    {
+        // 0.1 + 0.2 dengan double menghasilkan 0.30000000000000004
+        assertEquals(Money.parse("0.30"), Money.parse("0.1").plus(Money.parse("0.2")));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parseRejectsMoreThanTwoDecimals()
+    {
+        Money.parse("1.005");
+    }
+
+    @Test
+    public void overflowIsReported()
+    {
+        try {
+            Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1));
+            fail("overflow tidak terdeteksi");
+        } catch (ArithmeticException expected) {
+            // ok
+        }
+        try {
+            Money.ofCents(Long.MAX_VALUE / 2).times(3);
+            fail("overflow tidak terdeteksi");
+        } catch (ArithmeticException expected) {
+            // ok
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.hibernate.Session;
+import org.junit.Test;
+
+/**
+ * Moves old finished orders into the archive tables in chunks and checks
+ * that reports and the order export still cover them; also plans monthly
+ * partitions from the yearly MySQL layout.
+ */
+public class OrderArchiveTest
+{
+    private static final LocalDate DAY = LocalDate.of(1999, 3, 10);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final List<String> FINISHED = Arrays.asList("completed", "cancelled");
+
+    @Test
+    public void oldFinishedOrdersMoveToArchiveWithoutChangingReports() throws Exception
+    {
+        MenuItem menuItem = new MenuItem("Arsip Rawon", Money.parse("3.00"), "Main");
+        assertTrue(new MenuItemDAO().saveMenuItem(menuItem));
+        Order completed = saveOrder(menuItem, "completed", DAY.atTime(9, 0), 2);
+        Order cancelled = saveOrder(menuItem, "cancelled", DAY.atTime(10, 0), 1);
+        Order pending = saveOrder(menuItem, "pending", DAY.atTime(11, 0), 3);
+        Order recent = saveOrder(menuItem, "completed", LocalDateTime.now(), 1);
+
+        ReportDAO reportDAO = new ReportDAO();
+        List<Object[]> before = reportDAO.getStatusSummary(DAY, DAY.plusDays(1));
+        assertEquals(3, before.size());
+
+        // Potongan pertama hanya satu order, sisanya diambil job
+        assertEquals(Collections.singletonList(completed.getId()),
+            new OrderArchiveDAO().archiveChunk(CUTOFF, FINISHED, 1));
+        assertEquals(1, new OrderArchiveJob().archive(CUTOFF));
+        assertEquals(0, new OrderArchiveJob().archive(CUTOFF));
+
+        OrderDAO orderDAO = new OrderDAO();
+        assertNull(orderDAO.getOrderById(completed.getId()));
+        assertNull(orderDAO.getOrderById(cancelled.getId()));
+        assertNotNull(orderDAO.getOrderById(pending.getId()));
+        assertNotNull(orderDAO.getOrderById(recent.getId()));
+        assertEquals(2L, count("SELECT COUNT(*) FROM orders_archive WHERE id IN (:ids)",
+            Arrays.asList(completed.getId(), cancelled.getId())));
+        assertEquals(2L, count("SELECT COUNT(*) FROM order_items_archive WHERE order_id IN (:ids)",
+            Arrays.asList(completed.getId(), cancelled.getId())));
+        assertEquals(0L, count("SELECT COUNT(*) FROM order_items WHERE order_id IN (:ids)",
+            Arrays.asList(completed.getId(), cancelled.getId())));
+
+        // Hari yang dihitung ulang setelah diarsipkan tetap memuat order arsip
+        new SalesRollupDAO().rebuildRange(DAY, DAY.plusDays(1));
+        List<Object[]> after = reportDAO.getStatusSummary(DAY, DAY.plusDays(1));
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertArrayEquals(before.get(i), after.get(i));
+        }
+        assertEquals(6L, reportDAO.getPopularItems(DAY, DAY.plusDays(1)).stream()
+            .filter(row -> "Arsip Rawon".equals(row[0]))
+            .mapToLong(row -> (Long) row[2])
+            .sum());
+
+        List<Object[]> exported = new ArrayList<>();
+        assertEquals(3, orderDAO.exportOrders(null, DAY, DAY.plusDays(1), exported::add));
+        assertEquals(completed.getId(), exported.get(0)[0]);
+        assertEquals(DAY.atTime(9, 0), exported.get(0)[1]);
+        assertEquals(Money.parse("6.00"), exported.get(0)[6]);
+        assertEquals(pending.getId(), exported.get(2)[0]);
+    }
+
+    @Test
+    public void monthlyPartitionsAreAddedAheadWithoutTouchingCurrentYear()
+    {
+        List<String> yearly = Arrays.asList("p2024", "p2025", "p2026", "p2027", "pmax");
+        List<String> plan = OrderPartitions.plan(yearly, YearMonth.of(2026, 10), 3);
+        assertEquals(1, plan.size());
+        assertTrue(plan.get(0).startsWith("ALTER TABLE orders REORGANIZE PARTITION p2027 INTO (" +
+            "PARTITION p202701 VALUES LESS THAN (UNIX_TIMESTAMP('2027-02-01 00:00:00')), "));
+        assertTrue(plan.get(0).endsWith(
+            "PARTITION p202712 VALUES LESS THAN (UNIX_TIMESTAMP('2028-01-01 00:00:00')))"));
+
+        List<String> monthly = new ArrayList<>(Arrays.asList("p2025", "p2026"));
+        for (int month = 1; month <= 12; month++) {
+            monthly.add(String.format("p2027%02d", month));
+        }
+        monthly.add("pmax");
+        assertEquals(Collections.singletonList("ALTER TABLE orders REORGANIZE PARTITION pmax INTO (" +
+                "PARTITION p202801 VALUES LESS THAN (UNIX_TIMESTAMP('2028-02-01 00:00:00')), " +
+                "PARTITION p202802 VALUES LESS THAN (UNIX_TIMESTAMP('2028-03-01 00:00:00')), " +
+                "PARTITION pmax VALUES LESS THAN MAXVALUE)"),
+            OrderPartitions.plan(monthly, YearMonth.of(2027, 11), 3));
+        assertEquals(Collections.emptyList(), OrderPartitions.plan(monthly, YearMonth.of(2027, 6), 3));
+        assertEquals(Collections.emptyList(), OrderPartitions.plan(Arrays.asList("p_old", "pmax"), YearMonth.of(2027, 6), 3));
+
+        assertEquals(Arrays.asList("p2025", "p2026", "p202701", "p202702"),
+            OrderPartitions.dropCandidates(monthly, YearMonth.of(2027, 3)));
+    }
+
+    private static Order saveOrder(MenuItem menuItem, String status, LocalDateTime createdAt, int quantity)
+    {
+        Order order = new Order();
+        order.setOrderType("DINE_IN");
+        order.setPaymentMethod("CASH");
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        order.addItem(new OrderItem(menuItem, quantity));
+        assertTrue(new OrderDAO().saveOrder(order));
+        return order;
+    }
+
+    private static long count(String sql, List<Integer> ids)
+    {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            return ((Number) session.createNativeQuery(sql)
+                .setParameterList("ids", ids)
+                .uniqueResult()).longValue();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+/**
+ * Checks that OrderDAO.saveOrders stores every order and item and that the
+ * inserts go out as JDBC batches instead of one statement per row.
+ */
+public class OrderBatchSaveTest
+{
+    private static final int ORDERS = 120;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Test
+    public void saveOrdersBatchesInserts()
+    {
+        MenuItem menuItem = new MenuItem("Nasi Goreng", Money.parse("2.50"), "Main");
+        assertTrue(new MenuItemDAO().saveMenuItem(menuItem));
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderType("DINE_IN");
+            order.setPaymentMethod("CASH");
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                order.addItem(new OrderItem(menuItem, 1 + j));
+            }
+            orders.add(order);
+        }
+
+        Statistics statistics = KoneksiDB.getSessionFactory().getStatistics();
+        statistics.clear();
+        OrderBatchResult result = new OrderDAO().saveOrders(orders);
+
+        assertEquals(ORDERS, result.getOrderCount());
+        assertEquals(ORDERS * ITEMS_PER_ORDER, result.getItemCount());
+        assertEquals(ORDERS * ITEMS_PER_ORDER, statistics.getEntityInsertCount() - ORDERS);
+
+        // Tanpa batching setiap baris butuh satu statement sendiri
+        long rows = ORDERS + ORDERS * ITEMS_PER_ORDER;
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue("statements=" + statements, statements < rows / 5);
+
+        Set<Integer> ids = new HashSet<>();
+        for (Order order : orders) {
+            assertTrue(order.getId() > 0);
+            ids.add(order.getId());
+        }
+        assertEquals(ORDERS, ids.size());
+
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            long stored = session.createQuery(
+                "SELECT COUNT(i.id) FROM OrderItem i WHERE i.order.id IN (:ids)", Long.class)
+                .setParameterList("ids", ids)
+                .uniqueResult();
+            assertEquals(ORDERS * ITEMS_PER_ORDER, stored);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+/**
+ * Checks OrderDAO.updateStatusBulk: selected orders change in chunked,
+ * version-checked batches, orders already in the target status are skipped,
+ * orders changed elsewhere since they were loaded are reported as conflicts
+ * and the listeners only hear about the changed ids.
+ */
+public class OrderBulkStatusTest
+{
+    private static final int ORDERS = 2100;
+
+    @Test
+    public void bulkUpdateChangesOnlyOrdersNotYetInStatus()
+    {
+        MenuItem menuItem = new MenuItem("Kopi Susu", Money.parse("1.50"), "Drink");
+        new MenuItemDAO().saveMenuItem(menuItem);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderType("DINE_IN");
+            order.setPaymentMethod("CASH");
+            // Setiap order ke-10 sudah selesai lebih dulu
+            order.setStatus(i % 10 == 0 ? "completed" : "pending");
+            order.addItem(new OrderItem(menuItem, 1));
+            orders.add(order);
+        }
+        OrderDAO orderDAO = new OrderDAO();
+        orderDAO.saveOrders(orders);
+
+        List<Integer> ids = new ArrayList<>();
+        Map<Integer, Integer> versions = new LinkedHashMap<>();
+        for (Order order : orders) {
+            ids.add(order.getId());
+            versions.put(order.getId(), order.getVersion());
+        }
+        // Terminal lain membuka lagi dua order yang sudah selesai setelah daftar dimuat
+        assertTrue(orderDAO.updateStatus(ids.get(10), orders.get(10).getVersion(), "pending"));
+        assertTrue(orderDAO.updateStatus(ids.get(ORDERS - 10), orders.get(ORDERS - 10).getVersion(), "pending"));
+        List<Collection<Integer>> events = new ArrayList<>();
+        OrderEvents.Listener listener = events::add;
+        OrderEvents.addListener(listener);
+        Statistics statistics = KoneksiDB.getSessionFactory().getStatistics();
+        statistics.clear();
+        try {
+            OrderStatusResult result = orderDAO.updateStatusBulk(versions, "completed");
+            List<Integer> changed = result.getChanged();
+
+            assertEquals(ORDERS - ORDERS / 10, changed.size());
+            assertEquals(ORDERS / 10 - 2, result.getUnchanged().size());
+            assertEquals(Arrays.asList(ids.get(10), ids.get(ORDERS - 10)), result.getConflicts());
+            assertEquals(1, events.size());
+            assertEquals(new HashSet<>(changed), new HashSet<>(events.get(0)));
+            // Satu transaksi untuk semua potongan, lalu satu untuk rollup hari ini setelah commit
+            assertEquals(2, statistics.getTransactionCount());
+        } finally {
+            OrderEvents.removeListener(listener);
+        }
+
+        for (OrderSummaryRow row : orderDAO.getOrderSummariesByIds(ids.subList(0, 50))) {
+            assertEquals(ids.get(10).equals(row.getId()) ? "pending" : "completed", row.getStatus());
+            assertTrue(row.getVersion() <= 1);
+        }
+        assertTrue(orderDAO.updateStatusBulk(versions, "completed").getChanged().isEmpty());
+    }
+}
@@ -0,0 +1,237 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.swing.SwingUtilities;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Polls the live order feed against an in-memory order list: a bulk status
+ * change sharing one updated_at resyncs once and not on every later poll, a
+ * late commit behind the cursor is applied, and orders removed on another
+ * terminal are caught by the count check.
+ */
+public class OrderChangeFeedTest
+{
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+    private static final int ORDERS = 700;
+
+    private final List<OrderSummaryRow> data = new CopyOnWriteArrayList<>();
+    private final AtomicInteger resyncs = new AtomicInteger();
+    private OrderTableModel model;
+    private OrderChangeFeed feed;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        for (int i = 0; i < ORDERS; i++) {
+            data.add(row(10000 - i, "pending", BASE.minusMinutes(i), BASE.minusMinutes(i)));
+        }
+        OrderDAO orderDAO = new InMemoryOrderDAO();
+        model = new OrderTableModel(orderDAO, new LoadingIndicator());
+        feed = new OrderChangeFeed(orderDAO, model);
+        onEdt(() -> model.reload(null));
+        flushEdt();
+        onEdt(() -> model.getRow(0));
+        flushEdt();
+        onEdt(feed::start);
+        awaitPoll();
+        resyncs.set(0);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        onEdt(feed::stop);
+    }
+
+    @Test
+    public void bulkChangeResyncsOnceThenPollsStayQuiet() throws Exception
+    {
+        // Ubah status massal di terminal lain: 600 baris dengan updated_at yang sama
+        LocalDateTime bulkAt = BASE.plusHours(1);
+        for (int i = 0; i < 600; i++) {
+            OrderSummaryRow old = data.get(i);
+            data.set(i, row(old.getId(), "completed", old.getCreatedAt(), bulkAt));
+        }
+        poll();
+        assertEquals(1, resyncs.get());
+
+        poll();
+        poll();
+        assertEquals(1, resyncs.get());
+        assertEquals(ORDERS, model.getRowCount());
+    }
+
+    @Test
+    public void lateCommitBehindCursorIsApplied() throws Exception
+    {
+        OrderSummaryRow latest = row(20000, "pending", BASE.plusMinutes(2), BASE.plusMinutes(2));
+        data.add(0, latest);
+        poll();
+        assertEquals(ORDERS + 1, model.getRowCount());
+
+        // Transaksi yang mulai lebih dulu baru commit sekarang, bertanda waktu sebelum cursor
+        OrderSummaryRow late = row(20001, "pending", BASE.plusMinutes(3), BASE.plusMinutes(2).minusSeconds(1));
+        data.add(0, late);
+        poll();
+
+        assertEquals(0, resyncs.get());
+        assertEquals(ORDERS + 2, model.getRowCount());
+        assertEquals(20001, model.getRow(0).getId());
+    }
+
+    @Test
+    public void ordersArchivedElsewhereAreCaughtByCountCheck() throws Exception
+    {
+        poll();
+        assertEquals(0, resyncs.get());
+
+        // OrderArchiveJob terminal lain menghapus order terlama tanpa mengubah updated_at
+        for (int i = 0; i < 50; i++) {
+            data.remove(data.size() - 1);
+        }
+        poll();
+
+        assertEquals(1, resyncs.get());
+        assertEquals(ORDERS - 50, model.getRowCount());
+    }
+
+    private void poll() throws Exception
+    {
+        onEdt(feed::poll);
+        awaitPoll();
+    }
+
+    private void awaitPoll() throws Exception
+    {
+        long deadline = System.currentTimeMillis() + 10000;
+        boolean[] polling = {true};
+        while (polling[0]) {
+            assertTrue("Polling tidak selesai", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+            onEdt(() -> polling[0] = feed.isPolling());
+        }
+        flushEdt();
+    }
+
+    private static OrderSummaryRow row(int id, String status, LocalDateTime createdAt, LocalDateTime updatedAt)
+    {
+        return new OrderSummaryRow(id, Money.ofCents(1000), status, "DINE_IN", "CASH", Money.ZERO, createdAt, updatedAt, 0);
+    }
+
+    private static void onEdt(Runnable task) throws InvocationTargetException, InterruptedException
+    {
+        SwingUtilities.invokeAndWait(task);
+    }
+
+    private static void flushEdt() throws InvocationTargetException, InterruptedException
+    {
+        onEdt(() -> { });
+        onEdt(() -> { });
+    }
+
+    private static boolean after(OrderSummaryRow row, LocalDateTime updatedAt, int id)
+    {
+        int cmp = row.getUpdatedAt().compareTo(updatedAt);
+        return cmp > 0 || (cmp == 0 && row.getId() > id);
+    }
+
+    private class InMemoryOrderDAO extends OrderDAO
+    {
+        private final Comparator<OrderSummaryRow> byChange =
+            Comparator.comparing(OrderSummaryRow::getUpdatedAt).thenComparing(OrderSummaryRow::getId);
+
+        @Override
+        public CompletableFuture<Long> countOrdersAsync(String status)
+        {
+            resyncs.incrementAndGet();
+            return CompletableFuture.completedFuture(countOrders(status));
+        }
+
+        @Override
+        public long countOrders(String status)
+        {
+            return sorted(status).size();
+        }
+
+        @Override
+        public CompletableFuture<List<OrderSummaryRow>> getOrderPageAsync(String status, OrderSummaryRow after,
+                                                                          int skip, int limit)
+        {
+            return CompletableFuture.completedFuture(sorted(status).stream()
+                .filter(r -> after == null || after.sortsBefore(r))
+                .skip(skip)
+                .limit(limit)
+                .collect(Collectors.toList()));
+        }
+
+        @Override
+        public CompletableFuture<List<OrderSummaryRow>> getOrderPageFromEndAsync(String status, OrderSummaryRow below,
+                                                                                 int skip, int limit)
+        {
+            List<OrderSummaryRow> rows = sorted(status).stream()
+                .filter(r -> below == null || r.sortsBefore(below))
+                .collect(Collectors.toList());
+            int to = Math.max(rows.size() - skip, 0);
+            return CompletableFuture.completedFuture(new ArrayList<>(rows.subList(Math.max(to - limit, 0), to)));
+        }
+
+        @Override
+        public List<OrderSummaryRow> getOrdersUpdatedAfter(LocalDateTime updatedAt, int id, int limit)
+        {
+            return data.stream()
+                .filter(r -> after(r, updatedAt, id))
+                .sorted(byChange)
+                .limit(limit)
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        public OrderSummaryRow getLatestChange()
+        {
+            return data.stream().max(byChange).orElse(null);
+        }
+
+        @Override
+        public Map<Integer, LocalDateTime> getUpdatedIds(LocalDateTime since, LocalDateTime updatedAt, int id)
+        {
+            Map<Integer, LocalDateTime> result = new HashMap<>();
+            for (OrderSummaryRow r : data) {
+                if (r.getUpdatedAt().isAfter(since) && !after(r, updatedAt, id)) {
+                    result.put(r.getId(), r.getUpdatedAt());
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<OrderSummaryRow> getOrderSummariesByIds(Collection<Integer> ids)
+        {
+            return data.stream().filter(r -> ids.contains(r.getId())).collect(Collectors.toList());
+        }
+
+        private List<OrderSummaryRow> sorted(String status)
+        {
+            return data.stream()
+                .filter(r -> status == null || status.equals(r.getStatus()))
+                .sorted((a, b) -> a.sortsBefore(b) ? -1 : b.sortsBefore(a) ? 1 : 0)
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Exports orders through ExportTask with a forward-only cursor and checks the
+ * written file, and that a cancelled export leaves no file behind.
+ */
+public class OrderExportTest
+{
+    private static final String STATUS = "export-test";
+    private static final int ORDERS = 250;
+
+    @BeforeClass
+    public static void createOrders()
+    {
+        MenuItem menuItem = new MenuItem("Es Jeruk", Money.parse("1.25"), "Drink");
+        new MenuItemDAO().saveMenuItem(menuItem);
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderType("TAKE_AWAY");
+            order.setPaymentMethod("CASH");
+            order.setStatus(STATUS);
+            order.addItem(new OrderItem(menuItem, 1 + i % 4));
+            orders.add(order);
+        }
+        new OrderDAO().saveOrders(orders);
+    }
+
+    @Test
+    public void exportWritesEveryOrder() throws IOException
+    {
+        Path directory = Files.createTempDirectory("order-export");
+        Path target = directory.resolve("order.csv");
+
+        ExportTask task = new ExportTask(new String[]{"ID", "Dibuat", "Status", "Tipe", "Bayar", "Admin", "Total"},
+            handler -> new OrderDAO().exportOrders(STATUS, null, null, handler));
+        assertEquals(ORDERS, (long) task.start(target, ExportFormat.CSV).join());
+
+        List<String> lines = Files.readAllLines(target, StandardCharsets.UTF_8);
+        assertEquals(ORDERS + 1, lines.size());
+        assertTrue(lines.get(1), lines.get(1).matches("\\d+,\\d{4}-\\d\\d-\\d\\d \\d\\d:\\d\\d:\\d\\d,export-test,TAKE_AWAY,CASH,0.00,1.25"));
+        assertEquals(1, countFiles(directory));
+    }
+
+    @Test
+    public void cancelledExportRemovesPartialFile() throws IOException
+    {
+        Path directory = Files.createTempDirectory("order-export");
+        Path target = directory.resolve("order.xlsx");
+
+        ExportTask[] task = new ExportTask[1];
+        task[0] = new ExportTask(new String[]{"ID"},
+            handler -> new OrderDAO().exportOrders(STATUS, null, null, row -> {
+                if (task[0].getRowsWritten() == 10) {
+                    task[0].cancel();
+                }
+                handler.handle(new Object[]{row[0]});
+            }));
+        try {
+            task[0].start(target, ExportFormat.XLSX).join();
+            fail("Export seharusnya dibatalkan");
+        } catch (CancellationException expected) {
+        }
+
+        assertEquals(10, task[0].getRowsWritten());
+        assertFalse(Files.exists(target));
+        assertEquals(0, countFiles(directory));
+    }
+
+    private static long countFiles(Path directory) throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Covers the order journal (recovery, torn tails, checkpoints, group fsync)
+ * and the write-behind replay into the database, including an outage, a
+ * failed checkpoint, a replay of records that were already committed and a
+ * client_ref that collides with the same order saved another way.
+ */
+public class OrderJournalTest
+{
+    private static final long SEGMENT_BYTES = 64;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void pendingRecordsSurviveReopenUntilCheckpoint() throws Exception
+    {
+        Path dir = folder.getRoot().toPath();
+        try (OrderJournal journal = new OrderJournal(dir, SEGMENT_BYTES, 0)) {
+            for (int i = 1; i <= 20; i++) {
+                assertEquals(i, journal.append(("order " + i).getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        int segmentsBefore = segments(dir).size();
+        assertTrue(segmentsBefore > 3);
+
+        try (OrderJournal journal = new OrderJournal(dir, SEGMENT_BYTES, 0)) {
+            List<OrderJournal.Entry> pending = journal.awaitPending(100, 0, TimeUnit.SECONDS);
+            assertEquals(20, pending.size());
+            assertArrayEquals("order 7".getBytes(StandardCharsets.UTF_8), pending.get(6).getPayload());
+
+            journal.checkpoint(15);
+            assertEquals(5, journal.getPendingCount());
+            assertEquals(21, journal.append(new byte[]{1}));
+        }
+        // Segmen yang seluruh isinya sampai sequence 14 sudah tidak diperlukan
+        assertEquals(segmentsBefore + 1 - 7, segments(dir).size());
+
+        try (OrderJournal journal = new OrderJournal(dir, SEGMENT_BYTES, 0)) {
+            List<OrderJournal.Entry> pending = journal.awaitPending(100, 0, TimeUnit.SECONDS);
+            assertEquals(6, pending.size());
+            assertEquals(16, pending.get(0).getSequence());
+            assertEquals(21, pending.get(5).getSequence());
+        }
+    }
+
+    @Test
+    public void tornTailAndBadChecksumAreDropped() throws Exception
+    {
+        Path dir = folder.getRoot().toPath();
+        try (OrderJournal journal = new OrderJournal(dir, 1 << 20, 0)) {
+            journal.append(new byte[]{1, 2, 3});
+            journal.append(new byte[]{4, 5, 6});
+            journal.append(new byte[]{7, 8, 9});
+        }
+        Path segment = segments(dir).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Byte terakhir record ketiga dibalik, lalu sisa write yang terpotong ditambahkan
+            file.seek(file.length() - 1);
+            file.write(0x7f);
+            file.seek(file.length());
+            file.write(new byte[]{0, 0, 0, 9, 1});
+        }
+
+        try (OrderJournal journal = new OrderJournal(dir, 1 << 20, 0)) {
+            assertEquals(2, journal.getPendingCount());
+            // Ekor rusak dipotong, jadi record baru bisa dibaca lagi setelah reopen
+            assertEquals(3, journal.append(new byte[]{10}));
+        }
+        try (OrderJournal journal = new OrderJournal(dir, 1 << 20, 0)) {
+            List<OrderJournal.Entry> pending = journal.awaitPending(10, 0, TimeUnit.SECONDS);
+            assertEquals(3, pending.size());
+            assertArrayEquals(new byte[]{10}, pending.get(2).getPayload());
+        }
+    }
+
+    @Test
+    public void concurrentAppendsShareFsyncs() throws Exception
+    {
+        Path dir = folder.getRoot().toPath();
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (OrderJournal journal = new OrderJournal(dir, 64 * 1024, 0)) {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    List<Long> sequences = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        sequences.add(journal.append(new byte[64]));
+                    }
+                    return sequences;
+                }));
+            }
+            Set<Long> sequences = new HashSet<>();
+            for (Future<List<Long>> result : results) {
+                sequences.addAll(result.get());
+            }
+            assertEquals(threads * perThread, sequences.size());
+            assertTrue("fsync=" + journal.getSyncCount(), journal.getSyncCount() < threads * perThread);
+        } finally {
+            executor.shutdown();
+        }
+        try (OrderJournal journal = new OrderJournal(dir, 64 * 1024, 0)) {
+            assertEquals(threads * perThread, journal.getPendingCount());
+        }
+    }
+
+    @Test
+    public void secondProcessCannotOpenSameJournal() throws Exception
+    {
+        Path dir = folder.getRoot().toPath();
+        try (OrderJournal journal = new OrderJournal(dir, SEGMENT_BYTES, 0)) {
+            try {
+                new OrderJournal(dir, SEGMENT_BYTES, 0);
+                fail("Jurnal yang sedang dipakai tidak boleh dibuka lagi");
+            } catch (IOException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void writeBehindReplaysAfterOutageWithoutDuplicates() throws Exception
+    {
+        MenuItem menuItem = new MenuItem("Jurnal Es Teh", Money.parse("1.25"), "Drink");
+        assertTrue(new MenuItemDAO().saveMenuItem(menuItem));
+
+        // Dua percobaan pertama gagal seperti database yang sedang mati
+        AtomicInteger outages = new AtomicInteger(2);
+        OrderDAO flakyDAO = new OrderDAO() {
+            @Override
+            public List<Integer> replayJournal(List<byte[]> records)
+            {
+                if (outages.getAndDecrement() > 0) {
+                    throw new JDBCConnectionException("database mati", new SQLException("Connection refused", "08001"));
+                }
+                return super.replayJournal(records);
+            }
+        };
+
+        Path dir = folder.getRoot().toPath();
+        OrderWriteBehind writeBehind = new OrderWriteBehind(new OrderJournal(dir, SEGMENT_BYTES, 0), flakyDAO, 2, 10);
+        List<String> refs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setOrderType("TAKE_AWAY");
+            order.setPaymentMethod("CASH");
+            order.addItem(new OrderItem(menuItem, 1 + i));
+            refs.add(writeBehind.save(order));
+            assertEquals(0, order.getId());
+        }
+        writeBehind.start();
+        assertTrue(writeBehind.awaitFlushed(30, TimeUnit.SECONDS));
+        writeBehind.stop();
+
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            List<Order> saved = session.createQuery(
+                "SELECT DISTINCT o FROM Order o JOIN FETCH o.items WHERE o.clientRef IN (:refs) ORDER BY o.id", Order.class)
+                .setParameterList("refs", refs)
+                .list();
+            assertEquals(5, saved.size());
+            for (int i = 0; i < 5; i++) {
+                Order order = saved.get(i);
+                assertEquals(refs.get(i), order.getClientRef());
+                assertEquals(Money.ofCents(125L * (i + 1)), order.getTotal());
+                assertEquals(Money.parse("1.25"), order.getItems().get(0).getPriceAtOrder());
+            }
+        }
+
+        // Crash setelah commit tapi sebelum checkpoint: record yang sama dikirim lagi
+        Order again = new Order();
+        again.setClientRef(refs.get(0));
+        again.addItem(new OrderItem(menuItem, 1));
+        assertEquals(Collections.emptyList(),
+            new OrderDAO().replayJournal(Collections.singletonList(OrderWriteBehind.encode(again))));
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            assertEquals(Long.valueOf(1), session.createQuery(
+                "SELECT COUNT(o.id) FROM Order o WHERE o.clientRef = :ref", Long.class)
+                .setParameter("ref", refs.get(0))
+                .uniqueResult());
+        }
+    }
+
+    @Test
+    public void recordRejectedByDatabaseIsSetAside() throws Exception
+    {
+        MenuItem menuItem = new MenuItem("Jurnal Dihapus", Money.parse("3.00"), "Main");
+        assertTrue(new MenuItemDAO().saveMenuItem(menuItem));
+        MenuItem kept = new MenuItem("Jurnal Tetap", Money.parse("2.00"), "Main");
+        assertTrue(new MenuItemDAO().saveMenuItem(kept));
+
+        Path dir = folder.getRoot().toPath();
+        OrderWriteBehind writeBehind = new OrderWriteBehind(new OrderJournal(dir, 1 << 20, 0), new OrderDAO(), 10, 10);
+        Order orphan = new Order();
+        orphan.addItem(new OrderItem(menuItem, 1));
+        writeBehind.save(orphan);
+        Order valid = new Order();
+        valid.addItem(new OrderItem(kept, 2));
+        String validRef = writeBehind.save(valid);
+        // Menu dihapus setelah order tercatat di jurnal: item-nya melanggar foreign key
+        assertTrue(new MenuItemDAO().deleteMenuItem(menuItem.getId()));
+
+        writeBehind.start();
+        assertTrue(writeBehind.awaitFlushed(30, TimeUnit.SECONDS));
+        writeBehind.stop();
+
+        assertEquals(1, Files.list(dir.resolve("rejected")).count());
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            assertNotNull(session.createQuery("SELECT o.id FROM Order o WHERE o.clientRef = :ref", Integer.class)
+                .setParameter("ref", validRef)
+                .uniqueResult());
+        }
+    }
+
+    @Test
+    public void duplicateClientRefIsTreatedAsApplied() throws Exception
+    {
+        MenuItem menuItem = new MenuItem("Jurnal Nasi", Money.parse("2.50"), "Main");
+        assertTrue(new MenuItemDAO().saveMenuItem(menuItem));
+
+        // Order yang sama commit lewat jalur lain tepat sebelum replay: client_ref bentrok
+        AtomicInteger races = new AtomicInteger(1);
+        OrderDAO racingDAO = new OrderDAO() {
+            @Override
+            public List<Integer> replayJournal(List<byte[]> records)
+            {
+                if (races.getAndDecrement() > 0) {
+                    Order same = OrderWriteBehind.decode(records.get(0), id -> menuItem);
+                    assertTrue(saveOrder(same));
+                    throw new ConstraintViolationException("client_ref bentrok",
+                        new SQLException("Duplicate entry", "23000"), "uq_orders_client_ref");
+                }
+                return super.replayJournal(records);
+            }
+        };
+
+        Path dir = folder.getRoot().toPath();
+        OrderWriteBehind writeBehind = new OrderWriteBehind(new OrderJournal(dir, 1 << 20, 0), racingDAO, 10, 10);
+        Order order = new Order();
+        order.addItem(new OrderItem(menuItem, 1));
+        String ref = writeBehind.save(order);
+
+        writeBehind.start();
+        assertTrue(writeBehind.awaitFlushed(30, TimeUnit.SECONDS));
+        writeBehind.stop();
+
+        assertTrue(Files.notExists(dir.resolve("rejected")));
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            assertEquals(Long.valueOf(1), session.createQuery(
+                "SELECT COUNT(o.id) FROM Order o WHERE o.clientRef = :ref", Long.class)
+                .setParameter("ref", ref)
+                .uniqueResult());
+        }
+    }
+
+    @Test
+    public void flusherRetriesAfterFailedCheckpoint() throws Exception
+    {
+        MenuItem menuItem = new MenuItem("Jurnal Kopi", Money.parse("1.50"), "Drink");
+        assertTrue(new MenuItemDAO().saveMenuItem(menuItem));
+
+        // Checkpoint pertama gagal seperti disk penuh, setelah batch-nya sudah commit
+        AtomicInteger failures = new AtomicInteger(1);
+        Path dir = folder.getRoot().toPath();
+        OrderJournal journal = new OrderJournal(dir, 1 << 20, 0) {
+            @Override
+            public synchronized void checkpoint(long sequence) throws IOException
+            {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IOException("disk penuh");
+                }
+                super.checkpoint(sequence);
+            }
+        };
+        OrderWriteBehind writeBehind = new OrderWriteBehind(journal, new OrderDAO(), 10, 10);
+        Order order = new Order();
+        order.addItem(new OrderItem(menuItem, 1));
+        String ref = writeBehind.save(order);
+
+        writeBehind.start();
+        assertTrue(writeBehind.awaitFlushed(30, TimeUnit.SECONDS));
+        writeBehind.stop();
+        assertNull(writeBehind.getProblem());
+
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            assertEquals(Long.valueOf(1), session.createQuery(
+                "SELECT COUNT(o.id) FROM Order o WHERE o.clientRef = :ref", Long.class)
+                .setParameter("ref", ref)
+                .uniqueResult());
+        }
+        try (OrderJournal reopened = new OrderJournal(dir, 1 << 20, 0)) {
+            assertEquals(0, reopened.getPendingCount());
+        }
+    }
+
+    private static List<Path> segments(Path dir) throws IOException
+    {
+        List<Path> result = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "journal-*.log")) {
+            files.forEach(result::add);
+        }
+        Collections.sort(result);
+        return result;
+    }
+}
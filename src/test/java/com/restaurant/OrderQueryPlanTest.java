@@ -0,0 +1,63 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.hibernate.Session;
+import org.junit.Test;
+
+/**
+ * Checks with EXPLAIN that the order queries use the indexes from
+ * V3__order_indexes.sql (applied by MigrationRunner at startup) instead of
+ * scanning the orders table.
+ */
+public class OrderQueryPlanTest
+{
+    @Test
+    public void statusFilterUsesStatusCreatedIndex()
+    {
+        String plan = explain(
+            "SELECT o.id FROM orders o WHERE o.status = 'pending' " +
+            "ORDER BY o.created_at DESC, o.id DESC");
+        assertTrue(plan, plan.contains("idx_orders_status_created: status ="));
+        assertFalse(plan, plan.contains("tableScan"));
+    }
+
+    @Test
+    public void createdAtRangeUsesCreatedIndex()
+    {
+        String plan = explain(
+            "SELECT o.order_type, o.payment_method, COUNT(*) FROM orders o " +
+            "WHERE o.created_at >= DATE '2025-01-01' AND o.created_at < DATE '2025-02-01' " +
+            "GROUP BY o.order_type, o.payment_method");
+        assertTrue(plan, plan.contains("idx_orders_created_type_payment: created_at >="));
+        assertFalse(plan, plan.contains("tableScan"));
+    }
+
+    @Test
+    public void castOnCreatedAtCannotUseIndex()
+    {
+        // Bentuk lama CAST(created_at AS date) >= ? tidak bisa memakai index
+        String plan = explain(
+            "SELECT o.id, o.total FROM orders o WHERE CAST(o.created_at AS DATE) >= DATE '2025-01-01'");
+        assertTrue(plan, plan.contains("tableScan"));
+    }
+
+    private static String explain(String sql)
+    {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            return session.doReturningWork(connection -> {
+                StringBuilder plan = new StringBuilder();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            });
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+/**
+ * Several threads change the status of the same order at once through
+ * OrderDAO.updateStatus. Every successful update must have been made against
+ * the latest version, so none of them can be lost.
+ */
+public class OrderStatusConcurrencyTest
+{
+    private static final int THREADS = 4;
+    private static final int UPDATES_PER_THREAD = 25;
+    private static final String[] STATUSES = {"pending", "completed", "cancelled"};
+
+    private final OrderDAO orderDAO = new OrderDAO();
+
+    @Test
+    public void concurrentStatusUpdatesAreNotLost() throws Exception
+    {
+        int orderId = createOrder();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(pool.submit((Callable<List<Integer>>) () -> {
+                start.await();
+                // Versi yang berhasil dipakai thread ini; konflik dicoba lagi dengan versi terbaru
+                List<Integer> appliedVersions = new ArrayList<>();
+                int attempt = 0;
+                while (appliedVersions.size() < UPDATES_PER_THREAD) {
+                    int version = currentVersion(orderId);
+                    String status = STATUSES[(thread + attempt++) % STATUSES.length];
+                    if (orderDAO.updateStatus(orderId, version, status)) {
+                        appliedVersions.add(version);
+                    }
+                }
+                return appliedVersions;
+            }));
+        }
+        start.countDown();
+
+        List<Integer> applied = new ArrayList<>();
+        for (Future<List<Integer>> result : results) {
+            applied.addAll(result.get());
+        }
+        pool.shutdown();
+
+        // Setiap update sukses berangkat dari versi yang berbeda: 0, 1, 2, ... tanpa celah
+        int total = THREADS * UPDATES_PER_THREAD;
+        Collections.sort(applied);
+        for (int i = 0; i < total; i++) {
+            assertEquals(i, (int) applied.get(i));
+        }
+        assertEquals(total, currentVersion(orderId));
+    }
+
+    @Test
+    public void staleVersionIsRejected()
+    {
+        int orderId = createOrder();
+
+        assertTrue(orderDAO.updateStatus(orderId, 0, "completed"));
+        assertFalse(orderDAO.updateStatus(orderId, 0, "cancelled"));
+        assertFalse(orderDAO.updateStatus(-1, 0, "cancelled"));
+
+        Order order = orderDAO.getOrderById(orderId);
+        assertEquals("completed", order.getStatus());
+        assertEquals(1, order.getVersion());
+        assertEquals(1, order.getItems().size());
+    }
+
+    private int createOrder()
+    {
+        MenuItem menuItem = new MenuItem("Mie Ayam", Money.parse("3.00"), "Main");
+        new MenuItemDAO().saveMenuItem(menuItem);
+        Order order = new Order();
+        order.setOrderType("DINE_IN");
+        order.setPaymentMethod("CASH");
+        order.addItem(new OrderItem(menuItem, 1));
+        assertTrue(orderDAO.saveOrder(order));
+        return order.getId();
+    }
+
+    private int currentVersion(int orderId)
+    {
+        return orderDAO.getOrderSummariesByIds(Collections.singletonList(orderId)).get(0).getVersion();
+    }
+}
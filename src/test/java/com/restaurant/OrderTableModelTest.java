@@ -0,0 +1,201 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that live changes are applied to the paged order table as single
+ * row events, and that changes in unloaded parts fall back to a resync.
+ */
+public class OrderTableModelTest
+{
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final List<OrderSummaryRow> data = new ArrayList<>();
+    private final List<TableModelEvent> events = new ArrayList<>();
+    private int countCalls;
+    private final List<String> pageQueries = new ArrayList<>();
+    private OrderTableModel model;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        for (int i = 0; i < 450; i++) {
+            data.add(row(1000 - i, i % 2 == 0 ? "pending" : "completed", BASE.minusMinutes(i)));
+        }
+        model = new OrderTableModel(new InMemoryOrderDAO(), new LoadingIndicator());
+    }
+
+    @Test
+    public void newOrderIsInsertedAtTop() throws Exception
+    {
+        load(null);
+        OrderSummaryRow oldFirst = model.getRow(0);
+        OrderSummaryRow oldLast = model.getRow(199);
+
+        OrderSummaryRow created = row(2000, "pending", BASE.plusMinutes(1));
+        data.add(0, created);
+        onEdt(() -> model.applyChanges(Collections.singletonList(created)));
+
+        assertEquals(451, model.getRowCount());
+        assertEquals(TableModelEvent.INSERT, events.get(0).getType());
+        assertEquals(0, events.get(0).getFirstRow());
+        assertEquals(2000, model.getRow(0).getId());
+        assertEquals(oldFirst.getId(), model.getRow(1).getId());
+
+        // Baris yang tergeser menjadi awal halaman berikutnya; sisanya dimuat dari database
+        assertEquals(oldLast.getId(), model.getRow(200).getId());
+        assertNull(model.getRow(201));
+        flushEdt();
+        assertEquals(data.get(201).getId(), model.getRow(201).getId());
+    }
+
+    @Test
+    public void changedStatusRemovesRowFromFilteredView() throws Exception
+    {
+        load("pending");
+        OrderSummaryRow changed = model.getRow(5);
+        OrderSummaryRow next = model.getRow(6);
+
+        OrderSummaryRow completed = row(changed.getId(), "completed", changed.getCreatedAt());
+        data.set(data.indexOf(changed), completed);
+        onEdt(() -> model.applyChanges(Collections.singletonList(completed)));
+
+        assertEquals(224, model.getRowCount());
+        assertEquals(TableModelEvent.DELETE, events.get(0).getType());
+        assertEquals(5, events.get(0).getFirstRow());
+        assertEquals(next.getId(), model.getRow(5).getId());
+    }
+
+    @Test
+    public void updateFiresSingleRowEventOnce() throws Exception
+    {
+        load(null);
+        OrderSummaryRow original = model.getRow(3);
+        OrderSummaryRow updated = new OrderSummaryRow(original.getId(), Money.ofCents(9950), original.getStatus(),
+            original.getOrderType(), original.getPaymentMethod(), Money.ZERO, original.getCreatedAt(), BASE.plusHours(1),
+            original.getVersion() + 1);
+
+        onEdt(() -> model.applyChanges(Collections.singletonList(updated)));
+        onEdt(() -> model.applyChanges(Collections.singletonList(updated)));
+
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(3, events.get(0).getFirstRow());
+        assertEquals(3, events.get(0).getLastRow());
+        assertEquals(Money.ofCents(9950), model.getRow(3).getTotal());
+    }
+
+    @Test
+    public void changeInUnloadedRangeFallsBackToResync() throws Exception
+    {
+        load(null);
+        int countsBefore = countCalls;
+
+        OrderSummaryRow deep = data.get(300);
+        OrderSummaryRow cancelled = row(deep.getId(), "cancelled", deep.getCreatedAt());
+        onEdt(() -> model.applyChanges(Collections.singletonList(cancelled)));
+        flushEdt();
+
+        assertEquals(countsBefore + 1, countCalls);
+        assertEquals(450, model.getRowCount());
+    }
+
+    @Test
+    public void backHalfPageIsSeekedFromTheEnd() throws Exception
+    {
+        load(null);
+        pageQueries.clear();
+
+        assertNull(model.getRow(449));
+        flushEdt();
+
+        // Dari anchor halaman pertama perlu OFFSET 200; dari ujung terlama tanpa OFFSET
+        assertEquals(Collections.singletonList("end:0:50"), pageQueries);
+        for (int i = 400; i < 450; i++) {
+            assertEquals(data.get(i).getId(), model.getRow(i).getId());
+        }
+    }
+
+    private void load(String status) throws Exception
+    {
+        onEdt(() -> model.reload(status));
+        flushEdt();
+        onEdt(() -> model.getRow(0));
+        flushEdt();
+        onEdt(() -> model.addTableModelListener(events::add));
+    }
+
+    private static OrderSummaryRow row(int id, String status, LocalDateTime createdAt)
+    {
+        return new OrderSummaryRow(id, Money.ofCents(1000), status, "DINE_IN", "CASH", Money.ZERO, createdAt, createdAt, 0);
+    }
+
+    private static void onEdt(Runnable task) throws InvocationTargetException, InterruptedException
+    {
+        SwingUtilities.invokeAndWait(task);
+    }
+
+    // Hasil async dikirim lewat invokeLater; tunggu sampai antrean EDT kosong
+    private static void flushEdt() throws InvocationTargetException, InterruptedException
+    {
+        onEdt(() -> { });
+        onEdt(() -> { });
+    }
+
+    private class InMemoryOrderDAO extends OrderDAO
+    {
+        @Override
+        public CompletableFuture<Long> countOrdersAsync(String status)
+        {
+            countCalls++;
+            return CompletableFuture.completedFuture((long) filter(status).size());
+        }
+
+        @Override
+        public CompletableFuture<List<OrderSummaryRow>> getOrderPageAsync(String status, OrderSummaryRow after,
+                                                                          int skip, int limit)
+        {
+            pageQueries.add("top:" + skip + ":" + limit);
+            List<OrderSummaryRow> rows = filter(status).stream()
+                .filter(r -> after == null || after.sortsBefore(r))
+                .skip(skip)
+                .limit(limit)
+                .collect(Collectors.toCollection(ArrayList::new));
+            return CompletableFuture.completedFuture(rows);
+        }
+
+        @Override
+        public CompletableFuture<List<OrderSummaryRow>> getOrderPageFromEndAsync(String status, OrderSummaryRow below,
+                                                                                 int skip, int limit)
+        {
+            pageQueries.add("end:" + skip + ":" + limit);
+            List<OrderSummaryRow> rows = filter(status).stream()
+                .filter(r -> below == null || r.sortsBefore(below))
+                .collect(Collectors.toCollection(ArrayList::new));
+            Collections.reverse(rows);
+            rows = rows.stream().skip(skip).limit(limit).collect(Collectors.toCollection(ArrayList::new));
+            Collections.reverse(rows);
+            return CompletableFuture.completedFuture(rows);
+        }
+
+        private List<OrderSummaryRow> filter(String status)
+        {
+            return data.stream()
+                .filter(r -> status == null || status.equals(r.getStatus()))
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Routes read queries between the test database and a second embedded H2
+ * database standing in for a read replica: fresh replica, stale replica,
+ * reads after a local write (with the rollup job running), and a replica
+ * that goes away.
+ */
+public class ReplicaRoutingTest
+{
+    private static final String REPLICA_URL =
+        "jdbc:h2:mem:restaurant_pos_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_ONLY = "replica-only";
+    private static final long MAX_LAG_MS = 2000;
+    private static final long CHECK_INTERVAL_MS = 10000;
+
+    private SessionFactory replica;
+    private ReplicaRouter router;
+
+    @Before
+    public void setUp() throws SQLException
+    {
+        try (Connection connection = replicaConnection()) {
+            new MigrationRunner(connection).migrate();
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM orders WHERE status = '" + REPLICA_ONLY + "'");
+                // Order yang hanya ada di replika, untuk melihat ke mana query dikirim
+                statement.executeUpdate("INSERT INTO orders (id, total, status, created_at, updated_at) " +
+                    "VALUES (1, 0, '" + REPLICA_ONLY + "', LOCALTIMESTAMP, LOCALTIMESTAMP)");
+            }
+            connection.commit();
+        }
+        replica = KoneksiDB.buildReplicaSessionFactory(REPLICA_URL, "sa", "");
+        router = new ReplicaRouter(KoneksiDB.getSessionFactory(), replica, MAX_LAG_MS, CHECK_INTERVAL_MS);
+        KoneksiDB.setReplicaRouter(router);
+    }
+
+    @After
+    public void tearDown()
+    {
+        KoneksiDB.setReplicaRouter(null);
+        replica.close();
+    }
+
+    @Test
+    public void readsUseReplicaOnlyWhileWithinLagTolerance() throws SQLException
+    {
+        OrderDAO orderDAO = new OrderDAO();
+        setReplicaHeartbeat(null);
+        router.check();
+        assertTrue(router.useReplica());
+        assertEquals(1, orderDAO.countOrders(REPLICA_ONLY));
+        assertEquals(1, orderDAO.getOrderSummaries(REPLICA_ONLY).size());
+
+        setReplicaHeartbeat(new Timestamp(System.currentTimeMillis() - 10 * MAX_LAG_MS));
+        router.check();
+        assertTrue(router.isHealthy());
+        assertFalse(router.useReplica());
+        assertTrue(router.getLagMillis() >= 10 * MAX_LAG_MS);
+        assertEquals(0, orderDAO.countOrders(REPLICA_ONLY));
+    }
+
+    @Test
+    public void writesGoToPrimaryAndOwnWritesAreReadFromPrimary() throws SQLException
+    {
+        MenuItem menuItem = new MenuItem("Replika Kopi", Money.parse("2.50"), "Drink");
+        assertTrue(new MenuItemDAO().saveMenuItem(menuItem));
+        setReplicaHeartbeat(null);
+        router.check();
+        assertTrue(router.useReplica());
+
+        // Seperti di aplikasi: rollup dihitung ulang di thread job, bukan di dalam saveOrder
+        SalesRollupJob rollupJob = new SalesRollupJob();
+        rollupJob.start();
+        try {
+            Order order = new Order();
+            order.setOrderType("DINE_IN");
+            order.setPaymentMethod("CASH");
+            order.addItem(new OrderItem(menuItem, 2));
+            assertTrue(new OrderDAO().saveOrder(order));
+        } finally {
+            rollupJob.stop();
+        }
+
+        // Replika hanya berisi order yang ditulis langsung oleh test
+        assertEquals(0, replicaCount("SELECT COUNT(*) FROM orders WHERE status <> '" + REPLICA_ONLY + "'"));
+        assertEquals(0, replicaCount("SELECT COUNT(*) FROM menu_items"));
+        // Sampai replika sempat menyusul, baca kembali ke primary
+        assertFalse(router.useReplica());
+        assertEquals(0, new OrderDAO().countOrders(REPLICA_ONLY));
+    }
+
+    @Test
+    public void replicaGoingDownFallsBackToPrimary() throws SQLException
+    {
+        setReplicaHeartbeat(null);
+        router.check();
+        assertTrue(router.useReplica());
+
+        replica.close();
+        assertEquals(0, new OrderDAO().countOrders(REPLICA_ONLY));
+        assertFalse(router.isHealthy());
+        assertFalse(router.useReplica());
+
+        router.check();
+        assertFalse(router.isHealthy());
+    }
+
+    // null: detak baru saja tereplikasi
+    private static void setReplicaHeartbeat(Timestamp beatAt) throws SQLException
+    {
+        try (Connection connection = replicaConnection();
+             PreparedStatement statement = connection.prepareStatement(beatAt == null
+                 ? "UPDATE replica_heartbeat SET beat_at = LOCALTIMESTAMP(3) WHERE id = 1"
+                 : "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1")) {
+            if (beatAt != null) {
+                statement.setTimestamp(1, beatAt);
+            }
+            assertEquals(1, statement.executeUpdate());
+            connection.commit();
+        }
+    }
+
+    private static long replicaCount(String sql) throws SQLException
+    {
+        try (Connection connection = replicaConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static Connection replicaConnection() throws SQLException
+    {
+        Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+        connection.setAutoCommit(false);
+        return connection;
+    }
+}
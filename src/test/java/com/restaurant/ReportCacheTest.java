@@ -0,0 +1,178 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.Test;
+
+/**
+ * Checks that ReportCache queries closed days once, always recomputes today,
+ * and drops days whose rollup was rebuilt, here or on another terminal.
+ */
+public class ReportCacheTest
+{
+    private final LocalDate today = LocalDate.now();
+    private final List<String> loads = new ArrayList<>();
+
+    @Test
+    public void closedDaysAreLoadedOnce()
+    {
+        ReportCache cache = new ReportCache(this::load, rows -> rows, () -> today.minusDays(30));
+
+        assertEquals(11, cache.get(today.minusDays(10), today.plusDays(1)).size());
+        assertEquals(11, cache.get(today.minusDays(10), today.plusDays(1)).size());
+        assertEquals(15, cache.get(today.minusDays(20), today.minusDays(5)).size());
+        assertEquals(31, cache.get(null, null).size());
+
+        assertEquals(list(
+            range(today.minusDays(10), today), range(today, today.plusDays(1)),
+            range(today, today.plusDays(1)),
+            range(today.minusDays(20), today.minusDays(10)),
+            range(today.minusDays(30), today.minusDays(20)), range(today, null)), loads);
+        assertEquals(3, cache.getLoads());
+    }
+
+    @Test
+    public void invalidatedDaysAreReloaded()
+    {
+        ReportCache cache = new ReportCache(this::load, rows -> rows, () -> null);
+        cache.get(today.minusDays(10), today);
+
+        ReportCache.invalidate(today.minusDays(4), today.minusDays(2));
+        loads.clear();
+        List<Object[]> rows = cache.get(today.minusDays(10), today);
+
+        assertEquals(list(range(today.minusDays(4), today.minusDays(2))), loads);
+        assertEquals(10, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(today.minusDays(10 - i), rows.get(i)[0]);
+        }
+    }
+
+    @Test
+    public void loadRacingInvalidationIsNotStored()
+    {
+        ReportCache cache = new ReportCache((fromDate, toDate) -> {
+            // Rollup hari yang sama di-commit selagi laporan dimuat
+            ReportCache.invalidate(fromDate, toDate);
+            return load(fromDate, toDate);
+        }, rows -> rows, () -> null);
+
+        assertEquals(3, cache.get(today.minusDays(3), today).size());
+        assertEquals(3, cache.get(today.minusDays(3), today).size());
+        assertEquals(2, cache.getLoads());
+    }
+
+    @Test
+    public void statusChangeOnPastDayReachesReport()
+    {
+        LocalDate day = LocalDate.of(2001, 2, 3);
+        MenuItem soup = new MenuItem("Sop Buntut", Money.parse("4.50"), "Main");
+        new MenuItemDAO().saveMenuItem(soup);
+        Order order = new Order();
+        order.setOrderType("DINE_IN");
+        order.setPaymentMethod("CASH");
+        order.setStatus("pending");
+        order.addItem(new OrderItem(soup, 2));
+        OrderDAO orderDAO = new OrderDAO();
+        orderDAO.saveOrder(order);
+        moveToDay(order.getId(), day);
+
+        ReportDAO reportDAO = new ReportDAO();
+        assertArrayEquals(new Object[]{"pending", 1L, 900L}, reportDAO.getStatusSummary(day, day.plusDays(1)).get(0));
+
+        orderDAO.updateStatus(order.getId(), order.getVersion(), "completed");
+
+        List<Object[]> summary = reportDAO.getStatusSummary(day, day.plusDays(1));
+        assertEquals(1, summary.size());
+        assertArrayEquals(new Object[]{"completed", 1L, 900L}, summary.get(0));
+    }
+
+    @Test
+    public void rollupRebuiltByOtherTerminalReachesReport()
+    {
+        LocalDate day = LocalDate.of(2001, 3, 4);
+        MenuItem rice = new MenuItem("Nasi Rawon", Money.parse("3.00"), "Main");
+        new MenuItemDAO().saveMenuItem(rice);
+        Order order = new Order();
+        order.setOrderType("DINE_IN");
+        order.setPaymentMethod("CASH");
+        order.setStatus("pending");
+        order.addItem(new OrderItem(rice, 1));
+        new OrderDAO().saveOrder(order);
+        moveToDay(order.getId(), day);
+
+        ReportDAO reportDAO = new ReportDAO();
+        ReportDAO.syncRebuiltDays();
+        assertArrayEquals(new Object[]{"pending", 1L, 300L}, reportDAO.getStatusSummary(day, day.plusDays(1)).get(0));
+
+        // Terminal lain mengubah order dan menghitung ulang rollup; proses ini tidak diberi tahu
+        execute("UPDATE orders SET status = 'completed' WHERE id = " + order.getId());
+        execute("UPDATE daily_sales_rollup SET status = 'completed' WHERE sales_date = DATE '" + day + "'");
+        execute("UPDATE daily_sales_rollup_rebuilt SET rebuilt_at = LOCALTIMESTAMP(3) + INTERVAL '1' SECOND " +
+                "WHERE sales_date = DATE '" + day + "'");
+        assertArrayEquals(new Object[]{"pending", 1L, 300L}, reportDAO.getStatusSummary(day, day.plusDays(1)).get(0));
+
+        ReportDAO.syncRebuiltDays();
+        assertArrayEquals(new Object[]{"completed", 1L, 300L}, reportDAO.getStatusSummary(day, day.plusDays(1)).get(0));
+    }
+
+    private List<Object[]> load(LocalDate fromDate, LocalDate toDate)
+    {
+        loads.add(range(fromDate, toDate));
+        List<Object[]> rows = new ArrayList<>();
+        LocalDate end = toDate != null ? toDate : today.plusDays(1);
+        for (LocalDate day = fromDate; day.isBefore(end); day = day.plusDays(1)) {
+            rows.add(new Object[]{day});
+        }
+        return rows;
+    }
+
+    private static String range(LocalDate fromDate, LocalDate toDate)
+    {
+        return fromDate + ".." + toDate;
+    }
+
+    private static List<String> list(String... ranges)
+    {
+        List<String> list = new ArrayList<>();
+        for (String range : ranges) {
+            list.add(range);
+        }
+        return list;
+    }
+
+    private static void execute(String sql)
+    {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeQuery(sql).executeUpdate();
+            transaction.commit();
+        }
+    }
+
+    private static void moveToDay(int orderId, LocalDate day)
+    {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.doWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement("UPDATE orders SET created_at = ? WHERE id = ?")) {
+                    ps.setTimestamp(1, Timestamp.valueOf(day.atTime(12, 0)));
+                    ps.setInt(2, orderId);
+                    ps.executeUpdate();
+                }
+            });
+            SalesRollupDAO rollupDAO = new SalesRollupDAO();
+            rollupDAO.rebuildRange(session, day, day.plusDays(1));
+            rollupDAO.rebuildRange(session, LocalDate.now(), LocalDate.now().plusDays(1));
+            transaction.commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Checks that report revenue from the rollup is summed exactly in cents.
+ */
+public class ReportRevenueTest
+{
+    @Test
+    public void revenueIsExactInCents()
+    {
+        MenuItem tea = new MenuItem("Teh Manis", Money.parse("0.10"), "Drink");
+        MenuItem rice = new MenuItem("Nasi Uduk", Money.parse("0.20"), "Main");
+        MenuItemDAO menuItemDAO = new MenuItemDAO();
+        menuItemDAO.saveMenuItem(tea);
+        menuItemDAO.saveMenuItem(rice);
+
+        // 0.10 dan 0.20 tidak bisa dinyatakan tepat sebagai double
+        List<Order> orders = new ArrayList<>();
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < 333; i++) {
+            Order order = new Order();
+            order.setOrderType("TAKE_AWAY");
+            order.setPaymentMethod("CASH");
+            order.setStatus("cancelled");
+            order.addItem(new OrderItem(tea, 1));
+            order.addItem(new OrderItem(rice, 1 + i % 3));
+            orders.add(order);
+            expected = expected.add(order.getTotal().toBigDecimal());
+        }
+        new OrderDAO().saveOrders(orders);
+
+        LocalDate today = LocalDate.now();
+        long cents = 0;
+        for (Object[] row : new ReportDAO().getStatusSummary(today.minusDays(1), today.plusDays(1))) {
+            if ("cancelled".equals(row[0])) {
+                cents = (Long) row[2];
+            }
+        }
+        assertEquals(expected, Money.ofCents(cents).toBigDecimal());
+    }
+}
@@ -0,0 +1,115 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableRowSorter;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Sorting and filtering of RowTableModel on raw column values, with a result
+ * set the size of a large report.
+ */
+public class RowTableModelTest
+{
+    private static final int ROWS = 500_000;
+
+    private final List<RowTableModel.Column<Object[]>> columns = Arrays.asList(
+        RowTableModel.Column.<Object[], LocalDate>of("Tanggal", LocalDate.class, row -> (LocalDate) row[0]),
+        RowTableModel.Column.<Object[], String>of("Menu", String.class, row -> (String) row[1]),
+        RowTableModel.Column.<Object[], Money>of("Total", Money.class, row -> (Money) row[2]));
+
+    private RowTableModel<Object[]> model;
+    private TableRowSorter<RowTableModel<Object[]>> sorter;
+
+    @Before
+    public void fillModel()
+    {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{
+                start.plusDays(random.nextInt(365)),
+                (i % 10 == 0 ? "Nasi Goreng " : "Es Teh ") + i,
+                // Sen di atas 1000 supaya urutan teks "$..." berbeda dari urutan angka
+                Money.ofCents(random.nextInt(10_000_000))
+            });
+        }
+        model = new RowTableModel<>(columns);
+        model.setRows(rows);
+        sorter = model.createSorter();
+    }
+
+    @Test
+    public void sortsMoneyAndDatesByValue()
+    {
+        sort(2, SortOrder.DESCENDING);
+        assertEquals(ROWS, sorter.getViewRowCount());
+        for (int view = 1; view < ROWS; view++) {
+            assertTrue(money(view - 1).compareTo(money(view)) >= 0);
+        }
+
+        sort(0, SortOrder.ASCENDING);
+        for (int view = 1; view < ROWS; view++) {
+            assertFalse(date(view - 1).isAfter(date(view)));
+        }
+    }
+
+    @Test
+    public void filterMatchesStringColumnsOnly()
+    {
+        sorter.setRowFilter(RowTableModel.containsFilter("nasi GORENG"));
+        assertEquals(ROWS / 10, sorter.getViewRowCount());
+
+        // Angka di kolom Money tidak ikut dicocokkan
+        sorter.setRowFilter(RowTableModel.containsFilter("."));
+        assertEquals(0, sorter.getViewRowCount());
+
+        assertNull(RowTableModel.containsFilter("  "));
+    }
+
+    @Test
+    public void comparatorsSurviveColumnChange()
+    {
+        List<RowTableModel.Column<Object[]>> reordered = Arrays.asList(columns.get(2), columns.get(1), columns.get(0));
+        model.setRows(new ArrayList<>(model.getRows()), reordered);
+        sort(0, SortOrder.ASCENDING);
+
+        assertEquals(Money.class, model.getColumnClass(0));
+        for (int view = 1; view < ROWS; view++) {
+            assertTrue(((Money) valueAt(view - 1, 0)).compareTo((Money) valueAt(view, 0)) <= 0);
+        }
+    }
+
+    private void sort(int column, SortOrder order)
+    {
+        sorter.setSortKeys(Collections.singletonList(new RowSorter.SortKey(column, order)));
+    }
+
+    private Money money(int viewRow)
+    {
+        return (Money) valueAt(viewRow, 2);
+    }
+
+    private LocalDate date(int viewRow)
+    {
+        return (LocalDate) valueAt(viewRow, 0);
+    }
+
+    private Object valueAt(int viewRow, int column)
+    {
+        return model.getValueAt(sorter.convertRowIndexToModel(viewRow), column);
+    }
+}
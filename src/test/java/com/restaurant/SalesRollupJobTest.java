@@ -0,0 +1,99 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.Test;
+
+/**
+ * Rebuilds the daily rollup outside order transactions: days whose rollup is
+ * missing or out of date are found on the first run, and orders written
+ * directly to the database afterwards are picked up by updated_at.
+ */
+public class SalesRollupJobTest
+{
+    private static final LocalDate MISSING_DAY = LocalDate.of(1998, 4, 1);
+    private static final LocalDate STALE_DAY = LocalDate.of(1998, 4, 2);
+
+    @Test
+    public void firstRunRebuildsMissingAndStaleDaysThenFollowsChanges()
+    {
+        MenuItem menuItem = new MenuItem("Rollup Soto", Money.parse("2.00"), "Main");
+        new MenuItemDAO().saveMenuItem(menuItem);
+        Order missing = saveOrder(menuItem, MISSING_DAY);
+        Order stale = saveOrder(menuItem, STALE_DAY);
+        assertEquals(1L, rollupCount(MISSING_DAY, "pending"));
+
+        // Rollup hilang (mis. hitung ulang gagal) dan order diubah langsung tanpa OrderDAO
+        execute("DELETE FROM daily_sales_rollup WHERE sales_date = '" + MISSING_DAY + "'");
+        execute("UPDATE orders SET status = 'cancelled', updated_at = TIMESTAMP '2000-01-01 00:00:00' " +
+                "WHERE id = " + stale.getId());
+        assertEquals(0L, rollupCount(MISSING_DAY, "pending"));
+
+        SalesRollupJob job = new SalesRollupJob();
+        job.run();
+        assertEquals(1L, rollupCount(MISSING_DAY, "pending"));
+        assertEquals(1L, rollupCount(STALE_DAY, "cancelled"));
+        assertEquals(0L, rollupCount(STALE_DAY, "pending"));
+
+        // Setelah putaran pertama hanya order dengan updated_at baru yang diperiksa
+        execute("UPDATE orders SET status = 'completed', updated_at = CURRENT_TIMESTAMP WHERE id = " + missing.getId());
+        job.run();
+        assertEquals(0L, rollupCount(MISSING_DAY, "pending"));
+        assertEquals(1L, rollupCount(MISSING_DAY, "completed"));
+    }
+
+    @Test
+    public void consecutiveDaysAreGroupedIntoRanges()
+    {
+        TreeSet<LocalDate> days = new TreeSet<>(Arrays.asList(
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3),
+            LocalDate.of(2024, 1, 5)));
+        List<LocalDate[]> ranges = SalesRollupDAO.ranges(days, 2);
+
+        assertEquals(3, ranges.size());
+        assertEquals(Arrays.asList(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3)), Arrays.asList(ranges.get(0)));
+        assertEquals(Arrays.asList(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4)), Arrays.asList(ranges.get(1)));
+        assertEquals(Arrays.asList(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 6)), Arrays.asList(ranges.get(2)));
+    }
+
+    private static Order saveOrder(MenuItem menuItem, LocalDate day)
+    {
+        Order order = new Order();
+        order.setOrderType("DINE_IN");
+        order.setPaymentMethod("CASH");
+        order.setStatus("pending");
+        order.setCreatedAt(day.atTime(12, 0));
+        order.addItem(new OrderItem(menuItem, 1));
+        new OrderDAO().saveOrder(order);
+        return order;
+    }
+
+    private static long rollupCount(LocalDate day, String status)
+    {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Number count = (Number) session.createNativeQuery(
+                    "SELECT COALESCE(SUM(order_count), 0) FROM daily_sales_rollup " +
+                    "WHERE sales_date = :day AND status = :status AND menu_item_id = 0")
+                .setParameter("day", java.sql.Date.valueOf(day))
+                .setParameter("status", status)
+                .uniqueResult();
+            return count.longValue();
+        }
+    }
+
+    private static void execute(String sql)
+    {
+        try (Session session = KoneksiDB.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeQuery(sql).executeUpdate();
+            transaction.commit();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import org.junit.Test;
+
+/**
+ * Checks SQL shape normalisation, the threshold and sampling rules and the
+ * timings, parameter and row counts taken by the TimedConnection proxy.
+ */
+public class SlowQueryLogTest
+{
+    @Test
+    public void literalsAndInListsShareOneShape()
+    {
+        assertEquals("select * from orders where id in (?, ...) and status = ?",
+            SlowQueryLog.normalize("select *\n  from orders where id in (1, 2, 3) and status = 'it''s'"));
+        assertEquals(SlowQueryLog.normalize("select o.id from orders o0_ where o0_.id in (?, ?)"),
+            SlowQueryLog.normalize("select o.id from orders o0_ where o0_.id in (?, ?, ?, ?)"));
+    }
+
+    @Test
+    public void onlySlowStatementsAreWrittenWithoutSampling()
+    {
+        RecordingHandler handler = new RecordingHandler();
+        SlowQueryLog log = new SlowQueryLog(50, 0, handler);
+        log.record("select * from menu_items where id = 1", 1_000_000, 0, 1, 0);
+        log.record("select * from menu_items where id = 2", 80_000_000, 0, 1, 0);
+        List<SlowQueryLog.ShapeSnapshot> shapes = log.getShapes();
+        log.close();
+
+        assertEquals(1, shapes.size());
+        assertEquals(2, shapes.get(0).getCount());
+        assertEquals(1, shapes.get(0).getSlowCount());
+        assertEquals(2, shapes.get(0).getRows());
+        List<String> slow = handler.messagesStartingWith("SLOW");
+        assertEquals(1, slow.size());
+        assertTrue(slow.get(0), slow.get(0).contains("where id = 2"));
+        assertTrue(handler.messagesStartingWith("sample").isEmpty());
+        assertEquals(1, handler.messagesStartingWith("summary").size());
+    }
+
+    @Test
+    public void proxyCountsParametersRowsAndBatches() throws SQLException
+    {
+        RecordingHandler handler = new RecordingHandler();
+        SlowQueryLog log = new SlowQueryLog(0, 0, handler);
+        try (Connection raw = DriverManager.getConnection("jdbc:h2:mem:slow_query_test", "sa", "");
+             Connection connection = TimedConnection.wrap(raw, log)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(20))");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO item (id, name) VALUES (?, ?)")) {
+                for (int id = 1; id <= 5; id++) {
+                    insert.setInt(1, id);
+                    insert.setString(2, "Item " + id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT name FROM item WHERE id > ? AND name <> ?")) {
+                select.setInt(1, 2);
+                select.setString(2, "x");
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        assertNotNull(rs.getString(1));
+                    }
+                }
+            }
+        }
+        log.close();
+
+        List<String> slow = handler.messagesStartingWith("SLOW");
+        assertEquals(slow.toString(), 3, slow.size());
+        assertTrue(slow.get(1), slow.get(1).contains("rows=5 | params=2 | batch=5"));
+        assertTrue(slow.get(2), slow.get(2).contains("rows=3 | params=2 |"));
+        assertTrue(slow.get(2), slow.get(2).contains("thread=" + Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void sessionFactoryConnectionsAreTimed()
+    {
+        new OrderDAO().countOrders("slow_query_test");
+
+        SlowQueryLog log = SlowQueryLog.getCurrent();
+        assertNotNull(log);
+        boolean found = false;
+        for (SlowQueryLog.ShapeSnapshot shape : log.getShapes()) {
+            found |= shape.getSql().contains("count(") && shape.getSql().contains("orders");
+        }
+        assertTrue(found);
+        assertFalse(new Diagnostics(KoneksiDB.getSessionFactory()).getSqlShapes().isEmpty());
+    }
+
+    private static class RecordingHandler extends Handler
+    {
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public synchronized void publish(LogRecord record)
+        {
+            messages.add(record.getMessage());
+        }
+
+        synchronized List<String> messagesStartingWith(String prefix)
+        {
+            List<String> result = new ArrayList<>();
+            for (String message : messages) {
+                if (message.startsWith(prefix)) {
+                    result.add(message);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
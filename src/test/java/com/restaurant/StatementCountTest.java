@@ -0,0 +1,145 @@
+package com.restaurant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Counts the SQL statements each use case prepares, using Hibernate
+ * Statistics. The limits are the current counts; a failure means a change
+ * brought back N+1 selects or an extra round trip.
+ */
+public class StatementCountTest
+{
+    private static final String STATUS = "stmt_count";
+    private static final int MENU_ITEMS = 20;
+    private static final int ORDERS = 10;
+
+    private static final List<Integer> orderIds = new ArrayList<>();
+
+    private final SessionFactory sessionFactory = KoneksiDB.getSessionFactory();
+    private final OrderDAO orderDAO = new OrderDAO();
+
+    @BeforeClass
+    public static void createOrders()
+    {
+        MenuItemDAO menuItemDAO = new MenuItemDAO();
+        List<MenuItem> menu = new ArrayList<>();
+        for (int i = 0; i < MENU_ITEMS; i++) {
+            MenuItem item = new MenuItem("Hitung " + i, Money.ofCents(1000 + i), "Main");
+            menuItemDAO.saveMenuItem(item);
+            menu.add(item);
+        }
+        // Setiap order berisi 3 menu berbeda, total 20 menu berbeda di semua order
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderType("DINE_IN");
+            order.setPaymentMethod("CASH");
+            order.setStatus(STATUS);
+            for (int j = 0; j < 3; j++) {
+                order.addItem(new OrderItem(menu.get((i * 2 + j) % MENU_ITEMS), 1));
+            }
+            orders.add(order);
+        }
+        new OrderDAO().saveOrders(orders);
+        for (Order order : orders) {
+            orderIds.add(order.getId());
+        }
+    }
+
+    @Before
+    public void resetCounters()
+    {
+        // Tanpa cache level dua supaya setiap entity benar-benar dibaca dari database
+        sessionFactory.getCache().evictAllRegions();
+        ReportCache.invalidateAll();
+    }
+
+    @Test
+    public void orderDetailIsOneStatement()
+    {
+        Order order = count(1, () -> orderDAO.getOrderById(orderIds.get(0)));
+
+        // Session sudah ditutup; nama menu harus sudah ikut dimuat
+        assertEquals(3, order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            assertTrue(item.getMenuItem().getName().startsWith("Hitung "));
+        }
+    }
+
+    @Test
+    public void orderListPageIsOneStatement()
+    {
+        List<OrderSummaryRow> page = count(1, () -> orderDAO.getOrderPage(STATUS, null, 0, OrderTableModel.PAGE_SIZE));
+        assertEquals(ORDERS, page.size());
+        count(1, () -> orderDAO.countOrders(STATUS));
+    }
+
+    @Test
+    public void menuOfListedOrdersIsBatchFetched()
+    {
+        // 1 query order+items, lalu 20 menu dalam 2 batch (16 + 4) alih-alih 20 select
+        int names = count(3, () -> {
+            try (Session session = sessionFactory.openSession()) {
+                List<Order> orders = session.createQuery(
+                    "SELECT DISTINCT o FROM Order o WHERE o.status = :status", Order.class)
+                    .setHint("javax.persistence.fetchgraph", session.getEntityGraph(Order.GRAPH_LIST))
+                    .setParameter("status", STATUS)
+                    .list();
+                int loaded = 0;
+                for (Order order : orders) {
+                    for (OrderItem item : order.getItems()) {
+                        item.getMenuItem().getName();
+                        loaded++;
+                    }
+                }
+                return loaded;
+            }
+        });
+        assertEquals(ORDERS * 3, names);
+    }
+
+    @Test
+    public void orderListEntitiesAreOneStatement()
+    {
+        List<Order> orders = count(1, () -> orderDAO.getOrdersByStatus(STATUS));
+        assertEquals(ORDERS, orders.size());
+        assertEquals(3, orders.get(0).getItems().size());
+    }
+
+    @Test
+    public void popularItemsReportIsOneStatementThenCached()
+    {
+        LocalDate today = LocalDate.now();
+        // Hari lalu dan hari ini masing-masing satu query, hari lalu lalu dari cache
+        count(2, () -> new ReportDAO().getPopularItems(today.minusDays(7), today.plusDays(1)));
+        count(1, () -> new ReportDAO().getPopularItems(today.minusDays(7), today.plusDays(1)));
+        count(0, () -> new ReportDAO().getPopularItems(today.minusDays(7), today));
+    }
+
+    private interface UseCase<T>
+    {
+        T run();
+    }
+
+    private <T> T count(long maxStatements, UseCase<T> useCase)
+    {
+        Statistics statistics = sessionFactory.getStatistics();
+        assertTrue("hibernate.generate_statistics harus aktif", statistics.isStatisticsEnabled());
+        statistics.clear();
+        T result = useCase.run();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue("Jumlah statement " + statements + " melebihi " + maxStatements, statements <= maxStatements);
+        return result;
+    }
+}